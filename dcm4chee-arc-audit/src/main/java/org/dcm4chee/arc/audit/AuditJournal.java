@@ -0,0 +1,301 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+/**
+ * Keeps an index of the audit spool files of each Audit Logger with their last modification time, so due spool
+ * files can be selected without scanning the spool directory. The spool directory of an Audit Logger is only
+ * scanned once, on first access, to pick up spool files left from a previous run.
+ * <p>
+ * Records appended to aggregated spool files - e.g. for each received or retrieved instance - are buffered in
+ * memory and written to the spool file in one operation, if the buffer exceeds {@link #MAX_PENDING} characters
+ * or on the next poll of the {@link AuditScheduler}. Buffered records are lost on a crash of the archive, so at most
+ * the records of one Audit Polling Interval may be missing in the emitted audit messages.
+ * <p>
+ * Spool files returned by {@link #due} are not written until their processing was completed by {@link #processed}
+ * or aborted by {@link #release}: records appended meanwhile are kept in the buffer and written - with the header
+ * of the aggregated spool file - to a new spool file afterwards.
+ * <p>
+ * Buffered records are taken from the index while holding its monitor, but written to the spool file after
+ * releasing it, so appending records to other spool files is not blocked by file I/O. Writes to the same spool
+ * file are serialized by locking its {@code Segment}.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+@ApplicationScoped
+class AuditJournal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditJournal.class);
+    private static final String FAILED = ".failed";
+    private static final int MAX_PENDING = 64 * 1024;
+
+    private final Map<Path, Map<Path, Segment>> index = new HashMap<>();
+
+    private static final class Segment {
+        long lastModified;
+        String header;
+        StringWriter pending;
+        boolean processing;
+        int writing;
+
+        Segment(long lastModified) {
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * Buffered records of a spool file, taken from its {@code Segment} for being written to the spool file.
+     */
+    private static final class Chunk {
+        final Path file;
+        final Segment segment;
+        final String header;
+        final String records;
+        final long lastModified;
+
+        Chunk(Path file, Segment segment) {
+            this.file = file;
+            this.segment = segment;
+            this.header = segment.header;
+            this.records = segment.pending.toString();
+            this.lastModified = segment.lastModified;
+        }
+    }
+
+    /**
+     * Records a spool file written directly by the caller.
+     */
+    synchronized void add(Path file, long lastModified) throws IOException {
+        segments(file.getParent()).put(file, new Segment(lastModified));
+    }
+
+    /**
+     * Appends records to an aggregated spool file. {@code header} is only written, if the spool file does not
+     * exist at the time the buffered records are written.
+     */
+    void append(Path file, long eventTime, Object header, Object record) throws IOException {
+        Chunk chunk = null;
+        synchronized (this) {
+            Map<Path, Segment> segments = segments(file.getParent());
+            Segment segment = segments.get(file);
+            if (segment == null)
+                segments.put(file, segment = new Segment(eventTime));
+            if (segment.pending == null) {
+                StringWriter headerLine = new StringWriter();
+                writeLine(headerLine, header);
+                segment.header = headerLine.toString();
+                segment.pending = new StringWriter();
+            }
+            writeLine(segment.pending, record);
+            segment.lastModified = eventTime;
+            if (!segment.processing && segment.pending.getBuffer().length() >= MAX_PENDING)
+                chunk = take(file, segment);
+        }
+        if (chunk != null)
+            write(chunk);
+    }
+
+    /**
+     * Writes all buffered records to the spool files and returns the spool files of the Audit Logger which were
+     * not modified after {@code maxLastModified}. Returned spool files are kept in the index until their processing
+     * is completed by {@link #processed} or aborted by {@link #release}.
+     */
+    List<Path> due(Path dir, long maxLastModified) throws IOException {
+        List<Chunk> chunks;
+        synchronized (this) {
+            chunks = takeAll(false);
+        }
+        writeAll(chunks);
+        synchronized (this) {
+            Map<Path, Segment> segments = segments(dir);
+            List<Path> due = new ArrayList<>();
+            for (Map.Entry<Path, Segment> entry : segments.entrySet()) {
+                Segment segment = entry.getValue();
+                if (!segment.processing && segment.pending == null && segment.writing == 0
+                        && segment.lastModified <= maxLastModified) {
+                    segment.processing = true;
+                    due.add(entry.getKey());
+                }
+            }
+            return due;
+        }
+    }
+
+    /**
+     * Removes a spool file returned by {@link #due} from the index after it was processed. Records appended to an
+     * aggregated spool file during its processing are written to a new spool file on the next poll.
+     */
+    synchronized void processed(Path file) {
+        Map<Path, Segment> segments = index.get(file.getParent());
+        Segment segment = segments != null ? segments.get(file) : null;
+        if (segment == null)
+            return;
+
+        if (segment.pending != null)
+            segment.processing = false;
+        else
+            segments.remove(file);
+    }
+
+    /**
+     * Returns spool files returned by {@link #due}, but not processed, to the index.
+     */
+    synchronized void release(Collection<Path> files) {
+        for (Path file : files) {
+            Map<Path, Segment> segments = index.get(file.getParent());
+            Segment segment = segments != null ? segments.get(file) : null;
+            if (segment != null)
+                segment.processing = false;
+        }
+    }
+
+    @PreDestroy
+    void flush() {
+        List<Chunk> chunks;
+        synchronized (this) {
+            chunks = takeAll(true);
+        }
+        writeAll(chunks);
+    }
+
+    private List<Chunk> takeAll(boolean processing) {
+        List<Chunk> chunks = new ArrayList<>();
+        for (Map<Path, Segment> segments : index.values())
+            for (Map.Entry<Path, Segment> entry : segments.entrySet()) {
+                Segment segment = entry.getValue();
+                if (segment.pending != null && (processing || !segment.processing))
+                    chunks.add(take(entry.getKey(), segment));
+            }
+        return chunks;
+    }
+
+    private static Chunk take(Path file, Segment segment) {
+        Chunk chunk = new Chunk(file, segment);
+        segment.header = null;
+        segment.pending = null;
+        segment.writing++;
+        return chunk;
+    }
+
+    private void writeAll(List<Chunk> chunks) {
+        for (Chunk chunk : chunks)
+            try {
+                write(chunk);
+            } catch (IOException e) {
+                LOG.warn("Failed to write [AuditSpoolFile={}]\n", chunk.file, e);
+            }
+    }
+
+    private void write(Chunk chunk) throws IOException {
+        try {
+            synchronized (chunk.segment) {
+                try (Writer writer = Files.newBufferedWriter(chunk.file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    if (Files.size(chunk.file) == 0)
+                        writer.write(chunk.header);
+                    writer.write(chunk.records);
+                }
+                Files.setLastModifiedTime(chunk.file, FileTime.fromMillis(chunk.lastModified));
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                restore(chunk);
+            }
+            throw e;
+        } finally {
+            synchronized (this) {
+                chunk.segment.writing--;
+            }
+        }
+    }
+
+    /**
+     * Puts records which could not be written back into the buffer of the segment, to retry on the next flush.
+     */
+    private static void restore(Chunk chunk) {
+        Segment segment = chunk.segment;
+        StringWriter pending = new StringWriter();
+        pending.write(chunk.records);
+        if (segment.pending != null)
+            pending.write(segment.pending.toString());
+        segment.header = chunk.header;
+        segment.pending = pending;
+    }
+
+    private static void writeLine(StringWriter pending, Object o) throws IOException {
+        try (SpoolFileWriter writer = new SpoolFileWriter(new BufferedWriter(pending))) {
+            writer.writeLine(o);
+        }
+    }
+
+    private Map<Path, Segment> segments(Path dir) throws IOException {
+        Map<Path, Segment> segments = index.get(dir);
+        if (segments == null) {
+            segments = new HashMap<>();
+            if (Files.isDirectory(dir))
+                try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(dir)) {
+                    for (Path file : dirStream)
+                        if (!file.getFileName().toString().endsWith(FAILED))
+                            segments.put(file, new Segment(Files.getLastModifiedTime(file).toMillis()));
+                }
+            index.put(dir, segments);
+        }
+        return segments;
+    }
+}
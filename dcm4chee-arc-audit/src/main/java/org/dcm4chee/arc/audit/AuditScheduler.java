@@ -52,10 +52,10 @@ import org.slf4j.LoggerFactory;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import java.net.URLEncoder;
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -65,11 +65,13 @@ import java.nio.file.Paths;
 public class AuditScheduler extends Scheduler {
 
     private static final Logger LOG = LoggerFactory.getLogger(AuditScheduler.class);
-    private static final String FAILED = ".failed";
 
     @Inject
     private AuditService service;
 
+    @Inject
+    private AuditJournal journal;
+
     protected AuditScheduler() {
         super(Mode.scheduleWithFixedDelay);
     }
@@ -105,16 +107,20 @@ public class AuditScheduler extends Scheduler {
                 if (!Files.isDirectory(dir))
                     continue;
 
-                final long maxLastModifiedTime = System.currentTimeMillis() - duration.getSeconds() * 1000L;
-                try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(dir, file ->
-                        !file.getFileName().toString().endsWith(FAILED)
-                            && Files.getLastModifiedTime(file).toMillis() <= maxLastModifiedTime)) {
-                    for (Path path : dirStream) {
+                long maxLastModifiedTime = System.currentTimeMillis() - duration.getSeconds() * 1000L;
+                List<Path> due = journal.due(dir, maxLastModifiedTime);
+                int processed = 0;
+                try {
+                    for (Path path : due) {
                         if (arcDev.getAuditPollingInterval() == null)
                             return;
 
                         service.auditAndProcessFile(logger, path);
+                        journal.processed(path);
+                        processed++;
                     }
+                } finally {
+                    journal.release(due.subList(processed, due.size()));
                 }
             } catch (Exception e) {
                 LOG.warn("Failed to access Audit Spool Directory for logger - {}", logger, e);
@@ -104,6 +104,9 @@ public class AuditService {
     @Inject
     private Device device;
 
+    @Inject
+    private AuditJournal journal;
+
     @Inject
     private IHL7ApplicationCache hl7AppCache;
 
@@ -344,6 +347,8 @@ public class AuditService {
                         Files.setLastModifiedTime(file, eventTime);
                     if (!getArchiveDevice().isAuditAggregate())
                         auditAndProcessFile(auditLogger, file);
+                    else
+                        journal.add(file, eventTime.toMillis());
                 } catch (Exception e) {
                     LOG.warn("Failed to write to Query Audit Spool File at [AuditLogger={}]\n",
                             auditLogger.getCommonName(), e);
@@ -917,10 +922,10 @@ public class AuditService {
                     Path file = Files.createTempFile(dir, eventType.name(), null);
                     try (BufferedOutputStream out = new BufferedOutputStream(
                             Files.newOutputStream(file, StandardOpenOption.APPEND))) {
-                        try (SpoolFileWriter writer = new SpoolFileWriter(Files.newBufferedWriter(
-                                file, StandardCharsets.UTF_8, StandardOpenOption.APPEND))) {
-                            writer.writeLine(new AuditInfo(auditInfoBuilder));
-                        }
+                        SpoolFileWriter writer = new SpoolFileWriter(new BufferedWriter(
+                                new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+                        writer.writeLine(new AuditInfo(auditInfoBuilder));
+                        writer.flush();
                         out.write(data[0]);
                         if (data.length > 1 && data[1].length > 0)
                             out.write(data[1]);
@@ -931,6 +936,8 @@ public class AuditService {
                         Files.setLastModifiedTime(file, eventTime);
                     if (!getArchiveDevice().isAuditAggregate())
                         auditAndProcessFile(auditLogger, file);
+                    else
+                        journal.add(file, eventTime.toMillis());
                 } catch (Exception e) {
                     LOG.warn("Failed to write audit spool file for [AuditEventType={}] at [AuditLogger={}]\n",
                             eventType, auditLogger.getCommonName(), e);
@@ -951,8 +958,16 @@ public class AuditService {
                 try {
                     Path dir = toDirPath(auditLogger);
                     Files.createDirectories(dir);
-                    Path filePath = eventType.eventClass == AuditUtils.EventClass.STORE_WADOR
-                            || (suffix != null && eventType.eventClass == AuditUtils.EventClass.USER_DELETED)
+                    boolean aggregated = eventType.eventClass == AuditUtils.EventClass.STORE_WADOR
+                            || (suffix != null && eventType.eventClass == AuditUtils.EventClass.USER_DELETED);
+                    if (aggregated && getArchiveDevice().isAuditAggregate()) {
+                        if (eventTime == null)
+                            eventTime = FileTime.fromMillis(System.currentTimeMillis());
+                        journal.append(dir.resolve(file), eventTime.toMillis(),
+                                new AuditInfo(auditInfoBuilders[0]), new AuditInfo(auditInfoBuilders[1]));
+                        continue;
+                    }
+                    Path filePath = aggregated
                             ? filePath(file, dir, auditInfoBuilders)
                             : filePath(eventType, dir, auditInfoBuilders);
                     if (eventTime == null)
@@ -961,6 +976,8 @@ public class AuditService {
                         Files.setLastModifiedTime(filePath, eventTime);
                     if (!getArchiveDevice().isAuditAggregate())
                         auditAndProcessFile(auditLogger, filePath);
+                    else
+                        journal.add(filePath, eventTime.toMillis());
                 } catch (Exception e) {
                     LOG.warn("Failed to write [AuditSpoolFile={}] at [AuditLogger={}]\n",
                             file, auditLogger.getCommonName(), e);
@@ -61,6 +61,10 @@ class SpoolFileWriter implements Closeable {
         writer.newLine();
     }
 
+    void flush() throws IOException {
+        writer.flush();
+    }
+
     @Override
     public void close() throws IOException {
         writer.close();
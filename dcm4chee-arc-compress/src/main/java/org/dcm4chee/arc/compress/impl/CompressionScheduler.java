@@ -43,6 +43,7 @@ package org.dcm4chee.arc.compress.impl;
 
 import org.dcm4che3.data.UID;
 import org.dcm4che3.net.ApplicationEntity;
+import org.dcm4che3.util.SafeClose;
 import org.dcm4chee.arc.Scheduler;
 import org.dcm4chee.arc.conf.*;
 import org.dcm4chee.arc.entity.Location;
@@ -62,7 +63,11 @@ import javax.inject.Inject;
 import java.io.IOException;
 import java.util.Calendar;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Phaser;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -120,7 +125,7 @@ public class CompressionScheduler extends Scheduler {
                 if (ejb.claimForCompression(compression)) {
                     acquire(semaphore, 1);
                     device.execute(() -> {
-                        process(ae, compression);
+                        process(ae, compression, semaphore);
                         semaphore.release();
                     });
                 }
@@ -148,7 +153,12 @@ public class CompressionScheduler extends Scheduler {
         }
     }
 
-    private void process(ApplicationEntity ae, Series.Compression compr) {
+    /**
+     * Compresses the instances of one Series. Instances are compressed by additional threads as long as permits of
+     * {@code semaphore} - not used for other Series - are available, so a large Series may use all
+     * {@link ArchiveDeviceExtension#getCompressionThreads()} threads, if no other Series are pending.
+     */
+    private void process(ApplicationEntity ae, Series.Compression compr, Semaphore semaphore) {
         ArchiveAEExtension arcAE = ae.getAEExtensionNotNull(ArchiveAEExtension.class);
         if (compr.instancePurgeState == Series.InstancePurgeState.PURGED) {
             try (StoreSession session = storeService.newStoreSession(ae)) {
@@ -169,31 +179,57 @@ public class CompressionScheduler extends Scheduler {
             retrieveService.calculateMatches(retrCtx);
             LOG.info("Start compression of {} Instances of Series[iuid={}] of Study[iuid={}]",
                     retrCtx.getNumberOfMatches(), compr.seriesInstanceUID, compr.studyInstanceUID);
-            int failures = 0;
-            int completed = 0;
+            AtomicInteger failures = new AtomicInteger();
+            AtomicInteger completed = new AtomicInteger();
             int skipped = 0;
             ArchiveCompressionRule compressionRule = new ArchiveCompressionRule();
             compressionRule.setTransferSyntax(compr.transferSyntaxUID);
             compressionRule.setImageWriteParams(compr.imageWriteParams());
-            for (InstanceLocations inst : retrCtx.getMatches()) {
-                if (alreadyCompressed(inst.getLocations(), compr.transferSyntaxUID)) {
-                    LOG.info("{} of Series[iuid={}] of Study[iuid={}] already compressed with {} - skipped",
-                            inst, compr.seriesInstanceUID, compr.studyInstanceUID, UID.nameOf(compr.transferSyntaxUID));
-                    skipped++;
-                    continue;
-                }
-                try (LocationInputStream lis = retrieveService.openLocationInputStream(retrCtx, inst)) {
-                    StoreContext ctx = storeService.newStoreContext(session);
-                    ctx.setCompressionRule(compressionRule);
-                    storeService.compress(ctx, inst, lis.stream);
-                    completed++;
-                } catch (Exception e) {
-                    LOG.info("Failed to compress {} of Series[iuid={}] of Study[iuid={}]:\n",
-                            inst, compr.seriesInstanceUID, compr.studyInstanceUID, e);
-                    failures++;
+            Phaser phaser = new Phaser(1);
+            Queue<StoreSession> helperSessions = new ConcurrentLinkedQueue<>();
+            try {
+                for (InstanceLocations inst : retrCtx.getMatches()) {
+                    if (alreadyCompressed(inst.getLocations(), compr.transferSyntaxUID)) {
+                        LOG.info("{} of Series[iuid={}] of Study[iuid={}] already compressed with {} - skipped",
+                                inst, compr.seriesInstanceUID, compr.studyInstanceUID,
+                                UID.nameOf(compr.transferSyntaxUID));
+                        skipped++;
+                        continue;
+                    }
+                    if (semaphore.tryAcquire()) {
+                        StoreSession polled = helperSessions.poll();
+                        StoreSession helperSession = polled != null ? polled : storeService.newStoreSession(ae);
+                        phaser.register();
+                        try {
+                            device.execute(() -> {
+                                try {
+                                    compress(retrCtx, helperSession, compr, compressionRule, inst,
+                                            completed, failures);
+                                } finally {
+                                    helperSessions.offer(helperSession);
+                                    semaphore.release();
+                                    phaser.arriveAndDeregister();
+                                }
+                            });
+                        } catch (RuntimeException e) {
+                            LOG.info("Failed to compress {} of Series[iuid={}] of Study[iuid={}] by additional thread" +
+                                    " - compress it by this thread:\n",
+                                    inst, compr.seriesInstanceUID, compr.studyInstanceUID, e);
+                            helperSessions.offer(helperSession);
+                            semaphore.release();
+                            phaser.arriveAndDeregister();
+                            compress(retrCtx, session, compr, compressionRule, inst, completed, failures);
+                        }
+                    } else {
+                        compress(retrCtx, session, compr, compressionRule, inst, completed, failures);
+                    }
                 }
+            } finally {
+                phaser.arriveAndAwaitAdvance();
+                for (StoreSession helperSession : helperSessions)
+                    SafeClose.close(helperSession);
             }
-            ejb.updateDB(compr, completed, failures);
+            ejb.updateDB(compr, completed.get(), failures.get());
             LOG.info("Finished compression of {} Instances of Series[iuid={}] of Study[iuid={}] - {} failures, {} skipped",
                     completed, compr.seriesInstanceUID, compr.studyInstanceUID, failures, skipped);
             retrieveService.updateLocations(retrCtx);
@@ -203,6 +239,21 @@ public class CompressionScheduler extends Scheduler {
         }
     }
 
+    private void compress(RetrieveContext retrCtx, StoreSession session, Series.Compression compr,
+            ArchiveCompressionRule compressionRule, InstanceLocations inst,
+            AtomicInteger completed, AtomicInteger failures) {
+        try (LocationInputStream lis = retrieveService.openLocationInputStream(retrCtx, inst)) {
+            StoreContext ctx = storeService.newStoreContext(session);
+            ctx.setCompressionRule(compressionRule);
+            storeService.compress(ctx, inst, lis.stream);
+            completed.incrementAndGet();
+        } catch (Exception e) {
+            LOG.info("Failed to compress {} of Series[iuid={}] of Study[iuid={}]:\n",
+                    inst, compr.seriesInstanceUID, compr.studyInstanceUID, e);
+            failures.incrementAndGet();
+        }
+    }
+
     private boolean alreadyCompressed(List<Location> locations, String tsuid) {
         return locations.stream().anyMatch(l -> Location.isDicomFile(l) && l.getTransferSyntaxUID().equals(tsuid));
     }
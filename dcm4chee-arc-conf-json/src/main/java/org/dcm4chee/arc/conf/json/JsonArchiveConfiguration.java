@@ -88,6 +88,8 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
         writer.writeNotNullOrDef("dcmSeriesMetadataPollingInterval", arcDev.getSeriesMetadataPollingInterval(), null);
         writer.writeNotDef("dcmSeriesMetadataFetchSize", arcDev.getSeriesMetadataFetchSize(), 100);
         writer.writeNotDef("dcmSeriesMetadataThreads", arcDev.getSeriesMetadataThreads(), 1);
+        writer.writeNotDef("dcmSeriesMetadataReadThreads", arcDev.getSeriesMetadataReadThreads(), 1);
+        writer.writeNotDef("dcmSeriesMetadataIncrementalUpdate", arcDev.isSeriesMetadataIncrementalUpdate(), false);
         writer.writeNotDef("dcmSeriesMetadataMaxRetries", arcDev.getSeriesMetadataMaxRetries(), 0);
         writer.writeNotNullOrDef("dcmSeriesMetadataRetryInterval", arcDev.getSeriesMetadataRetryInterval(), null);
         writer.writeNotDef("dcmPurgeInstanceRecords", arcDev.isPurgeInstanceRecords(), false);
@@ -118,6 +120,10 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
         writer.writeNotNullOrDef("dcmWadoSR2TextTemplateURI", arcDev.getWadoSR2TextTemplateURI(), null);
         writer.writeNotNullOrDef("dcmWadoCDA2HtmlTemplateURI", arcDev.getWadoCDA2HtmlTemplateURI(), null);
         writer.writeNotDef("dcmQueryFetchSize", arcDev.getQueryFetchSize(), 100);
+        writer.writeNotDef("dcmQueryBufferSize", arcDev.getQueryBufferSize(), 0);
+        writer.writeNotNullOrDef("dcmQueryAttributesPollingInterval",
+                arcDev.getQueryAttributesPollingInterval(), null);
+        writer.writeNotDef("dcmQueryAttributesFetchSize", arcDev.getQueryAttributesFetchSize(), 100);
         writer.writeNotDef("dcmQueryMaxNumberOfResults", arcDev.getQueryMaxNumberOfResults(), 0);
         writer.writeNotDef("dcmQidoMaxNumberOfResults", arcDev.getQidoMaxNumberOfResults(), 0);
         writer.writeNotEmpty("dcmFwdMppsDestination", arcDev.getMppsForwardDestinations());
@@ -153,6 +159,8 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
         writer.writeNotNullOrDef("dcmAECacheStaleTimeout", arcDev.getAECacheStaleTimeout(), null);
         writer.writeNotNullOrDef("dcmLeadingCFindSCPQueryCacheStaleTimeout",
                 arcDev.getLeadingCFindSCPQueryCacheStaleTimeout(), null);
+        writer.writeNotNullOrDef("dcmLeadingCFindSCPQueryCacheNegativeStaleTimeout",
+                arcDev.getLeadingCFindSCPQueryCacheNegativeStaleTimeout(), null);
         writer.writeNotDef("dcmLeadingCFindSCPQueryCacheSize", arcDev.getLeadingCFindSCPQueryCacheSize(), 10);
         writer.writeNotNullOrDef("dcmAuditSpoolDirectory",
                 arcDev.getAuditSpoolDirectory(), ArchiveDeviceExtension.JBOSS_SERVER_TEMP_DIR);
@@ -188,11 +196,27 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
         writer.writeNotDef("dcmStorePermissionCacheSize", arcDev.getStorePermissionCacheSize(), 10);
         writer.writeNotNullOrDef("dcmMergeMWLCacheStaleTimeout",
                 arcDev.getMergeMWLCacheStaleTimeout(), null);
+        writer.writeNotNullOrDef("dcmMergeMWLCacheNegativeStaleTimeout",
+                arcDev.getMergeMWLCacheNegativeStaleTimeout(), null);
         writer.writeNotDef("dcmMergeMWLCacheSize",
                 arcDev.getMergeMWLCacheSize(), 10);
+        writer.writeNotDef("dcmAttributesBlobCacheSize", arcDev.getAttributesBlobCacheSize(), 1000);
+        writer.writeNotDef("dcmRetrieveCacheUpdateLocationsBatchSize", arcDev.getRetrieveCacheUpdateLocationsBatchSize(), 100);
+        writer.writeNotDef("dcmRetrieveCacheUpdateLocationsInterval", arcDev.getRetrieveCacheUpdateLocationsInterval(), 1000);
+        writer.writeNotDef("dcmRetrieveReadAhead", arcDev.getRetrieveReadAhead(), 0);
+        writer.writeNotDef("dcmUploadBufferPoolSize", arcDev.getUploadBufferPoolSize(), 64);
+        writer.writeNotDef("dcmUploadBufferSpillToDisk", arcDev.isUploadBufferSpillToDisk(), false);
+        writer.writeNotNullOrDef("dcmQidoResultCount", arcDev.getQidoResultCount(), QidoResultCount.EXACT);
+        writer.writeNotNullOrDef("dcmQidoResultCountCacheStaleTimeout",
+                arcDev.getQidoResultCountCacheStaleTimeout(), null);
+        writer.writeNotDef("dcmQidoResultCountCacheSize", arcDev.getQidoResultCountCacheSize(), 100);
         writer.writeNotDef("dcmStoreUpdateDBMaxRetries", arcDev.getStoreUpdateDBMaxRetries(), 1);
         writer.writeNotDef("dcmStoreUpdateDBMinRetryDelay", arcDev.getStoreUpdateDBMinRetryDelay(), 500);
         writer.writeNotDef("dcmStoreUpdateDBMaxRetryDelay", arcDev.getStoreUpdateDBMaxRetryDelay(), 1000);
+        writer.writeNotDef("dcmStoreUpdateDBGroupCommitSize", arcDev.getStoreUpdateDBGroupCommitSize(), 1);
+        writer.writeNotDef("dcmStoreUpdateDBGroupCommitWindow", arcDev.getStoreUpdateDBGroupCommitWindow(), 10);
+        writer.writeNotDef("dcmBulkDataSpoolMemoryPerObject", arcDev.getBulkDataSpoolMemoryPerObject(), 0);
+        writer.writeNotDef("dcmBulkDataSpoolMemoryTotal", arcDev.getBulkDataSpoolMemoryTotal(), 64);
         writer.writeNotNullOrDef("dcmAllowRejectionForDataRetentionPolicyExpired",
                 arcDev.getAllowRejectionForDataRetentionPolicyExpired(),
                 AllowRejectionForDataRetentionPolicyExpired.EXPIRED_UNSET);
@@ -347,6 +371,7 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
                 ArchiveDeviceExtension.WADO_THUMBNAIL_VIEWPORT);
         writer.writeNotDef("dcmRestrictRetrieveSilently", arcDev.isRestrictRetrieveSilently(), false);
         writer.writeNotDef("dcmStowQuicktime2MP4", arcDev.isStowQuicktime2MP4(), false);
+        writer.writeNotDef("dcmStowThreads", arcDev.getStowThreads(), 1);
         writer.writeNotNullOrDef("dcmMWLPollingInterval", arcDev.getMWLPollingInterval(), null);
         writer.writeNotDef("dcmMWLFetchSize", arcDev.getMWLFetchSize(), 100);
         writer.writeNotEmpty("dcmDeleteMWLDelay", arcDev.getDeleteMWLDelay());
@@ -458,6 +483,9 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
                     st.isStorageThresholdExceedsPermanently(), true);
             writer.writeNotNull("dcmStorageThresholdExceeded", st.getStorageThresholdExceeded());
             writer.writeNotDef("dcmDeleterThreads", st.getDeleterThreads(), 1);
+            writer.writeNotDef("dcmStorageVerificationThreads", st.getStorageVerificationThreads(), 1);
+            writer.writeNotDef("dcmStorageVerificationMaxBytesPerSecond",
+                    st.getStorageVerificationMaxBytesPerSecond(), 0);
             writer.writeNotNullOrDef("dcmStorageClusterID", st.getStorageClusterID(), null);
             writer.writeNotNullOrDef("dcmStorageThreshold", st.getStorageThreshold(), null);
             writer.writeNotEmpty("dcmDeleterThreshold", st.getDeleterThresholdsAsStrings());
@@ -1154,6 +1182,7 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
         writer.writeNotNullOrDef("dcmWadoThumbnailViewport", arcAE.getWadoThumbnailViewPort(), null);
         writer.writeNotNull("dcmRestrictRetrieveSilently", arcAE.getRestrictRetrieveSilently());
         writer.writeNotNull("dcmStowQuicktime2MP4", arcAE.getStowQuicktime2MP4());
+        writer.writeNotNull("dcmStowThreads", arcAE.getStowThreads());
         writer.writeNotNullOrDef("dcmFallbackWadoURIWebAppName", arcAE.getFallbackWadoURIWebApplication(), null);
         writer.writeNotNull("dcmFallbackWadoURIHttpStatusCode", arcAE.getFallbackWadoURIHttpStatusCode());
         writer.writeNotNull("dcmRetrieveTaskWarningOnNoMatch", arcAE.getRetrieveTaskWarningOnNoMatch());
@@ -1207,6 +1236,12 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
                 case "dcmSeriesMetadataThreads":
                     arcDev.setSeriesMetadataThreads(reader.intValue());
                     break;
+                case "dcmSeriesMetadataReadThreads":
+                    arcDev.setSeriesMetadataReadThreads(reader.intValue());
+                    break;
+                case "dcmSeriesMetadataIncrementalUpdate":
+                    arcDev.setSeriesMetadataIncrementalUpdate(reader.booleanValue());
+                    break;
                 case "dcmSeriesMetadataMaxRetries":
                     arcDev.setSeriesMetadataMaxRetries(reader.intValue());
                     break;
@@ -1282,6 +1317,15 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
                 case "dcmQueryFetchSize":
                     arcDev.setQueryFetchSize(reader.intValue());
                     break;
+                case "dcmQueryBufferSize":
+                    arcDev.setQueryBufferSize(reader.intValue());
+                    break;
+                case "dcmQueryAttributesPollingInterval":
+                    arcDev.setQueryAttributesPollingInterval(Duration.valueOf(reader.stringValue()));
+                    break;
+                case "dcmQueryAttributesFetchSize":
+                    arcDev.setQueryAttributesFetchSize(reader.intValue());
+                    break;
                 case "dcmQueryMaxNumberOfResults":
                     arcDev.setQueryMaxNumberOfResults(reader.intValue());
                     break;
@@ -1381,6 +1425,9 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
                 case "dcmLeadingCFindSCPQueryCacheStaleTimeout":
                     arcDev.setLeadingCFindSCPQueryCacheStaleTimeout(Duration.valueOf(reader.stringValue()));
                     break;
+                case "dcmLeadingCFindSCPQueryCacheNegativeStaleTimeout":
+                    arcDev.setLeadingCFindSCPQueryCacheNegativeStaleTimeout(Duration.valueOf(reader.stringValue()));
+                    break;
                 case "dcmLeadingCFindSCPQueryCacheSize":
                     arcDev.setLeadingCFindSCPQueryCacheSize(reader.intValue());
                     break;
@@ -1462,9 +1509,39 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
                 case "dcmMergeMWLCacheStaleTimeout":
                     arcDev.setMergeMWLCacheStaleTimeout(Duration.valueOf(reader.stringValue()));
                     break;
+                case "dcmMergeMWLCacheNegativeStaleTimeout":
+                    arcDev.setMergeMWLCacheNegativeStaleTimeout(Duration.valueOf(reader.stringValue()));
+                    break;
                 case "dcmMergeMWLCacheSize":
                     arcDev.setMergeMWLCacheSize(reader.intValue());
                     break;
+                case "dcmAttributesBlobCacheSize":
+                    arcDev.setAttributesBlobCacheSize(reader.intValue());
+                    break;
+                case "dcmRetrieveCacheUpdateLocationsBatchSize":
+                    arcDev.setRetrieveCacheUpdateLocationsBatchSize(reader.intValue());
+                    break;
+                case "dcmRetrieveCacheUpdateLocationsInterval":
+                    arcDev.setRetrieveCacheUpdateLocationsInterval(reader.intValue());
+                    break;
+                case "dcmRetrieveReadAhead":
+                    arcDev.setRetrieveReadAhead(reader.intValue());
+                    break;
+                case "dcmUploadBufferPoolSize":
+                    arcDev.setUploadBufferPoolSize(reader.intValue());
+                    break;
+                case "dcmUploadBufferSpillToDisk":
+                    arcDev.setUploadBufferSpillToDisk(reader.booleanValue());
+                    break;
+                case "dcmQidoResultCount":
+                    arcDev.setQidoResultCount(QidoResultCount.valueOf(reader.stringValue()));
+                    break;
+                case "dcmQidoResultCountCacheStaleTimeout":
+                    arcDev.setQidoResultCountCacheStaleTimeout(Duration.valueOf(reader.stringValue()));
+                    break;
+                case "dcmQidoResultCountCacheSize":
+                    arcDev.setQidoResultCountCacheSize(reader.intValue());
+                    break;
                 case "dcmStoreUpdateDBMaxRetries":
                     arcDev.setStoreUpdateDBMaxRetries(reader.intValue());
                     break;
@@ -1474,6 +1551,18 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
                 case "dcmStoreUpdateDBMaxRetryDelay":
                     arcDev.setStoreUpdateDBMaxRetryDelay(reader.intValue());
                     break;
+                case "dcmStoreUpdateDBGroupCommitSize":
+                    arcDev.setStoreUpdateDBGroupCommitSize(reader.intValue());
+                    break;
+                case "dcmStoreUpdateDBGroupCommitWindow":
+                    arcDev.setStoreUpdateDBGroupCommitWindow(reader.intValue());
+                    break;
+                case "dcmBulkDataSpoolMemoryPerObject":
+                    arcDev.setBulkDataSpoolMemoryPerObject(reader.intValue());
+                    break;
+                case "dcmBulkDataSpoolMemoryTotal":
+                    arcDev.setBulkDataSpoolMemoryTotal(reader.intValue());
+                    break;
                 case "dcmAllowRejectionForDataRetentionPolicyExpired":
                     arcDev.setAllowRejectionForDataRetentionPolicyExpired(
                             AllowRejectionForDataRetentionPolicyExpired.valueOf(reader.stringValue()));
@@ -1788,6 +1877,9 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
                 case "dcmStowQuicktime2MP4":
                     arcDev.setStowQuicktime2MP4(reader.booleanValue());
                     break;
+                case "dcmStowThreads":
+                    arcDev.setStowThreads(reader.intValue());
+                    break;
                 case "dcmMWLPollingInterval":
                     arcDev.setMWLPollingInterval(Duration.valueOf(reader.stringValue()));
                     break;
@@ -2040,6 +2132,12 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
                     case "dcmDeleterThreads":
                         st.setDeleterThreads(reader.intValue());
                         break;
+                    case "dcmStorageVerificationThreads":
+                        st.setStorageVerificationThreads(reader.intValue());
+                        break;
+                    case "dcmStorageVerificationMaxBytesPerSecond":
+                        st.setStorageVerificationMaxBytesPerSecond(reader.intValue());
+                        break;
                     case "dcmStorageClusterID":
                         st.setStorageClusterID(reader.stringValue());
                         break;
@@ -3674,6 +3772,9 @@ public class JsonArchiveConfiguration extends JsonConfigurationExtension {
                 case "dcmStowQuicktime2MP4":
                     arcAE.setStowQuicktime2MP4(reader.booleanValue());
                     break;
+                case "dcmStowThreads":
+                    arcAE.setStowThreads(reader.intValue());
+                    break;
                 case "dcmFallbackWadoURIWebAppName":
                     arcAE.setFallbackWadoURIWebApplication(reader.stringValue());
                     break;
@@ -98,6 +98,10 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 ext.getSeriesMetadataFetchSize(), 100);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmSeriesMetadataThreads",
                 ext.getSeriesMetadataThreads(), 1);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmSeriesMetadataReadThreads",
+                ext.getSeriesMetadataReadThreads(), 1);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmSeriesMetadataIncrementalUpdate",
+                ext.isSeriesMetadataIncrementalUpdate(), false);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmSeriesMetadataMaxRetries",
                 ext.getSeriesMetadataMaxRetries(), 0);
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmSeriesMetadataRetryInterval",
@@ -168,6 +172,12 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
         LdapUtils.storeNotEmpty(ldapObj, attrs, "dcmWadoSupportedSRClasses", ext.getWadoSupportedSRClasses());
         LdapUtils.storeNotEmpty(ldapObj, attrs, "dcmWadoSupportedPRClasses", ext.getWadoSupportedPRClasses());
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmQueryFetchSize", ext.getQueryFetchSize(), 100);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmQueryBufferSize",
+                ext.getQueryBufferSize(), 0);
+        LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmQueryAttributesPollingInterval",
+                ext.getQueryAttributesPollingInterval(), null);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmQueryAttributesFetchSize",
+                ext.getQueryAttributesFetchSize(), 100);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmQueryMaxNumberOfResults",
                 ext.getQueryMaxNumberOfResults(), 0);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmQidoMaxNumberOfResults",
@@ -209,6 +219,8 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 ext.getAECacheStaleTimeout(), null);
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmLeadingCFindSCPQueryCacheStaleTimeout",
                 ext.getLeadingCFindSCPQueryCacheStaleTimeout(), null);
+        LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmLeadingCFindSCPQueryCacheNegativeStaleTimeout",
+                ext.getLeadingCFindSCPQueryCacheNegativeStaleTimeout(), null);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmLeadingCFindSCPQueryCacheSize",
                 ext.getLeadingCFindSCPQueryCacheSize(), 10);
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmAuditSpoolDirectory",
@@ -249,13 +261,41 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 ext.getStorePermissionCacheSize(), 10);
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmMergeMWLCacheStaleTimeout",
                 ext.getMergeMWLCacheStaleTimeout(), null);
+        LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmMergeMWLCacheNegativeStaleTimeout",
+                ext.getMergeMWLCacheNegativeStaleTimeout(), null);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmMergeMWLCacheSize", ext.getMergeMWLCacheSize(), 10);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmAttributesBlobCacheSize",
+                ext.getAttributesBlobCacheSize(), 1000);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmRetrieveCacheUpdateLocationsBatchSize",
+                ext.getRetrieveCacheUpdateLocationsBatchSize(), 100);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmRetrieveCacheUpdateLocationsInterval",
+                ext.getRetrieveCacheUpdateLocationsInterval(), 1000);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmRetrieveReadAhead",
+                ext.getRetrieveReadAhead(), 0);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmUploadBufferPoolSize",
+                ext.getUploadBufferPoolSize(), 64);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmUploadBufferSpillToDisk",
+                ext.isUploadBufferSpillToDisk(), false);
+        LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmQidoResultCount",
+                ext.getQidoResultCount(), QidoResultCount.EXACT);
+        LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmQidoResultCountCacheStaleTimeout",
+                ext.getQidoResultCountCacheStaleTimeout(), null);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmQidoResultCountCacheSize",
+                ext.getQidoResultCountCacheSize(), 100);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmStoreUpdateDBMaxRetries",
                 ext.getStoreUpdateDBMaxRetries(), 1);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmStoreUpdateDBMinRetryDelay",
                 ext.getStoreUpdateDBMinRetryDelay(), 500);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmStoreUpdateDBMaxRetryDelay",
                 ext.getStoreUpdateDBMaxRetryDelay(), 1000);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmStoreUpdateDBGroupCommitSize",
+                ext.getStoreUpdateDBGroupCommitSize(), 1);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmStoreUpdateDBGroupCommitWindow",
+                ext.getStoreUpdateDBGroupCommitWindow(), 10);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmBulkDataSpoolMemoryPerObject",
+                ext.getBulkDataSpoolMemoryPerObject(), 0);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmBulkDataSpoolMemoryTotal",
+                ext.getBulkDataSpoolMemoryTotal(), 64);
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmAllowRejectionForDataRetentionPolicyExpired",
                 ext.getAllowRejectionForDataRetentionPolicyExpired(), AllowRejectionForDataRetentionPolicyExpired.EXPIRED_UNSET);
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmAcceptMissingPatientID",
@@ -435,6 +475,8 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmRestrictRetrieveSilently",
                 ext.isRestrictRetrieveSilently(), false);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmStowQuicktime2MP4", ext.isStowQuicktime2MP4(), false);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmStowThreads",
+                ext.getStowThreads(), 1);
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmMWLPollingInterval",
                 ext.getMWLPollingInterval(), null);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmMWLFetchSize", ext.getMWLFetchSize(), 100);
@@ -475,6 +517,8 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
         ext.setSeriesMetadataPollingInterval(toDuration(attrs.get("dcmSeriesMetadataPollingInterval"), null));
         ext.setSeriesMetadataFetchSize(LdapUtils.intValue(attrs.get("dcmSeriesMetadataFetchSize"), 100));
         ext.setSeriesMetadataThreads(LdapUtils.intValue(attrs.get("dcmSeriesMetadataThreads"), 1));
+        ext.setSeriesMetadataReadThreads(LdapUtils.intValue(attrs.get("dcmSeriesMetadataReadThreads"), 1));
+        ext.setSeriesMetadataIncrementalUpdate(LdapUtils.booleanValue(attrs.get("dcmSeriesMetadataIncrementalUpdate"), false));
         ext.setSeriesMetadataMaxRetries(LdapUtils.intValue(attrs.get("dcmSeriesMetadataMaxRetries"), 0));
         ext.setSeriesMetadataRetryInterval(toDuration(attrs.get("dcmSeriesMetadataRetryInterval"), null));
         ext.setPurgeInstanceRecords(LdapUtils.booleanValue(attrs.get("dcmPurgeInstanceRecords"), false));
@@ -520,6 +564,9 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
         ext.setWadoSupportedSRClasses(LdapUtils.stringArray(attrs.get("dcmWadoSupportedSRClasses")));
         ext.setWadoSupportedPRClasses(LdapUtils.stringArray(attrs.get("dcmWadoSupportedPRClasses")));
         ext.setQueryFetchSize(LdapUtils.intValue(attrs.get("dcmQueryFetchSize"), 100));
+        ext.setQueryBufferSize(LdapUtils.intValue(attrs.get("dcmQueryBufferSize"), 0));
+        ext.setQueryAttributesPollingInterval(toDuration(attrs.get("dcmQueryAttributesPollingInterval"), null));
+        ext.setQueryAttributesFetchSize(LdapUtils.intValue(attrs.get("dcmQueryAttributesFetchSize"), 100));
         ext.setQueryMaxNumberOfResults(LdapUtils.intValue(attrs.get("dcmQueryMaxNumberOfResults"), 0));
         ext.setQidoMaxNumberOfResults(LdapUtils.intValue(attrs.get("dcmQidoMaxNumberOfResults"), 0));
         ext.setMppsForwardDestinations(LdapUtils.stringArray(attrs.get("dcmFwdMppsDestination")));
@@ -545,6 +592,8 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
         ext.setMaxAccessTimeStaleness(toDuration(attrs.get("dcmMaxAccessTimeStaleness"), null));
         ext.setAECacheStaleTimeout(toDuration(attrs.get("dcmAECacheStaleTimeout"), null));
         ext.setLeadingCFindSCPQueryCacheStaleTimeout(toDuration(attrs.get("dcmLeadingCFindSCPQueryCacheStaleTimeout"), null));
+        ext.setLeadingCFindSCPQueryCacheNegativeStaleTimeout(
+                toDuration(attrs.get("dcmLeadingCFindSCPQueryCacheNegativeStaleTimeout"), null));
         ext.setLeadingCFindSCPQueryCacheSize(LdapUtils.intValue(attrs.get("dcmLeadingCFindSCPQueryCacheSize"), 10));
         ext.setAuditSpoolDirectory(
                 LdapUtils.stringValue(attrs.get("dcmAuditSpoolDirectory"), ArchiveDeviceExtension.JBOSS_SERVER_TEMP_DIR));
@@ -570,10 +619,30 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
         ext.setStorePermissionCacheStaleTimeout(toDuration(attrs.get("dcmStorePermissionCacheStaleTimeout"), null));
         ext.setStorePermissionCacheSize(LdapUtils.intValue(attrs.get("dcmStorePermissionCacheSize"), 10));
         ext.setMergeMWLCacheStaleTimeout(toDuration(attrs.get("dcmMergeMWLCacheStaleTimeout"), null));
+        ext.setMergeMWLCacheNegativeStaleTimeout(
+                toDuration(attrs.get("dcmMergeMWLCacheNegativeStaleTimeout"), null));
         ext.setMergeMWLCacheSize(LdapUtils.intValue(attrs.get("dcmMergeMWLCacheSize"), 10));
+        ext.setAttributesBlobCacheSize(LdapUtils.intValue(attrs.get("dcmAttributesBlobCacheSize"), 1000));
+        ext.setRetrieveCacheUpdateLocationsBatchSize(
+                LdapUtils.intValue(attrs.get("dcmRetrieveCacheUpdateLocationsBatchSize"), 100));
+        ext.setRetrieveCacheUpdateLocationsInterval(
+                LdapUtils.intValue(attrs.get("dcmRetrieveCacheUpdateLocationsInterval"), 1000));
+        ext.setRetrieveReadAhead(LdapUtils.intValue(attrs.get("dcmRetrieveReadAhead"), 0));
+        ext.setUploadBufferPoolSize(LdapUtils.intValue(attrs.get("dcmUploadBufferPoolSize"), 64));
+        ext.setUploadBufferSpillToDisk(
+                LdapUtils.booleanValue(attrs.get("dcmUploadBufferSpillToDisk"), false));
+        ext.setQidoResultCount(LdapUtils.enumValue(
+                QidoResultCount.class, attrs.get("dcmQidoResultCount"), QidoResultCount.EXACT));
+        ext.setQidoResultCountCacheStaleTimeout(
+                toDuration(attrs.get("dcmQidoResultCountCacheStaleTimeout"), null));
+        ext.setQidoResultCountCacheSize(LdapUtils.intValue(attrs.get("dcmQidoResultCountCacheSize"), 100));
         ext.setStoreUpdateDBMaxRetries(LdapUtils.intValue(attrs.get("dcmStoreUpdateDBMaxRetries"), 1));
         ext.setStoreUpdateDBMinRetryDelay(LdapUtils.intValue(attrs.get("dcmStoreUpdateDBMinRetryDelay"), 500));
         ext.setStoreUpdateDBMaxRetryDelay(LdapUtils.intValue(attrs.get("dcmStoreUpdateDBMaxRetryDelay"), 1000));
+        ext.setStoreUpdateDBGroupCommitSize(LdapUtils.intValue(attrs.get("dcmStoreUpdateDBGroupCommitSize"), 1));
+        ext.setStoreUpdateDBGroupCommitWindow(LdapUtils.intValue(attrs.get("dcmStoreUpdateDBGroupCommitWindow"), 10));
+        ext.setBulkDataSpoolMemoryPerObject(LdapUtils.intValue(attrs.get("dcmBulkDataSpoolMemoryPerObject"), 0));
+        ext.setBulkDataSpoolMemoryTotal(LdapUtils.intValue(attrs.get("dcmBulkDataSpoolMemoryTotal"), 64));
         ext.setAllowRejectionForDataRetentionPolicyExpired(
                 LdapUtils.enumValue(AllowRejectionForDataRetentionPolicyExpired.class,
                         attrs.get("dcmAllowRejectionForDataRetentionPolicyExpired"),
@@ -724,6 +793,7 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 ArchiveDeviceExtension.WADO_THUMBNAIL_VIEWPORT));
         ext.setRestrictRetrieveSilently(LdapUtils.booleanValue(attrs.get("dcmRestrictRetrieveSilently"), false));
         ext.setStowQuicktime2MP4(LdapUtils.booleanValue(attrs.get("dcmStowQuicktime2MP4"), false));
+        ext.setStowThreads(LdapUtils.intValue(attrs.get("dcmStowThreads"), 1));
         ext.setMWLPollingInterval(toDuration(attrs.get("dcmMWLPollingInterval"), null));
         ext.setMWLFetchSize(LdapUtils.intValue(attrs.get("dcmMWLFetchSize"), 100));
         ext.setDeleteMWLDelay(LdapUtils.stringArray(attrs.get("dcmDeleteMWLDelay")));
@@ -779,6 +849,14 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 aa.getSeriesMetadataThreads(),
                 bb.getSeriesMetadataThreads(),
                 1);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmSeriesMetadataReadThreads",
+                aa.getSeriesMetadataReadThreads(),
+                bb.getSeriesMetadataReadThreads(),
+                1);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmSeriesMetadataIncrementalUpdate",
+                aa.isSeriesMetadataIncrementalUpdate(),
+                bb.isSeriesMetadataIncrementalUpdate(),
+                false);
         LdapUtils.storeDiff(ldapObj, mods, "dcmSeriesMetadataMaxRetries",
                 aa.getSeriesMetadataMaxRetries(),
                 bb.getSeriesMetadataMaxRetries(),
@@ -878,6 +956,13 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 aa.getWadoSupportedPRClasses(), bb.getWadoSupportedPRClasses());
         LdapUtils.storeDiff(ldapObj, mods, "dcmQueryFetchSize",
                 aa.getQueryFetchSize(), bb.getQueryFetchSize(),  100);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmQueryBufferSize",
+                aa.getQueryBufferSize(), bb.getQueryBufferSize(), 0);
+        LdapUtils.storeDiffObject(ldapObj, mods, "dcmQueryAttributesPollingInterval",
+                aa.getQueryAttributesPollingInterval(),
+                bb.getQueryAttributesPollingInterval(), null);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmQueryAttributesFetchSize",
+                aa.getQueryAttributesFetchSize(), bb.getQueryAttributesFetchSize(), 100);
         LdapUtils.storeDiff(ldapObj, mods, "dcmQueryMaxNumberOfResults",
                 aa.getQueryMaxNumberOfResults(), bb.getQueryMaxNumberOfResults(),  0);
         LdapUtils.storeDiff(ldapObj, mods, "dcmQidoMaxNumberOfResults",
@@ -921,6 +1006,9 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 aa.getAECacheStaleTimeout(), bb.getAECacheStaleTimeout(), null);
         LdapUtils.storeDiffObject(ldapObj, mods, "dcmLeadingCFindSCPQueryCacheStaleTimeout",
                 aa.getLeadingCFindSCPQueryCacheStaleTimeout(), bb.getLeadingCFindSCPQueryCacheStaleTimeout(), null);
+        LdapUtils.storeDiffObject(ldapObj, mods, "dcmLeadingCFindSCPQueryCacheNegativeStaleTimeout",
+                aa.getLeadingCFindSCPQueryCacheNegativeStaleTimeout(),
+                bb.getLeadingCFindSCPQueryCacheNegativeStaleTimeout(), null);
         LdapUtils.storeDiff(ldapObj, mods, "dcmLeadingCFindSCPQueryCacheSize",
                 aa.getLeadingCFindSCPQueryCacheSize(), bb.getLeadingCFindSCPQueryCacheSize(), 10);
         LdapUtils.storeDiffObject(ldapObj, mods, "dcmAuditSpoolDirectory",
@@ -968,14 +1056,42 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 aa.getStorePermissionCacheSize(), bb.getStorePermissionCacheSize(), 10);
         LdapUtils.storeDiffObject(ldapObj, mods, "dcmMergeMWLCacheStaleTimeout",
                 aa.getMergeMWLCacheStaleTimeout(), bb.getMergeMWLCacheStaleTimeout(), null);
+        LdapUtils.storeDiffObject(ldapObj, mods, "dcmMergeMWLCacheNegativeStaleTimeout",
+                aa.getMergeMWLCacheNegativeStaleTimeout(), bb.getMergeMWLCacheNegativeStaleTimeout(), null);
         LdapUtils.storeDiff(ldapObj, mods, "dcmMergeMWLCacheSize",
                 aa.getMergeMWLCacheSize(), bb.getMergeMWLCacheSize(), 10);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmAttributesBlobCacheSize",
+                aa.getAttributesBlobCacheSize(), bb.getAttributesBlobCacheSize(), 1000);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmRetrieveCacheUpdateLocationsBatchSize",
+                aa.getRetrieveCacheUpdateLocationsBatchSize(), bb.getRetrieveCacheUpdateLocationsBatchSize(), 100);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmRetrieveCacheUpdateLocationsInterval",
+                aa.getRetrieveCacheUpdateLocationsInterval(), bb.getRetrieveCacheUpdateLocationsInterval(), 1000);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmRetrieveReadAhead",
+                aa.getRetrieveReadAhead(), bb.getRetrieveReadAhead(), 0);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmUploadBufferPoolSize",
+                aa.getUploadBufferPoolSize(), bb.getUploadBufferPoolSize(), 64);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmUploadBufferSpillToDisk",
+                aa.isUploadBufferSpillToDisk(), bb.isUploadBufferSpillToDisk(), false);
+        LdapUtils.storeDiffObject(ldapObj, mods, "dcmQidoResultCount",
+                aa.getQidoResultCount(), bb.getQidoResultCount(), QidoResultCount.EXACT);
+        LdapUtils.storeDiffObject(ldapObj, mods, "dcmQidoResultCountCacheStaleTimeout",
+                aa.getQidoResultCountCacheStaleTimeout(), bb.getQidoResultCountCacheStaleTimeout(), null);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmQidoResultCountCacheSize",
+                aa.getQidoResultCountCacheSize(), bb.getQidoResultCountCacheSize(), 100);
         LdapUtils.storeDiff(ldapObj, mods, "dcmStoreUpdateDBMaxRetries",
                 aa.getStoreUpdateDBMaxRetries(), bb.getStoreUpdateDBMaxRetries(), 1);
         LdapUtils.storeDiff(ldapObj, mods, "dcmStoreUpdateDBMinRetryDelay",
                 aa.getStoreUpdateDBMinRetryDelay(), bb.getStoreUpdateDBMinRetryDelay(), 500);
         LdapUtils.storeDiff(ldapObj, mods, "dcmStoreUpdateDBMaxRetryDelay",
                 aa.getStoreUpdateDBMaxRetryDelay(), bb.getStoreUpdateDBMaxRetryDelay(), 1000);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmStoreUpdateDBGroupCommitSize",
+                aa.getStoreUpdateDBGroupCommitSize(), bb.getStoreUpdateDBGroupCommitSize(), 1);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmStoreUpdateDBGroupCommitWindow",
+                aa.getStoreUpdateDBGroupCommitWindow(), bb.getStoreUpdateDBGroupCommitWindow(), 10);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmBulkDataSpoolMemoryPerObject",
+                aa.getBulkDataSpoolMemoryPerObject(), bb.getBulkDataSpoolMemoryPerObject(), 0);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmBulkDataSpoolMemoryTotal",
+                aa.getBulkDataSpoolMemoryTotal(), bb.getBulkDataSpoolMemoryTotal(), 64);
         LdapUtils.storeDiffObject(ldapObj, mods, "dcmAllowRejectionForDataRetentionPolicyExpired",
                 aa.getAllowRejectionForDataRetentionPolicyExpired(), bb.getAllowRejectionForDataRetentionPolicyExpired(),
                 AllowRejectionForDataRetentionPolicyExpired.EXPIRED_UNSET);
@@ -1235,6 +1351,8 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 aa.isStowQuicktime2MP4(),
                 bb.isStowQuicktime2MP4(),
                 false);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmStowThreads",
+                aa.getStowThreads(), bb.getStowThreads(), 1);
         LdapUtils.storeDiffObject(ldapObj, mods, "dcmMWLPollingInterval",
                 aa.getMWLPollingInterval(),
                 bb.getMWLPollingInterval(),
@@ -1557,6 +1675,7 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmRestrictRetrieveSilently",
                 ext.getRestrictRetrieveSilently(), null);
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmStowQuicktime2MP4", ext.getStowQuicktime2MP4(), null);
+        LdapUtils.storeNotNull(ldapObj, attrs, "dcmStowThreads", ext.getStowThreads());
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmFallbackWadoURIWebAppName",
                 ext.getFallbackWadoURIWebApplication(), null);
         LdapUtils.storeNotNull(ldapObj, attrs, "dcmFallbackWadoURIHttpStatusCode",
@@ -1693,6 +1812,7 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 LdapUtils.booleanValue(attrs.get("dcmRestrictRetrieveSilently"), null));
         ext.setStowQuicktime2MP4(
                 LdapUtils.booleanValue(attrs.get("dcmStowQuicktime2MP4"), null));
+        ext.setStowThreads(LdapUtils.intValue(attrs.get("dcmStowThreads"), null));
         ext.setFallbackWadoURIWebApplication(LdapUtils.stringValue(
                 attrs.get("dcmFallbackWadoURIWebAppName"), null));
         ext.setFallbackWadoURIHttpStatusCode(LdapUtils.intValue(
@@ -1908,6 +2028,8 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 aa.getRestrictRetrieveSilently(), bb.getRestrictRetrieveSilently(), null);
         LdapUtils.storeDiffObject(ldapObj, mods, "dcmStowQuicktime2MP4",
                 aa.getStowQuicktime2MP4(), bb.getStowQuicktime2MP4(), null);
+        LdapUtils.storeDiffObject(ldapObj, mods, "dcmStowThreads",
+                aa.getStowThreads(), bb.getStowThreads(), null);
         LdapUtils.storeDiffObject(ldapObj, mods, "dcmFallbackWadoURIWebAppName",
                 aa.getFallbackWadoURIWebApplication(),
                 bb.getFallbackWadoURIWebApplication(),
@@ -2298,6 +2420,10 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 descriptor.getStorageThresholdExceeded(), null);
         LdapUtils.storeNotDef(ldapObj, attrs, "dcmDeleterThreads",
                 descriptor.getDeleterThreads(), 1);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmStorageVerificationThreads",
+                descriptor.getStorageVerificationThreads(), 1);
+        LdapUtils.storeNotDef(ldapObj, attrs, "dcmStorageVerificationMaxBytesPerSecond",
+                descriptor.getStorageVerificationMaxBytesPerSecond(), 0);
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmStorageClusterID",
                 descriptor.getStorageClusterID(), null);
         LdapUtils.storeNotNullOrDef(ldapObj, attrs, "dcmStorageThreshold",
@@ -2347,6 +2473,10 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 desc.setStorageThresholdExceeded(
                         LdapUtils.dateTimeValue(attrs.get("dcmStorageThresholdExceeded")));
                 desc.setDeleterThreads(LdapUtils.intValue(attrs.get("dcmDeleterThreads"), 1));
+                desc.setStorageVerificationThreads(
+                        LdapUtils.intValue(attrs.get("dcmStorageVerificationThreads"), 1));
+                desc.setStorageVerificationMaxBytesPerSecond(
+                        LdapUtils.intValue(attrs.get("dcmStorageVerificationMaxBytesPerSecond"), 0));
                 desc.setStorageClusterID(LdapUtils.stringValue(attrs.get("dcmStorageClusterID"), null));
                 desc.setStorageThreshold(toStorageThreshold(attrs.get("dcmStorageThreshold")));
                 desc.setDeleterThresholdsFromStrings(LdapUtils.stringArray(attrs.get("dcmDeleterThreshold")));
@@ -2425,6 +2555,10 @@ class LdapArchiveConfiguration extends LdapDicomConfigurationExtension {
                 prev.getStorageThresholdExceeded(), desc.getStorageThresholdExceeded(), null);
         LdapUtils.storeDiff(ldapObj, mods, "dcmDeleterThreads",
                 prev.getDeleterThreads(), desc.getDeleterThreads(), 1);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmStorageVerificationThreads",
+                prev.getStorageVerificationThreads(), desc.getStorageVerificationThreads(), 1);
+        LdapUtils.storeDiff(ldapObj, mods, "dcmStorageVerificationMaxBytesPerSecond",
+                prev.getStorageVerificationMaxBytesPerSecond(), desc.getStorageVerificationMaxBytesPerSecond(), 0);
         LdapUtils.storeDiffObject(ldapObj, mods, "dcmStorageClusterID",
                 prev.getStorageClusterID(), desc.getStorageClusterID(), null);
         LdapUtils.storeDiffObject(ldapObj, mods, "dcmStorageThreshold",
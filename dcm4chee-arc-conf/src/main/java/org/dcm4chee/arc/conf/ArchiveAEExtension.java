@@ -149,6 +149,7 @@ public class ArchiveAEExtension extends AEExtension {
     private Boolean retrieveTaskWarningOnNoMatch;
     private Boolean retrieveTaskWarningOnWarnings;
     private Boolean stowQuicktime2MP4;
+    private Integer stowThreads;
     private int[] rejectConflictingPatientAttribute = {};
     private MultipleStoreAssociations[] multipleStoreAssociations = {};
     private final LinkedHashSet<String> acceptedMoveDestinations = new LinkedHashSet<>();
@@ -1566,6 +1567,20 @@ public class ArchiveAEExtension extends AEExtension {
                 : getArchiveDeviceExtension().isStowQuicktime2MP4();
     }
 
+    public Integer getStowThreads() {
+        return stowThreads;
+    }
+
+    public void setStowThreads(Integer stowThreads) {
+        this.stowThreads = stowThreads;
+    }
+
+    public int stowThreads() {
+        return stowThreads != null
+                ? stowThreads
+                : getArchiveDeviceExtension().getStowThreads();
+    }
+
     @Override
     public void reconfigure(AEExtension from) {
         ArchiveAEExtension aeExt = (ArchiveAEExtension) from;
@@ -1659,6 +1674,7 @@ public class ArchiveAEExtension extends AEExtension {
         retrieveTaskWarningOnNoMatch = aeExt.retrieveTaskWarningOnNoMatch;
         retrieveTaskWarningOnWarnings = aeExt.retrieveTaskWarningOnWarnings;
         stowQuicktime2MP4 = aeExt.stowQuicktime2MP4;
+        stowThreads = aeExt.stowThreads;
         multipleStoreAssociations = aeExt.multipleStoreAssociations;
         acceptedMoveDestinations.clear();
         acceptedMoveDestinations.addAll(aeExt.acceptedMoveDestinations);
@@ -83,6 +83,8 @@ public class ArchiveDeviceExtension extends DeviceExtension {
     private volatile Duration seriesMetadataPollingInterval;
     private volatile int seriesMetadataFetchSize = 100;
     private volatile int seriesMetadataThreads = 1;
+    private volatile int seriesMetadataReadThreads = 1;
+    private volatile boolean seriesMetadataIncrementalUpdate;
     private volatile int seriesMetadataMaxRetries = 0;
     private volatile Duration seriesMetadataRetryInterval;
     private volatile boolean purgeInstanceRecords;
@@ -105,6 +107,9 @@ public class ArchiveDeviceExtension extends DeviceExtension {
     private volatile Duration sendPendingCMoveInterval;
     private volatile boolean personNameComponentOrderInsensitiveMatching = false;
     private volatile int queryFetchSize = 100;
+    private volatile int queryBufferSize = 0;
+    private volatile Duration queryAttributesPollingInterval;
+    private volatile int queryAttributesFetchSize = 100;
     private volatile int queryMaxNumberOfResults = 0;
     private volatile int qidoMaxNumberOfResults = 0;
     private volatile String wadoThumbnailViewPort = WADO_THUMBNAIL_VIEWPORT;
@@ -155,6 +160,7 @@ public class ArchiveDeviceExtension extends DeviceExtension {
     private volatile Duration maxAccessTimeStaleness;
     private volatile Duration aeCacheStaleTimeout;
     private volatile Duration leadingCFindSCPQueryCacheStaleTimeout;
+    private volatile Duration leadingCFindSCPQueryCacheNegativeStaleTimeout;
     private volatile int leadingCFindSCPQueryCacheSize = 10;
     private volatile String auditSpoolDirectory = JBOSS_SERVER_TEMP_DIR;
     private volatile Duration auditPollingInterval;
@@ -186,9 +192,23 @@ public class ArchiveDeviceExtension extends DeviceExtension {
     private volatile Duration storePermissionCacheStaleTimeout;
     private volatile int storePermissionCacheSize = 10;
     private volatile Duration mergeMWLCacheStaleTimeout;
+    private volatile Duration mergeMWLCacheNegativeStaleTimeout;
     private volatile int mergeMWLCacheSize = 10;
+    private volatile int attributesBlobCacheSize = 1000;
+    private volatile int retrieveCacheUpdateLocationsBatchSize = 100;
+    private volatile int retrieveCacheUpdateLocationsInterval = 1000;
+    private volatile int retrieveReadAhead = 0;
+    private volatile int uploadBufferPoolSize = 64;
+    private volatile boolean uploadBufferSpillToDisk;
+    private volatile QidoResultCount qidoResultCount = QidoResultCount.EXACT;
+    private volatile Duration qidoResultCountCacheStaleTimeout;
+    private volatile int qidoResultCountCacheSize = 100;
     private volatile int storeUpdateDBMaxRetries = 1;
     private volatile int storeUpdateDBMaxRetryDelay = 1000;
+    private volatile int storeUpdateDBGroupCommitSize = 1;
+    private volatile int storeUpdateDBGroupCommitWindow = 10;
+    private volatile int bulkDataSpoolMemoryPerObject = 0;
+    private volatile int bulkDataSpoolMemoryTotal = 64;
     private volatile int storeUpdateDBMinRetryDelay = 500;
     private volatile AllowRejectionForDataRetentionPolicyExpired allowRejectionForDataRetentionPolicyExpired =
             AllowRejectionForDataRetentionPolicyExpired.EXPIRED_UNSET;
@@ -280,6 +300,7 @@ public class ArchiveDeviceExtension extends DeviceExtension {
     private volatile boolean stowExcludeAPPMarkers;
     private volatile boolean restrictRetrieveSilently;
     private volatile boolean stowQuicktime2MP4;
+    private volatile int stowThreads = 1;
     private volatile MultipleStoreAssociations[] multipleStoreAssociations = {};
 
     private final HashSet<String> wadoSupportedSRClasses = new HashSet<>();
@@ -488,6 +509,22 @@ public class ArchiveDeviceExtension extends DeviceExtension {
         this.seriesMetadataThreads = seriesMetadataThreads;
     }
 
+    public int getSeriesMetadataReadThreads() {
+        return seriesMetadataReadThreads;
+    }
+
+    public void setSeriesMetadataReadThreads(int seriesMetadataReadThreads) {
+        this.seriesMetadataReadThreads = seriesMetadataReadThreads;
+    }
+
+    public boolean isSeriesMetadataIncrementalUpdate() {
+        return seriesMetadataIncrementalUpdate;
+    }
+
+    public void setSeriesMetadataIncrementalUpdate(boolean seriesMetadataIncrementalUpdate) {
+        this.seriesMetadataIncrementalUpdate = seriesMetadataIncrementalUpdate;
+    }
+
     public int getSeriesMetadataMaxRetries() {
         return seriesMetadataMaxRetries;
     }
@@ -892,6 +929,30 @@ public class ArchiveDeviceExtension extends DeviceExtension {
        this.queryFetchSize = greaterOrEqualsZero(queryFetchSize, "queryFetchSize");
     }
 
+    public int getQueryBufferSize() {
+        return queryBufferSize;
+    }
+
+    public void setQueryBufferSize(int queryBufferSize) {
+        this.queryBufferSize = greaterOrEqualsZero(queryBufferSize, "queryBufferSize");
+    }
+
+    public Duration getQueryAttributesPollingInterval() {
+        return queryAttributesPollingInterval;
+    }
+
+    public void setQueryAttributesPollingInterval(Duration queryAttributesPollingInterval) {
+        this.queryAttributesPollingInterval = queryAttributesPollingInterval;
+    }
+
+    public int getQueryAttributesFetchSize() {
+        return queryAttributesFetchSize;
+    }
+
+    public void setQueryAttributesFetchSize(int queryAttributesFetchSize) {
+        this.queryAttributesFetchSize = greaterZero(queryAttributesFetchSize, "queryAttributesFetchSize");
+    }
+
     public int getQueryMaxNumberOfResults() {
         return queryMaxNumberOfResults;
     }
@@ -1028,6 +1089,19 @@ public class ArchiveDeviceExtension extends DeviceExtension {
         return toSeconds(leadingCFindSCPQueryCacheStaleTimeout);
     }
 
+    public Duration getLeadingCFindSCPQueryCacheNegativeStaleTimeout() {
+        return leadingCFindSCPQueryCacheNegativeStaleTimeout;
+    }
+
+    public void setLeadingCFindSCPQueryCacheNegativeStaleTimeout(
+            Duration leadingCFindSCPQueryCacheNegativeStaleTimeout) {
+        this.leadingCFindSCPQueryCacheNegativeStaleTimeout = leadingCFindSCPQueryCacheNegativeStaleTimeout;
+    }
+
+    public int getLeadingCFindSCPQueryCacheNegativeStaleTimeoutSeconds() {
+        return toSeconds(leadingCFindSCPQueryCacheNegativeStaleTimeout);
+    }
+
     private static int toSeconds(Duration timeout) {
         return timeout != null ? (int) timeout.getSeconds() : 0;
     }
@@ -1271,6 +1345,18 @@ public class ArchiveDeviceExtension extends DeviceExtension {
         return toSeconds(mergeMWLCacheStaleTimeout);
     }
 
+    public Duration getMergeMWLCacheNegativeStaleTimeout() {
+        return mergeMWLCacheNegativeStaleTimeout;
+    }
+
+    public void setMergeMWLCacheNegativeStaleTimeout(Duration mergeMWLCacheNegativeStaleTimeout) {
+        this.mergeMWLCacheNegativeStaleTimeout = mergeMWLCacheNegativeStaleTimeout;
+    }
+
+    public int getMergeMWLCacheNegativeStaleTimeoutSeconds() {
+        return toSeconds(mergeMWLCacheNegativeStaleTimeout);
+    }
+
     public int getMergeMWLCacheSize() {
         return mergeMWLCacheSize;
     }
@@ -1279,6 +1365,84 @@ public class ArchiveDeviceExtension extends DeviceExtension {
         this.mergeMWLCacheSize = greaterZero(mergeMWLCacheSize, "mergeMWLCacheSize");
     }
 
+    public int getAttributesBlobCacheSize() {
+        return attributesBlobCacheSize;
+    }
+
+    public void setAttributesBlobCacheSize(int attributesBlobCacheSize) {
+        this.attributesBlobCacheSize = attributesBlobCacheSize;
+    }
+
+    public int getRetrieveCacheUpdateLocationsBatchSize() {
+        return retrieveCacheUpdateLocationsBatchSize;
+    }
+
+    public void setRetrieveCacheUpdateLocationsBatchSize(int retrieveCacheUpdateLocationsBatchSize) {
+        this.retrieveCacheUpdateLocationsBatchSize =
+                greaterZero(retrieveCacheUpdateLocationsBatchSize, "retrieveCacheUpdateLocationsBatchSize");
+    }
+
+    public int getRetrieveCacheUpdateLocationsInterval() {
+        return retrieveCacheUpdateLocationsInterval;
+    }
+
+    public void setRetrieveCacheUpdateLocationsInterval(int retrieveCacheUpdateLocationsInterval) {
+        this.retrieveCacheUpdateLocationsInterval =
+                greaterZero(retrieveCacheUpdateLocationsInterval, "retrieveCacheUpdateLocationsInterval");
+    }
+
+    public int getRetrieveReadAhead() {
+        return retrieveReadAhead;
+    }
+
+    public void setRetrieveReadAhead(int retrieveReadAhead) {
+        this.retrieveReadAhead = greaterOrEqualsZero(retrieveReadAhead, "retrieveReadAhead");
+    }
+
+    public int getUploadBufferPoolSize() {
+        return uploadBufferPoolSize;
+    }
+
+    public void setUploadBufferPoolSize(int uploadBufferPoolSize) {
+        this.uploadBufferPoolSize = uploadBufferPoolSize;
+    }
+
+    public boolean isUploadBufferSpillToDisk() {
+        return uploadBufferSpillToDisk;
+    }
+
+    public void setUploadBufferSpillToDisk(boolean uploadBufferSpillToDisk) {
+        this.uploadBufferSpillToDisk = uploadBufferSpillToDisk;
+    }
+
+    public QidoResultCount getQidoResultCount() {
+        return qidoResultCount;
+    }
+
+    public void setQidoResultCount(QidoResultCount qidoResultCount) {
+        this.qidoResultCount = qidoResultCount;
+    }
+
+    public Duration getQidoResultCountCacheStaleTimeout() {
+        return qidoResultCountCacheStaleTimeout;
+    }
+
+    public void setQidoResultCountCacheStaleTimeout(Duration qidoResultCountCacheStaleTimeout) {
+        this.qidoResultCountCacheStaleTimeout = qidoResultCountCacheStaleTimeout;
+    }
+
+    public int getQidoResultCountCacheStaleTimeoutSeconds() {
+        return toSeconds(qidoResultCountCacheStaleTimeout);
+    }
+
+    public int getQidoResultCountCacheSize() {
+        return qidoResultCountCacheSize;
+    }
+
+    public void setQidoResultCountCacheSize(int qidoResultCountCacheSize) {
+        this.qidoResultCountCacheSize = greaterZero(qidoResultCountCacheSize, "qidoResultCountCacheSize");
+    }
+
     public int getStoreUpdateDBMaxRetries() {
         return storeUpdateDBMaxRetries;
     }
@@ -1295,6 +1459,40 @@ public class ArchiveDeviceExtension extends DeviceExtension {
         this.storeUpdateDBMaxRetryDelay = storeUpdateDBMaxRetryDelay;
     }
 
+    public int getStoreUpdateDBGroupCommitSize() {
+        return storeUpdateDBGroupCommitSize;
+    }
+
+    public void setStoreUpdateDBGroupCommitSize(int storeUpdateDBGroupCommitSize) {
+        this.storeUpdateDBGroupCommitSize = greaterZero(storeUpdateDBGroupCommitSize, "storeUpdateDBGroupCommitSize");
+    }
+
+    public int getStoreUpdateDBGroupCommitWindow() {
+        return storeUpdateDBGroupCommitWindow;
+    }
+
+    public void setStoreUpdateDBGroupCommitWindow(int storeUpdateDBGroupCommitWindow) {
+        this.storeUpdateDBGroupCommitWindow =
+                greaterOrEqualsZero(storeUpdateDBGroupCommitWindow, "storeUpdateDBGroupCommitWindow");
+    }
+
+    public int getBulkDataSpoolMemoryPerObject() {
+        return bulkDataSpoolMemoryPerObject;
+    }
+
+    public void setBulkDataSpoolMemoryPerObject(int bulkDataSpoolMemoryPerObject) {
+        this.bulkDataSpoolMemoryPerObject =
+                greaterOrEqualsZero(bulkDataSpoolMemoryPerObject, "bulkDataSpoolMemoryPerObject");
+    }
+
+    public int getBulkDataSpoolMemoryTotal() {
+        return bulkDataSpoolMemoryTotal;
+    }
+
+    public void setBulkDataSpoolMemoryTotal(int bulkDataSpoolMemoryTotal) {
+        this.bulkDataSpoolMemoryTotal = greaterZero(bulkDataSpoolMemoryTotal, "bulkDataSpoolMemoryTotal");
+    }
+
     public int getStoreUpdateDBMinRetryDelay() {
         return storeUpdateDBMinRetryDelay;
     }
@@ -2855,6 +3053,14 @@ public class ArchiveDeviceExtension extends DeviceExtension {
         this.stowQuicktime2MP4 = stowQuicktime2MP4;
     }
 
+    public int getStowThreads() {
+        return stowThreads;
+    }
+
+    public void setStowThreads(int stowThreads) {
+        this.stowThreads = greaterZero(stowThreads, "stowThreads");
+    }
+
     public Duration getMWLPollingInterval() {
         return mwlPollingInterval;
     }
@@ -2894,6 +3100,8 @@ public class ArchiveDeviceExtension extends DeviceExtension {
         seriesMetadataPollingInterval = arcdev.seriesMetadataPollingInterval;
         seriesMetadataFetchSize = arcdev.seriesMetadataFetchSize;
         seriesMetadataThreads = arcdev.seriesMetadataThreads;
+        seriesMetadataReadThreads = arcdev.seriesMetadataReadThreads;
+        seriesMetadataIncrementalUpdate = arcdev.seriesMetadataIncrementalUpdate;
         seriesMetadataRetryInterval = arcdev.seriesMetadataRetryInterval;
         purgeInstanceRecords = arcdev.purgeInstanceRecords;
         purgeInstanceRecordsDelay = arcdev.purgeInstanceRecordsDelay;
@@ -2928,6 +3136,9 @@ public class ArchiveDeviceExtension extends DeviceExtension {
         scheduleProcedureTemplateURI = arcdev.scheduleProcedureTemplateURI;
         outgoingPatientUpdateTemplateURI = arcdev.outgoingPatientUpdateTemplateURI;
         queryFetchSize = arcdev.queryFetchSize;
+        queryBufferSize = arcdev.queryBufferSize;
+        queryAttributesPollingInterval = arcdev.queryAttributesPollingInterval;
+        queryAttributesFetchSize = arcdev.queryAttributesFetchSize;
         queryMaxNumberOfResults = arcdev.queryMaxNumberOfResults;
         qidoMaxNumberOfResults = arcdev.qidoMaxNumberOfResults;
         queryRetrieveViewMap.clear();
@@ -2970,6 +3181,7 @@ public class ArchiveDeviceExtension extends DeviceExtension {
         maxAccessTimeStaleness = arcdev.maxAccessTimeStaleness;
         aeCacheStaleTimeout = arcdev.aeCacheStaleTimeout;
         leadingCFindSCPQueryCacheStaleTimeout = arcdev.leadingCFindSCPQueryCacheStaleTimeout;
+        leadingCFindSCPQueryCacheNegativeStaleTimeout = arcdev.leadingCFindSCPQueryCacheNegativeStaleTimeout;
         leadingCFindSCPQueryCacheSize = arcdev.leadingCFindSCPQueryCacheSize;
         auditSpoolDirectory = arcdev.auditSpoolDirectory;
         auditPollingInterval = arcdev.auditPollingInterval;
@@ -2998,9 +3210,23 @@ public class ArchiveDeviceExtension extends DeviceExtension {
         storePermissionCacheStaleTimeout = arcdev.storePermissionCacheStaleTimeout;
         storePermissionCacheSize = arcdev.storePermissionCacheSize;
         mergeMWLCacheStaleTimeout = arcdev.mergeMWLCacheStaleTimeout;
+        mergeMWLCacheNegativeStaleTimeout = arcdev.mergeMWLCacheNegativeStaleTimeout;
         mergeMWLCacheSize = arcdev.mergeMWLCacheSize;
+        attributesBlobCacheSize = arcdev.attributesBlobCacheSize;
+        retrieveCacheUpdateLocationsBatchSize = arcdev.retrieveCacheUpdateLocationsBatchSize;
+        retrieveCacheUpdateLocationsInterval = arcdev.retrieveCacheUpdateLocationsInterval;
+        retrieveReadAhead = arcdev.retrieveReadAhead;
+        uploadBufferPoolSize = arcdev.uploadBufferPoolSize;
+        uploadBufferSpillToDisk = arcdev.uploadBufferSpillToDisk;
+        qidoResultCount = arcdev.qidoResultCount;
+        qidoResultCountCacheStaleTimeout = arcdev.qidoResultCountCacheStaleTimeout;
+        qidoResultCountCacheSize = arcdev.qidoResultCountCacheSize;
         storeUpdateDBMaxRetries = arcdev.storeUpdateDBMaxRetries;
         storeUpdateDBMaxRetryDelay = arcdev.storeUpdateDBMaxRetryDelay;
+        storeUpdateDBGroupCommitSize = arcdev.storeUpdateDBGroupCommitSize;
+        storeUpdateDBGroupCommitWindow = arcdev.storeUpdateDBGroupCommitWindow;
+        bulkDataSpoolMemoryPerObject = arcdev.bulkDataSpoolMemoryPerObject;
+        bulkDataSpoolMemoryTotal = arcdev.bulkDataSpoolMemoryTotal;
         storeUpdateDBMinRetryDelay = arcdev.storeUpdateDBMinRetryDelay;
         allowRejectionForDataRetentionPolicyExpired = arcdev.allowRejectionForDataRetentionPolicyExpired;
         acceptMissingPatientID = arcdev.acceptMissingPatientID;
@@ -3088,6 +3314,7 @@ public class ArchiveDeviceExtension extends DeviceExtension {
         stowExcludeAPPMarkers = arcdev.stowExcludeAPPMarkers;
         restrictRetrieveSilently = arcdev.restrictRetrieveSilently;
         stowQuicktime2MP4 = arcdev.stowQuicktime2MP4;
+        stowThreads = arcdev.stowThreads;
         multipleStoreAssociations = arcdev.multipleStoreAssociations;
         mwlPollingInterval = arcdev.mwlPollingInterval;
         mwlFetchSize = arcdev.mwlFetchSize;
@@ -68,6 +68,8 @@ public final class StorageDescriptor {
     private String retrieveCacheStorageID;
     private int retrieveCacheStorageMaxParallel = 10;
     private int deleterThreads = 1;
+    private int storageVerificationThreads = 1;
+    private int storageVerificationMaxBytesPerSecond;
     private String[] externalRetrieveAETitles = {};
     private boolean readOnly;
     private boolean noDeletionConstraint;
@@ -193,6 +195,22 @@ public final class StorageDescriptor {
         this.deleterThreads = deleterThreads;
     }
 
+    public int getStorageVerificationThreads() {
+        return storageVerificationThreads;
+    }
+
+    public void setStorageVerificationThreads(int storageVerificationThreads) {
+        this.storageVerificationThreads = storageVerificationThreads;
+    }
+
+    public int getStorageVerificationMaxBytesPerSecond() {
+        return storageVerificationMaxBytesPerSecond;
+    }
+
+    public void setStorageVerificationMaxBytesPerSecond(int storageVerificationMaxBytesPerSecond) {
+        this.storageVerificationMaxBytesPerSecond = storageVerificationMaxBytesPerSecond;
+    }
+
     public boolean isReadOnly() {
         return readOnly;
     }
@@ -67,6 +67,7 @@ import javax.jms.JMSRuntimeException;
 import javax.jms.Message;
 import javax.jms.ObjectMessage;
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.*;
@@ -90,6 +91,9 @@ public class DeletionServiceEJB {
 
     public static final int MAX_LOCATIONS_PER_INSTANCE = 3;
 
+    // maximal number of expressions in a list supported by Oracle - ORA-01795
+    private static final int MAX_PKS_PER_QUERY = 1000;
+
     @PersistenceContext(unitName = "dcm4chee-arc")
     private EntityManager em;
 
@@ -214,6 +218,25 @@ public class DeletionServiceEJB {
                 .executeUpdate() > 0;
     }
 
+    public List<Long> claimDeleteObjects(Collection<Long> locationPks) {
+        List<Long> claimed = new ArrayList<>(locationPks.size());
+        for (List<Long> pks : chunks(locationPks)) {
+            List<Long> claimedPks = em.createNamedQuery(Location.FIND_PKS_BY_PKS_AND_STATUS, Long.class)
+                    .setParameter(1, pks)
+                    .setParameter(2, Location.Status.TO_DELETE)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+            if (!claimedPks.isEmpty())
+                em.createNamedQuery(Location.UPDATE_STATUS_FROM_BY_PKS)
+                        .setParameter(1, claimedPks)
+                        .setParameter(2, Location.Status.TO_DELETE)
+                        .setParameter(3, Location.Status.FAILED_TO_DELETE)
+                        .executeUpdate();
+            claimed.addAll(claimedPks);
+        }
+        return claimed;
+    }
+
     public boolean claimResolveFailedToDelete(Location location) {
         return em.createNamedQuery(Location.UPDATE_STATUS_FROM)
                 .setParameter(1, location.getPk())
@@ -260,6 +283,25 @@ public class DeletionServiceEJB {
                 .executeUpdate() > 0;
     }
 
+    public List<Long> claimDeleteMetadata(Collection<Long> metadataPks) {
+        List<Long> claimed = new ArrayList<>(metadataPks.size());
+        for (List<Long> pks : chunks(metadataPks)) {
+            List<Long> claimedPks = em.createNamedQuery(Metadata.FIND_PKS_BY_PKS_AND_STATUS, Long.class)
+                    .setParameter(1, pks)
+                    .setParameter(2, Metadata.Status.TO_DELETE)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+            if (!claimedPks.isEmpty())
+                em.createNamedQuery(Metadata.UPDATE_STATUS_FROM_BY_PKS)
+                        .setParameter(1, claimedPks)
+                        .setParameter(2, Metadata.Status.TO_DELETE)
+                        .setParameter(3, Metadata.Status.FAILED_TO_DELETE)
+                        .executeUpdate();
+            claimed.addAll(claimedPks);
+        }
+        return claimed;
+    }
+
     public boolean claimResolveFailedToDeleteMetadata(Metadata metadata) {
         return em.createNamedQuery(Metadata.UPDATE_STATUS_FROM)
                 .setParameter(1, metadata.getPk())
@@ -274,12 +316,37 @@ public class DeletionServiceEJB {
                 .executeUpdate();
     }
 
+    public void removeLocations(Collection<Long> locationPks) {
+        for (List<Long> pks : chunks(locationPks))
+            em.createNamedQuery(Location.DELETE_BY_PKS)
+                    .setParameter(1, pks)
+                    .executeUpdate();
+    }
+
     public void removeMetadata(Metadata metadata) {
         em.createNamedQuery(Metadata.DELETE_BY_PK)
                 .setParameter(1, metadata.getPk())
                 .executeUpdate();
     }
 
+    public void removeMetadata(Collection<Long> metadataPks) {
+        for (List<Long> pks : chunks(metadataPks))
+            em.createNamedQuery(Metadata.DELETE_BY_PKS)
+                    .setParameter(1, pks)
+                    .executeUpdate();
+    }
+
+    static List<List<Long>> chunks(Collection<Long> pks) {
+        List<Long> list = pks instanceof List ? (List<Long>) pks : new ArrayList<>(pks);
+        if (list.size() <= MAX_PKS_PER_QUERY)
+            return Collections.singletonList(list);
+
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += MAX_PKS_PER_QUERY)
+            chunks.add(list.subList(from, Math.min(from + MAX_PKS_PER_QUERY, list.size())));
+        return chunks;
+    }
+
     public int deleteStudy(StudyDeleteContext ctx, int limit) {
         Long studyPk = ctx.getStudyPk();
         LOG.debug("Query for objects of Study[pk={}]", studyPk);
@@ -68,8 +68,8 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
 import java.util.zip.ZipInputStream;
 
 /**
@@ -409,55 +409,26 @@ public class PurgeStorageScheduler extends Scheduler {
                 break;
             }
             LOG.info("Start deleting {} Metadata from {}", metadataList.size(), desc);
-            AtomicInteger success = new AtomicInteger();
-            AtomicInteger skipped = new AtomicInteger();
-            int deleteThreads = desc.getDeleterThreads();
-            Semaphore semaphore = deleteThreads > 1 ? new Semaphore(deleteThreads) : null;
+            Map<Long, String> claimed = Collections.emptyMap();
+            int success = 0;
             try (Storage storage = storageFactory.getStorage(desc)) {
-                for (Metadata metadata : metadataList) {
-                    if (semaphore == null) {
-                        deleteSeriesMetadata(storage, metadata, success, skipped);
-                    } else {
-                        semaphore.acquire();
-                        device.execute(() -> {
-                            try {
-                                deleteSeriesMetadata(storage, metadata, success, skipped);
-                            } finally {
-                                semaphore.release();
-                            }
-                        });
-                    }
-                }
-                if (semaphore != null) {
-                    LOG.debug("Waiting for finishing deleting {} Metadata from {}", metadataList.size(), desc);
-                    semaphore.acquire(deleteThreads);
-                    semaphore.release(deleteThreads);
+                claimed = metadataList.stream().collect(
+                        Collectors.toMap(Metadata::getPk, Metadata::getStoragePath, (a, b) -> a, HashMap::new));
+                claimed.keySet().retainAll(ejb.claimDeleteMetadata(new ArrayList<>(claimed.keySet())));
+                List<Long> deleted = deleteObjects(storage, claimed, desc.getDeleterThreads());
+                if (!deleted.isEmpty()) {
+                    ejb.removeMetadata(deleted);
+                    success = deleted.size();
                 }
             } catch (Exception e) {
                 LOG.warn("Failed to access {}", desc, e);
             } finally {
                 LOG.info("Finished deleting {} (skipped={}, failed={}) Metadata from {}",
-                        success, skipped, metadataList.size() - success.get() - skipped.get(), desc);
+                        success, metadataList.size() - claimed.size(), claimed.size() - success, desc);
             }
         } while (metadataList.size() == fetchSize);
     }
 
-    private void deleteSeriesMetadata(Storage storage, Metadata metadata, AtomicInteger success,
-                                      AtomicInteger skipped) {
-        try {
-            if (ejb.claimDeleteMetadata(metadata)) {
-                storage.deleteObject(metadata.getStoragePath());
-                ejb.removeMetadata(metadata);
-                LOG.debug("Successfully delete {} from {}", metadata, storage);
-                success.getAndIncrement();
-            } else {
-                skipped.getAndIncrement();
-            }
-        } catch (Exception e) {
-            LOG.warn("Failed to delete {} from {}", metadata, storage, e);
-        }
-    }
-
     private void deleteObjectsFromStorage(ArchiveDeviceExtension arcDev, StorageDescriptor desc) {
         List<Location> locations;
         int fetchSize = arcDev.getPurgeStorageFetchSize();
@@ -471,51 +442,77 @@ public class PurgeStorageScheduler extends Scheduler {
             }
 
             LOG.info("Start deleting {} objects from {}", locations.size(), desc);
-            int deleteThreads = desc.getDeleterThreads();
-            Semaphore semaphore = deleteThreads > 1 ? new Semaphore(deleteThreads) : null;
-            AtomicInteger success = new AtomicInteger();
-            AtomicInteger skipped = new AtomicInteger();
+            Map<Long, String> claimed = Collections.emptyMap();
+            int success = 0;
             try (Storage storage = storageFactory.getStorage(desc)) {
-                for (Location location : locations) {
-                    if (semaphore == null) {
-                        deleteLocation(storage, location, success, skipped);
-                    } else {
-                        semaphore.acquire();
-                        device.execute(() -> {
-                            try {
-                                deleteLocation(storage, location, success, skipped);
-                            } finally {
-                                semaphore.release();
-                            }
-                        });
-                    }
-                }
-                if (semaphore != null) {
-                    LOG.debug("Waiting for finishing deleting {} objects from {}", locations.size(), desc);
-                    semaphore.acquire(deleteThreads);
-                    semaphore.release(deleteThreads);
+                claimed = locations.stream().collect(
+                        Collectors.toMap(Location::getPk, Location::getStoragePath, (a, b) -> a, HashMap::new));
+                claimed.keySet().retainAll(ejb.claimDeleteObjects(new ArrayList<>(claimed.keySet())));
+                List<Long> deleted = deleteObjects(storage, claimed, desc.getDeleterThreads());
+                if (!deleted.isEmpty()) {
+                    ejb.removeLocations(deleted);
+                    success = deleted.size();
                 }
             } catch (Exception e) {
                 LOG.warn("Failed to access {}", desc, e);
             } finally {
                 LOG.info("Finished deleting {} (skipped={}, failed={}) objects from {}",
-                        success, skipped, locations.size() - success.get() - skipped.get(), desc);
+                        success, locations.size() - claimed.size(), claimed.size() - success, desc);
             }
         } while (locations.size() == fetchSize);
     }
 
-    private void deleteLocation(Storage storage, Location location, AtomicInteger success, AtomicInteger skipped) {
+    /**
+     * Deletes the objects with the specified storage paths by up to {@code deleteThreads} threads, each deleting a
+     * slice of the objects by one call of {@link Storage#deleteObjects}.
+     *
+     * @return primary keys of the deleted objects
+     */
+    private List<Long> deleteObjects(Storage storage, Map<Long, String> storagePaths, int deleteThreads)
+            throws InterruptedException {
+        List<Map.Entry<Long, String>> entries = new ArrayList<>(storagePaths.entrySet());
+        List<Long> deleted = Collections.synchronizedList(new ArrayList<>(entries.size()));
+        int slices = Math.min(deleteThreads, entries.size());
+        if (slices <= 1) {
+            deleteObjects(storage, entries, deleted);
+            return deleted;
+        }
+        Semaphore finished = new Semaphore(0);
+        for (int i = 0; i < slices; i++) {
+            List<Map.Entry<Long, String>> slice =
+                    entries.subList(i * entries.size() / slices, (i + 1) * entries.size() / slices);
+            device.execute(() -> {
+                try {
+                    deleteObjects(storage, slice, deleted);
+                } finally {
+                    finished.release();
+                }
+            });
+        }
+        LOG.debug("Waiting for finishing deleting {} objects from {}", entries.size(), storage);
+        finished.acquire(slices);
+        return deleted;
+    }
+
+    private static void deleteObjects(Storage storage, List<Map.Entry<Long, String>> entries, List<Long> deleted) {
+        Set<String> storagePaths = new LinkedHashSet<>();
+        for (Map.Entry<Long, String> entry : entries)
+            storagePaths.add(entry.getValue());
+        Map<String, IOException> failures;
         try {
-            if (ejb.claimDeleteObject(location)) {
-                storage.deleteObject(location.getStoragePath());
-                ejb.removeLocation(location);
-                LOG.debug("Successfully delete {} from {}", location, storage);
-                success.getAndIncrement();
+            failures = storage.deleteObjects(storagePaths);
+        } catch (Exception e) {
+            LOG.warn("Failed to delete {} objects from {}", storagePaths.size(), storage, e);
+            return;
+        }
+        for (Map.Entry<Long, String> entry : entries) {
+            IOException e = failures.get(entry.getValue());
+            if (e != null) {
+                LOG.warn("Failed to delete {} from {}", entry.getValue(), storage, e);
             } else {
-                skipped.getAndIncrement();
+                LOG.debug("Successfully delete {} from {}", entry.getValue(), storage);
+                deleted.add(entry.getKey());
             }
-        } catch (Exception e) {
-            LOG.warn("Failed to delete {} from {}", location, storage, e);
         }
     }
 
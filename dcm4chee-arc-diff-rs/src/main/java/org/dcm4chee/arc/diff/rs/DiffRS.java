@@ -150,6 +150,10 @@ public class DiffRS {
     @Pattern(regexp = "true|false")
     private String forceQueryByStudyUID;
 
+    @QueryParam("HashJoin")
+    @Pattern(regexp = "true|false")
+    private String hashJoin;
+
     @QueryParam("SplitStudyDateRange")
     @ValidValueOf(type = Duration.class)
     private String splitStudyDateRange;
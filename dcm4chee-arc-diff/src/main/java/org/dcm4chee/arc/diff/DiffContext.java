@@ -72,6 +72,7 @@ public class DiffContext {
     private Duration splitStudyDateRange;
     private int priority;
     private boolean forceQueryByStudyUID;
+    private boolean hashJoin;
     private boolean fuzzymatching;
     private boolean checkMissing;
     private boolean checkDifferent;
@@ -129,6 +130,7 @@ public class DiffContext {
         this.queryString = queryString;
         this.queryAttributes = new QueryAttributes(queryParameters, null);
         this.forceQueryByStudyUID = parseBoolean(queryParameters.getFirst("ForceQueryByStudyUID"), false);
+        this.hashJoin = parseBoolean(queryParameters.getFirst("HashJoin"), false);
         this.splitStudyDateRange = parseDuration(queryParameters.getFirst("SplitStudyDateRange"));
         this.compareKeys = parseComparefields(queryParameters.get("comparefield"));
         this.priority = parseInt(queryParameters.getFirst("priority"), 0);
@@ -147,6 +149,10 @@ public class DiffContext {
         return forceQueryByStudyUID;
     }
 
+    public boolean isHashJoin() {
+        return hashJoin;
+    }
+
     public Duration getSplitStudyDateRange() {
         return splitStudyDateRange;
     }
@@ -183,7 +189,11 @@ public class DiffContext {
         return batchID;
     }
 
-    public boolean supportSorting() {
+    /**
+     * Adds the compared attributes to the return keys of the query and initializes the return keys for querying
+     * single Studies, returned by {@link #getReturnKeys()}.
+     */
+    public void initReturnKeys() {
         if (compareKeys == null)
             throw new IllegalStateException("compareKeys not initialized");
 
@@ -198,10 +208,20 @@ public class DiffContext {
         Attributes keys = queryAttributes.getQueryKeys();
         returnKeys = keys.tags();
         keys.setString(Tag.QueryRetrieveLevel, VR.CS, "STUDY");
+    }
+
+    /**
+     * Initializes the return keys as {@link #initReturnKeys()} and requests sorting of matches by Study Instance UID,
+     * if both C-FIND SCPs support it.
+     *
+     * @return {@code true}, if both C-FIND SCPs support sorting of matches
+     */
+    public boolean supportSorting() {
+        initReturnKeys();
         if (hasArchiveAEExtension(primaryAE) && hasArchiveAEExtension(secondaryAE)) {
             Attributes item = new Attributes(1);
             item.setInt(Tag.SelectorAttribute,  VR.AT, Tag.StudyInstanceUID);
-            keys.newSequence(Tag.SortingOperationsSequence, 1).add(item);
+            queryAttributes.getQueryKeys().newSequence(Tag.SortingOperationsSequence, 1).add(item);
             return true;
         }
         return false;
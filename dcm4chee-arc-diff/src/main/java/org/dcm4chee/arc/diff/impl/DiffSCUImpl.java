@@ -42,6 +42,7 @@
 package org.dcm4chee.arc.diff.impl;
 
 import org.dcm4che3.data.*;
+import org.dcm4che3.io.DicomOutputStream;
 import org.dcm4che3.net.Association;
 import org.dcm4che3.net.DimseRSP;
 import org.dcm4che3.net.QueryOption;
@@ -54,7 +55,11 @@ import org.dcm4chee.arc.query.scu.CFindSCU;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.List;
@@ -74,6 +79,8 @@ public class DiffSCUImpl implements DiffSCU {
     private Association as2;
     private DimseRSP dimseRSP;
     private DimseRSP dimseRSP2;
+    private StudyDigests others;
+    private int[] sortedCompareKeys;
     private int missing;
     private int different;
     private int matches;
@@ -93,7 +100,10 @@ public class DiffSCUImpl implements DiffSCU {
                 UID.StudyRootQueryRetrieveInformationModelFIND, queryOptions);
         as2 = findSCU.openAssociation(ctx.getLocalAE(), ctx.getSecondaryAE().getAETitle(),
                 UID.StudyRootQueryRetrieveInformationModelFIND, queryOptions);
-        if (!ctx.isForceQueryByStudyUID() && ctx.supportSorting()) {
+        if (ctx.isHashJoin()) {
+            ctx.initReturnKeys();
+            others = loadOthers();
+        } else if (!ctx.isForceQueryByStudyUID() && ctx.supportSorting()) {
             dimseRSP2 = findSCU.query(as2, ctx.priority(), ctx.getQueryKeys(), 0, 1, ctx.getSplitStudyDateRange());
             dimseRSP2.next();
             checkRSP(dimseRSP2);
@@ -109,7 +119,7 @@ public class DiffSCUImpl implements DiffSCU {
             Attributes match = dimseRSP.getDataset();
             if (match != null) {
                 matches++;
-                Attributes other = findOther(match.getString(Tag.StudyInstanceUID));
+                Attributes other = findOther(match);
                 if (other == null)
                     missing++;
                 else if (other.diff(match, ctx.getCompareKeys(),null) > 0)
@@ -126,7 +136,7 @@ public class DiffSCUImpl implements DiffSCU {
             next = dimseRSP.next();
             if (match != null) {
                 matches++;
-                Attributes other = findOther(match.getString(Tag.StudyInstanceUID));
+                Attributes other = findOther(match);
                 if (other == null) {
                     if (ctx.isCheckMissing()) {
                         missing++;
@@ -229,8 +239,65 @@ public class DiffSCUImpl implements DiffSCU {
             }
     }
 
-    private Attributes findOther(String studyIUID) throws Exception {
-        if (dimseRSP2 != null) {
+    private StudyDigests loadOthers() throws Exception {
+        StudyDigests digests = new StudyDigests();
+        DimseRSP rsp = findSCU.query(as2, ctx.priority(), ctx.getQueryKeys(), 0, 1, ctx.getSplitStudyDateRange());
+        dimseRSP2 = rsp;
+        try {
+            rsp.next();
+            checkRSP(rsp);
+            do {
+                if (canceled) {
+                    // cancel() may have been invoked before the C-FIND was sent, so cancel it again and consume
+                    // its remaining responses to keep the association usable
+                    safeCancel(as2, rsp);
+                    waitForOutstandingRSP(as2, rsp);
+                    return digests;
+                }
+                Attributes other = rsp.getDataset();
+                if (other != null)
+                    digests.put(other.getString(Tag.StudyInstanceUID), digestOf(other));
+            } while (rsp.next());
+            checkRSP(rsp);
+        } finally {
+            dimseRSP2 = null;
+        }
+        LOG.info("{}: Loaded {} matching Studies from {}", as2, digests.size(), ctx.getSecondaryAE().getAETitle());
+        return digests;
+    }
+
+    private long digestOf(Attributes attrs) throws IOException {
+        if (sortedCompareKeys == null) {
+            sortedCompareKeys = ctx.getCompareKeys().clone();
+            Arrays.sort(sortedCompareKeys);
+        }
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (DicomOutputStream dos = new DicomOutputStream(bout, UID.ExplicitVRLittleEndian)) {
+            dos.writeDataset(null, new Attributes(attrs, sortedCompareKeys));
+        }
+        byte[] md5;
+        try {
+            md5 = MessageDigest.getInstance("MD5").digest(bout.toByteArray());
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+        long digest = 0L;
+        for (int i = 0; i < 8; i++)
+            digest = (digest << 8) | (md5[i] & 0xff);
+        return digest;
+    }
+
+    private Attributes findOther(Attributes match) throws Exception {
+        String studyIUID = match.getString(Tag.StudyInstanceUID);
+        if (others != null) {
+            switch (others.lookup(studyIUID, digestOf(match))) {
+                case StudyDigests.MISSING:
+                    return null;
+                case StudyDigests.EQUAL:
+                    // compared attributes are equal, so there is no need to query the secondary C-FIND SCP
+                    return match;
+            }
+        } else if (dimseRSP2 != null) {
             do {
                 Attributes other = dimseRSP2.getDataset();
                 if (other == null) break;
@@ -0,0 +1,176 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2015-2018
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4chee.arc.diff.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Open addressing hash table in direct memory mapping Study Instance UIDs to the digest of the compared attributes
+ * of the Study, with a fixed size slot of 80 bytes per entry.
+ * <p>
+ * The table is kept at most half full and doubles its capacity when that is reached, so it takes 160 to 320 bytes
+ * of direct memory per Study - e.g. 1.3 GB for 5 million Studies. While growing, the old and the new table coexist,
+ * which raises the peak to 1.5 times the size of the new table. Direct memory is limited by JVM option
+ * {@code -XX:MaxDirectMemorySize}, which defaults to the maximal heap size; if it does not suffice, adding further
+ * Studies fails with an {@link IllegalStateException}.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+class StudyDigests {
+
+    static final int MISSING = 0;
+    static final int EQUAL = 1;
+    static final int DIFFERENT = 2;
+
+    private static final int MAX_UID_LENGTH = 64;
+    private static final int SLOT_SIZE = 80;
+    private static final int DIGEST_OFFSET = 72;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE / SLOT_SIZE;
+
+    private ByteBuffer slots = ByteBuffer.allocateDirect(INITIAL_CAPACITY * SLOT_SIZE);
+    private int capacity = INITIAL_CAPACITY;
+    private int size;
+    private final Map<String, Long> invalidUIDs = new HashMap<>();
+
+    public int size() {
+        return size + invalidUIDs.size();
+    }
+
+    public void put(String uid, long digest) {
+        byte[] b = uid.getBytes(StandardCharsets.US_ASCII);
+        if (b.length == 0 || b.length > MAX_UID_LENGTH) {
+            invalidUIDs.put(uid, digest);
+            return;
+        }
+        if (size >= capacity >> 1)
+            grow();
+        int slot = find(slots, capacity, b);
+        if (slots.get(slot * SLOT_SIZE) == 0) {
+            write(slots, slot, b);
+            size++;
+        }
+        slots.putLong(slot * SLOT_SIZE + DIGEST_OFFSET, digest);
+    }
+
+    public int lookup(String uid, long digest) {
+        byte[] b = uid.getBytes(StandardCharsets.US_ASCII);
+        if (b.length == 0 || b.length > MAX_UID_LENGTH) {
+            Long other = invalidUIDs.get(uid);
+            return other == null ? MISSING : other == digest ? EQUAL : DIFFERENT;
+        }
+        int slot = find(slots, capacity, b);
+        if (slots.get(slot * SLOT_SIZE) == 0)
+            return MISSING;
+
+        return slots.getLong(slot * SLOT_SIZE + DIGEST_OFFSET) == digest ? EQUAL : DIFFERENT;
+    }
+
+    private void grow() {
+        if (capacity >= MAX_CAPACITY >> 1)
+            throw new IllegalStateException("Number of Studies exceeds " + size);
+
+        int newCapacity = capacity << 1;
+        ByteBuffer newSlots;
+        try {
+            newSlots = ByteBuffer.allocateDirect(newCapacity * SLOT_SIZE);
+        } catch (OutOfMemoryError e) {
+            throw new IllegalStateException("Insufficient direct memory for " + newCapacity * SLOT_SIZE
+                    + " bytes to compare more than " + size + " Studies - increase -XX:MaxDirectMemorySize", e);
+        }
+        byte[] b = new byte[MAX_UID_LENGTH];
+        for (int slot = 0; slot < capacity; slot++) {
+            int pos = slot * SLOT_SIZE;
+            int length = slots.get(pos);
+            if (length == 0)
+                continue;
+
+            for (int i = 0; i < length; i++)
+                b[i] = slots.get(pos + 1 + i);
+            byte[] uid = Arrays.copyOf(b, length);
+            int newSlot = find(newSlots, newCapacity, uid);
+            write(newSlots, newSlot, uid);
+            newSlots.putLong(newSlot * SLOT_SIZE + DIGEST_OFFSET, slots.getLong(pos + DIGEST_OFFSET));
+        }
+        slots = newSlots;
+        capacity = newCapacity;
+    }
+
+    private static int find(ByteBuffer slots, int capacity, byte[] uid) {
+        int mask = capacity - 1;
+        int slot = hash(uid) & mask;
+        while (slots.get(slot * SLOT_SIZE) != 0 && !equals(slots, slot, uid))
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private static boolean equals(ByteBuffer slots, int slot, byte[] uid) {
+        int pos = slot * SLOT_SIZE;
+        if (slots.get(pos) != uid.length)
+            return false;
+
+        for (int i = 0; i < uid.length; i++)
+            if (slots.get(pos + 1 + i) != uid[i])
+                return false;
+
+        return true;
+    }
+
+    private static void write(ByteBuffer slots, int slot, byte[] uid) {
+        int pos = slot * SLOT_SIZE;
+        slots.put(pos, (byte) uid.length);
+        for (int i = 0; i < uid.length; i++)
+            slots.put(pos + 1 + i, uid[i]);
+    }
+
+    private static int hash(byte[] uid) {
+        int h = 0;
+        for (byte b : uid)
+            h = 31 * h + b;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2017-2019
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.diff.impl;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.ElementDictionary;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.net.*;
+import org.dcm4che3.net.pdu.AAssociateRQ;
+import org.dcm4che3.net.pdu.PresentationContext;
+import org.dcm4che3.net.service.BasicCFindSCP;
+import org.dcm4che3.net.service.BasicQueryTask;
+import org.dcm4che3.net.service.DicomServiceException;
+import org.dcm4che3.net.service.DicomServiceRegistry;
+import org.dcm4che3.net.service.QueryTask;
+import org.dcm4chee.arc.diff.DiffContext;
+import org.dcm4chee.arc.query.scu.CFindSCU;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.ServerSocket;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares the Studies of two local C-FIND SCP stand-ins, with and without hash join.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+public class DiffSCUImplTest {
+
+    private static final String QUERY = "missing=true&comparefield=StudyDescription&comparefield=StudyID";
+    private static final String HASH_JOIN = "&HashJoin=true";
+    private static final int MANY_STUDIES = 2000;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, ApplicationEntity> remoteAEs = new HashMap<>();
+    private Device scpDevice;
+    private Device scuDevice;
+    private ApplicationEntity localAE;
+    private StudyRootSCP primary;
+    private StudyRootSCP secondary;
+
+    @Before
+    public void setUp() throws Exception {
+        primary = new StudyRootSCP(
+                study("1.1", "EQUAL", "1"),
+                study("1.2", "PRIMARY", "2"),
+                study("1.3", "MISSING", "3"),
+                study("1.4", "EQUAL", "4"));
+        secondary = new StudyRootSCP(
+                study("1.1", "EQUAL", "1"),
+                study("1.2", "SECONDARY", "2"),
+                study("1.4", "EQUAL", "40"));
+        scpDevice = new Device("scp");
+        Connection conn = new Connection();
+        conn.setHostname("localhost");
+        conn.setPort(freePort());
+        scpDevice.addConnection(conn);
+        scpDevice.addApplicationEntity(scp("PRIMARY", conn, primary));
+        scpDevice.addApplicationEntity(scp("SECONDARY", conn, secondary));
+        start(scpDevice);
+        scpDevice.bindConnections();
+
+        scuDevice = new Device("scu");
+        Connection scuConn = new Connection();
+        scuDevice.addConnection(scuConn);
+        localAE = new ApplicationEntity("DIFF_SCU");
+        localAE.addConnection(scuConn);
+        scuDevice.addApplicationEntity(localAE);
+        start(scuDevice);
+    }
+
+    @After
+    public void tearDown() {
+        if (scpDevice != null)
+            scpDevice.unbindConnections();
+        executor.shutdownNow();
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testHashJoin() throws Exception {
+        List<Attributes> diffs = diffs(QUERY + HASH_JOIN);
+        assertEquals(diffs(QUERY), diffs);
+        assertEquals(Arrays.asList("1.2", "1.3", "1.4"), studyIUIDs(diffs));
+        Attributes modified = diffs.get(0).getNestedDataset(Tag.OriginalAttributesSequence)
+                .getNestedDataset(Tag.ModifiedAttributesSequence);
+        assertEquals("SECONDARY", modified.getString(Tag.StudyDescription));
+    }
+
+    @Test
+    public void testHashJoinQueriesOnlyDifferentStudies() throws Exception {
+        DiffSCUImpl diffSCU = new DiffSCUImpl(context(QUERY + HASH_JOIN), cfindSCU());
+        try {
+            diffSCU.init();
+            int secondaryQueries = secondary.queries.get();
+            while (diffSCU.nextDiff() != null)
+                ;
+            assertEquals(4, diffSCU.matches());
+            assertEquals(1, diffSCU.missing());
+            assertEquals(2, diffSCU.different());
+            assertEquals("Study 1.1 with equal digest must not be queried again",
+                    secondaryQueries + 2, secondary.queries.get());
+        } finally {
+            diffSCU.close();
+        }
+    }
+
+    @Test
+    public void testStudyDigests() {
+        StudyDigests digests = new StudyDigests();
+        for (int i = 0; i < 100000; i++)
+            digests.put("1.2.40.0.13.1." + i, i);
+        digests.put("", -1L);
+        assertEquals(100001, digests.size());
+        assertEquals(StudyDigests.EQUAL, digests.lookup("1.2.40.0.13.1.99999", 99999));
+        assertEquals(StudyDigests.DIFFERENT, digests.lookup("1.2.40.0.13.1.99999", 0));
+        assertEquals(StudyDigests.MISSING, digests.lookup("1.2.40.0.13.1.100000", 100000));
+        assertEquals(StudyDigests.EQUAL, digests.lookup("", -1L));
+    }
+
+    @Test(timeout = 60000)
+    public void testCancelWhileLoadingOthers() throws Exception {
+        Attributes[] studies = new Attributes[MANY_STUDIES];
+        for (int i = 0; i < studies.length; i++)
+            studies[i] = study("2." + i, "STUDY", Integer.toString(i));
+        secondary.matches = Arrays.asList(studies);
+        CountDownLatch loading = new CountDownLatch(1);
+        secondary.slowDownAfter(100, loading);
+        DiffSCUImpl diffSCU = new DiffSCUImpl(context(QUERY + HASH_JOIN), cfindSCU());
+        try {
+            Future<Integer> init = executor.submit(diffSCU::init);
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            diffSCU.cancel();
+            init.get(30, TimeUnit.SECONDS);
+            assertTrue("secondary C-FIND not canceled", secondary.returned.get() < MANY_STUDIES);
+            while (diffSCU.nextDiff() != null)
+                ;
+        } finally {
+            diffSCU.close();
+        }
+        assertTrue(secondary.completed.await(10, TimeUnit.SECONDS));
+    }
+
+    private List<Attributes> diffs(String queryString) throws Exception {
+        List<Attributes> diffs = new ArrayList<>();
+        DiffSCUImpl diffSCU = new DiffSCUImpl(context(queryString), cfindSCU());
+        try {
+            diffSCU.init();
+            Attributes diff;
+            while ((diff = diffSCU.nextDiff()) != null) {
+                Attributes item = diff.getNestedDataset(Tag.OriginalAttributesSequence);
+                item.remove(Tag.AttributeModificationDateTime);
+                diffs.add(diff);
+            }
+        } finally {
+            diffSCU.close();
+        }
+        return diffs;
+    }
+
+    private static List<String> studyIUIDs(List<Attributes> list) {
+        List<String> uids = new ArrayList<>(list.size());
+        for (Attributes attrs : list)
+            uids.add(attrs.getString(Tag.StudyInstanceUID));
+        return uids;
+    }
+
+    private DiffContext context(String queryString) {
+        return new DiffContext()
+                .setLocalAE(localAE)
+                .setPrimaryAE(remoteAEs.get("PRIMARY"))
+                .setSecondaryAE(remoteAEs.get("SECONDARY"))
+                .setQueryString(queryString);
+    }
+
+    private void start(Device device) {
+        device.setExecutor(executor);
+        device.setScheduledExecutor(scheduledExecutor);
+    }
+
+    private ApplicationEntity scp(String aet, Connection conn, StudyRootSCP scp) {
+        ApplicationEntity ae = new ApplicationEntity(aet);
+        ae.addConnection(conn);
+        ae.setAssociationAcceptor(true);
+        ae.addTransferCapability(new TransferCapability(null,
+                UID.StudyRootQueryRetrieveInformationModelFIND, TransferCapability.Role.SCP, UID.ImplicitVRLittleEndian));
+        DicomServiceRegistry serviceRegistry = new DicomServiceRegistry();
+        serviceRegistry.addDicomService(scp);
+        ae.setDimseRQHandler(serviceRegistry);
+        remoteAEs.put(aet, ae);
+        return ae;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket ss = new ServerSocket(0)) {
+            return ss.getLocalPort();
+        }
+    }
+
+    private static Attributes study(String studyIUID, String studyDescription, String studyID) {
+        Attributes attrs = new Attributes(4);
+        attrs.setString(Tag.QueryRetrieveLevel, VR.CS, "STUDY");
+        attrs.setString(Tag.StudyInstanceUID, VR.UI, studyIUID);
+        attrs.setString(Tag.StudyDescription, VR.LO, studyDescription);
+        attrs.setString(Tag.StudyID, VR.SH, studyID);
+        return attrs;
+    }
+
+    /**
+     * Delegates C-FIND requests to the C-FIND SCP stand-ins, like {@code CFindSCUImpl}.
+     */
+    private CFindSCU cfindSCU() {
+        return (CFindSCU) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ CFindSCU.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "openAssociation":
+                            AAssociateRQ aarq = new AAssociateRQ();
+                            aarq.setCalledAET((String) args[1]);
+                            aarq.addPresentationContext(
+                                    new PresentationContext(1, (String) args[2], UID.ImplicitVRLittleEndian));
+                            return ((ApplicationEntity) args[0]).connect(remoteAEs.get(args[1]), aarq);
+                        case "query":
+                            return ((Association) args[0]).cfind(UID.StudyRootQueryRetrieveInformationModelFIND,
+                                    (Integer) args[1], (Attributes) args[2], UID.ImplicitVRLittleEndian,
+                                    (Integer) args[3], (Integer) args[4]);
+                        case "findStudy":
+                            return findStudy((Association) args[0], (Integer) args[1], (String) args[2],
+                                    (int[]) args[3]);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static List<Attributes> findStudy(Association as, int priority, String studyIUID, int[] returnKeys)
+            throws Exception {
+        Attributes keys = new Attributes(returnKeys.length + 2);
+        for (int tag : returnKeys)
+            keys.setNull(tag, ElementDictionary.vrOf(tag, null));
+        keys.setString(Tag.QueryRetrieveLevel, VR.CS, "STUDY");
+        keys.setString(Tag.StudyInstanceUID, VR.UI, studyIUID);
+        DimseRSP rsp = as.cfind(UID.StudyRootQueryRetrieveInformationModelFIND, priority, keys,
+                UID.ImplicitVRLittleEndian, 0, 1);
+        List<Attributes> matches = new ArrayList<>();
+        while (rsp.next()) {
+            Attributes match = rsp.getDataset();
+            if (match != null)
+                matches.add(match);
+        }
+        return matches;
+    }
+
+    /**
+     * Study Root C-FIND SCP returning the configured Studies, or only the Study with the requested Study Instance
+     * UID.
+     */
+    private static class StudyRootSCP extends BasicCFindSCP {
+        final AtomicInteger queries = new AtomicInteger();
+        final AtomicInteger returned = new AtomicInteger();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile List<Attributes> matches;
+        volatile int slowDownAfter = Integer.MAX_VALUE;
+        volatile CountDownLatch slowingDown;
+
+        StudyRootSCP(Attributes... matches) {
+            super(UID.StudyRootQueryRetrieveInformationModelFIND);
+            this.matches = Arrays.asList(matches);
+        }
+
+        void slowDownAfter(int n, CountDownLatch slowingDown) {
+            this.slowingDown = slowingDown;
+            this.slowDownAfter = n;
+        }
+
+        @Override
+        protected QueryTask calculateMatches(Association as, PresentationContext pc, Attributes rq,
+                Attributes keys) {
+            queries.incrementAndGet();
+            String studyIUID = keys.getString(Tag.StudyInstanceUID);
+            Iterator<Attributes> iter = matches.stream()
+                    .filter(match -> studyIUID == null || studyIUID.equals(match.getString(Tag.StudyInstanceUID)))
+                    .iterator();
+            return new BasicQueryTask(as, pc, rq, keys) {
+                @Override
+                public void run() {
+                    try {
+                        super.run();
+                    } finally {
+                        completed.countDown();
+                    }
+                }
+
+                @Override
+                protected boolean hasMoreMatches() {
+                    return iter.hasNext();
+                }
+
+                @Override
+                protected Attributes nextMatch() throws DicomServiceException {
+                    if (returned.incrementAndGet() >= slowDownAfter) {
+                        slowingDown.countDown();
+                        try {
+                            Thread.sleep(5);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return new Attributes(iter.next());
+                }
+            };
+        }
+    }
+}
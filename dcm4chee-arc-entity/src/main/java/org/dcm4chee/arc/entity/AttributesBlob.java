@@ -49,6 +49,7 @@ import javax.persistence.*;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.function.IntConsumer;
 
 /**
  * @author Umberto Cappellini <umberto.cappellini@agfa.com>
@@ -58,6 +59,8 @@ import java.io.IOException;
 @Table(name = "dicomattrs")
 public class AttributesBlob {
 
+    private static final AttributesBlobCache cache = new AttributesBlobCache();
+
     @Id
     @GeneratedValue(strategy=GenerationType.IDENTITY)
     @Column(name = "pk")
@@ -81,17 +84,30 @@ public class AttributesBlob {
         return "AttributesBlob[pk=" + pk + "]";
     }
 
+    public static void setCacheSize(int cacheSize) {
+        cache.setMaxSize(cacheSize);
+    }
+
+    public static void setCacheSavedBytesConsumer(IntConsumer savedBytesConsumer) {
+        cache.setSavedBytesConsumer(savedBytesConsumer);
+    }
+
+    public static void clearCache() {
+        cache.clear();
+    }
+
     public long getPk() {
         return pk;
     }
 
     public Attributes getAttributes() throws BlobCorruptedException {
         if (cachedAttributes == null)
-            cachedAttributes = AttributesBlob.decodeAttributes(encodedAttributes, null);
+            cachedAttributes = cache.get(pk, encodedAttributes);
         return cachedAttributes;
     }
 
     public void setAttributes(Attributes attrs) {
+        cache.remove(pk);
         cachedAttributes = new Attributes(attrs);
         cachedAttributes.removeAllBulkData();
         encodedAttributes = AttributesBlob.encodeAttributes(cachedAttributes);
@@ -101,6 +117,12 @@ public class AttributesBlob {
         return encodedAttributes;
     }
 
+    @PostUpdate
+    @PostRemove
+    public void onPostUpdateOrRemove() {
+        cache.remove(pk);
+    }
+
     public static byte[] encodeAttributes(Attributes attrs) {
         ByteArrayOutputStream out = new ByteArrayOutputStream(512);
         try {
@@ -112,6 +134,14 @@ public class AttributesBlob {
         return out.toByteArray();
     }
 
+    /**
+     * Decodes attributes of the blob with the specified primary key, using the device-wide cache of decoded
+     * attributes. The returned attributes may be modified by the caller.
+     */
+    public static Attributes decodeAttributes(long pk, byte[] b) {
+        return cache.get(pk, b);
+    }
+
     public static Attributes decodeAttributes(byte[] b, Attributes result) {
         if (b == null || b.length == 0)
             return result != null ? result : new Attributes(0);
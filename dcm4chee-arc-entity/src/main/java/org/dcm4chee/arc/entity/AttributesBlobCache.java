@@ -0,0 +1,175 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.entity;
+
+import org.dcm4che3.data.Attributes;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Bounded, device-wide cache of decoded {@link AttributesBlob}s, keyed by the primary key of the blob.
+ * A cached entry is only used if its encoded attributes are equal to the encoded attributes read from the
+ * database, so an entry never outlives an update of the blob, even if the update was not performed by this device.
+ * Cached {@link Attributes} are never exposed; callers get their own copy.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+class AttributesBlobCache {
+
+    private static final int SEGMENTS = 16;
+
+    private static final class Entry {
+        final byte[] encoded;
+        final Attributes attrs;
+
+        Entry(byte[] encoded, Attributes attrs) {
+            this.encoded = encoded;
+            this.attrs = attrs;
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<Long, Entry> {
+        final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private volatile int maxSize;
+    private volatile Segment[] segments;
+    private volatile IntConsumer savedBytesConsumer;
+
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Set maximal number of cached entries. Cached entries are discarded if the value changes.
+     *
+     * @param maxSize maximal number of entries, {@code 0} to disable the cache
+     */
+    void setMaxSize(int maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException("maxSize: " + maxSize);
+        if (this.maxSize != maxSize) {
+            this.maxSize = maxSize;
+            this.segments = newSegments(maxSize);
+        }
+    }
+
+    /**
+     * Set consumer of the number of encoded bytes which did not need to be decoded on each cache lookup,
+     * {@code 0} on a cache miss.
+     */
+    void setSavedBytesConsumer(IntConsumer savedBytesConsumer) {
+        this.savedBytesConsumer = savedBytesConsumer;
+    }
+
+    void clear() {
+        this.segments = newSegments(maxSize);
+    }
+
+    Attributes get(long pk, byte[] encoded) {
+        Segment[] segments = this.segments;
+        if (segments == null || pk == 0L || encoded == null || encoded.length == 0)
+            return AttributesBlob.decodeAttributes(encoded, null);
+
+        Segment segment = segments[index(pk)];
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.get(pk);
+        }
+        if (entry != null && Arrays.equals(entry.encoded, encoded)) {
+            accept(encoded.length);
+            return new Attributes(entry.attrs);
+        }
+        Attributes attrs = AttributesBlob.decodeAttributes(encoded, null);
+        Entry newEntry = new Entry(encoded, new Attributes(attrs));
+        synchronized (segment) {
+            segment.put(pk, newEntry);
+        }
+        accept(0);
+        return attrs;
+    }
+
+    void remove(long pk) {
+        Segment[] segments = this.segments;
+        if (segments == null || pk == 0L)
+            return;
+
+        Segment segment = segments[index(pk)];
+        synchronized (segment) {
+            segment.remove(pk);
+        }
+    }
+
+    private void accept(int savedBytes) {
+        IntConsumer consumer = savedBytesConsumer;
+        if (consumer != null)
+            consumer.accept(savedBytes);
+    }
+
+    private static int index(long pk) {
+        return (int) ((pk ^ (pk >>> 32)) & (SEGMENTS - 1));
+    }
+
+    private static Segment[] newSegments(int maxSize) {
+        if (maxSize == 0)
+            return null;
+
+        Segment[] segments = new Segment[SEGMENTS];
+        int capacity = Math.max(1, (maxSize + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < segments.length; i++)
+            segments[i] = new Segment(capacity);
+        return segments;
+    }
+}
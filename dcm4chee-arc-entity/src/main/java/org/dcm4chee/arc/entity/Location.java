@@ -113,8 +113,14 @@ import java.util.Date;
                 query = "update Location l set l.status = ?2 where l.pk = ?1"),
         @NamedQuery(name = Location.UPDATE_STATUS_FROM,
                 query = "update Location l set l.status = ?3 where l.pk = ?1 and l.status = ?2"),
+        @NamedQuery(name = Location.FIND_PKS_BY_PKS_AND_STATUS,
+                query = "select l.pk from Location l where l.pk in ?1 and l.status = ?2"),
+        @NamedQuery(name = Location.UPDATE_STATUS_FROM_BY_PKS,
+                query = "update Location l set l.status = ?3 where l.pk in ?1 and l.status = ?2"),
         @NamedQuery(name = Location.DELETE_BY_PK,
                 query = "delete from Location l where l.pk = ?1"),
+        @NamedQuery(name = Location.DELETE_BY_PKS,
+                query = "delete from Location l where l.pk in ?1"),
         @NamedQuery(name = Location.EXISTS,
                 query = "select l.pk from Location l where l.pk = ?1")
 })
@@ -146,7 +152,10 @@ public class Location {
     public static final String SET_DIGEST = "Location.SetDigest";
     public static final String SET_STATUS = "Location.SetStatus";
     public static final String UPDATE_STATUS_FROM = "Location.UpdateStatusFrom";
+    public static final String FIND_PKS_BY_PKS_AND_STATUS = "Location.FindPksByPksAndStatus";
+    public static final String UPDATE_STATUS_FROM_BY_PKS = "Location.UpdateStatusFromByPks";
     public static final String DELETE_BY_PK = "Location.DeleteByPk";
+    public static final String DELETE_BY_PKS = "Location.DeleteByPks";
     public static final String SIZE_OF_SERIES = "Location.SizeOfSeries";
     public static final String EXISTS = "Location.Exists";
 
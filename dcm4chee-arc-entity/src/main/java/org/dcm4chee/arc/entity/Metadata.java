@@ -61,8 +61,14 @@ import java.util.Date;
                         "where se.seriesInstanceUID = ?1 and se.metadata.storageID = ?2"),
         @NamedQuery(name = Metadata.UPDATE_STATUS_FROM,
                 query = "update Metadata m set m.status = ?3 where m.pk = ?1 and m.status = ?2"),
+        @NamedQuery(name = Metadata.FIND_PKS_BY_PKS_AND_STATUS,
+                query = "select m.pk from Metadata m where m.pk in ?1 and m.status = ?2"),
+        @NamedQuery(name = Metadata.UPDATE_STATUS_FROM_BY_PKS,
+                query = "update Metadata m set m.status = ?3 where m.pk in ?1 and m.status = ?2"),
         @NamedQuery(name = Metadata.DELETE_BY_PK,
-                query = "delete from Metadata m where m.pk = ?1")
+                query = "delete from Metadata m where m.pk = ?1"),
+        @NamedQuery(name = Metadata.DELETE_BY_PKS,
+                query = "delete from Metadata m where m.pk in ?1")
 })
 
 public class Metadata {
@@ -70,7 +76,10 @@ public class Metadata {
     public static final String FIND_BY_STORAGE_ID_AND_STATUS = "Metadata.FindByStorageIDAndStatus";
     public static final String FIND_BY_SERIES_IUID_AND_STORAGE_ID = "Metadata.FindBySeriesIUIDAndStorageID";
     public static final String UPDATE_STATUS_FROM = "Metadata.UpdateStatusFrom";
+    public static final String FIND_PKS_BY_PKS_AND_STATUS = "Metadata.FindPksByPksAndStatus";
+    public static final String UPDATE_STATUS_FROM_BY_PKS = "Metadata.UpdateStatusFromByPks";
     public static final String DELETE_BY_PK = "Metadata.DeleteByPk";
+    public static final String DELETE_BY_PKS = "Metadata.DeleteByPks";
 
     public enum Status {
         OK,                         // 0
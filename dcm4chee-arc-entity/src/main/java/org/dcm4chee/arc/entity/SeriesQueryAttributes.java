@@ -40,6 +40,7 @@
 
 package org.dcm4chee.arc.entity;
 
+import org.dcm4che3.util.StringUtils;
 import org.dcm4chee.arc.conf.Availability;
 
 import javax.persistence.*;
@@ -53,10 +54,26 @@ import javax.persistence.*;
     name = SeriesQueryAttributes.FIND_BY_VIEW_ID_AND_SERIES_PK,
     query = "select a from SeriesQueryAttributes a where a.viewID = ?1 and a.series.pk = ?2"
 ),
+@NamedQuery(
+    name = SeriesQueryAttributes.FIND_FOR_SERIES,
+    query = "select a from SeriesQueryAttributes a where a.series = ?1 order by a.viewID"
+),
 @NamedQuery(
     name = SeriesQueryAttributes.DELETE_FOR_SERIES,
     query = "delete from SeriesQueryAttributes a where a.series = ?1"
 ),
+@NamedQuery(
+    name = SeriesQueryAttributes.DELETE_FOR_SERIES_AND_VIEW_IDS,
+    query = "delete from SeriesQueryAttributes a where a.series = ?1 and a.viewID in ?2"
+),
+@NamedQuery(
+    name = SeriesQueryAttributes.DELETE_BY_PK,
+    query = "delete from SeriesQueryAttributes a where a.pk = ?1"
+),
+@NamedQuery(
+    name = SeriesQueryAttributes.INCREMENT_NUMBER_OF_INSTANCES,
+    query = "update SeriesQueryAttributes a set a.numberOfInstances = a.numberOfInstances + 1 where a.pk = ?1"
+),
 @NamedQuery(
     name = SeriesQueryAttributes.VIEW_IDS_FOR_SERIES_PK,
     query = "select a.viewID from SeriesQueryAttributes a where a.series.pk = ?1"
@@ -68,7 +85,11 @@ import javax.persistence.*;
 public class SeriesQueryAttributes {
 
     public static final String FIND_BY_VIEW_ID_AND_SERIES_PK = "SeriesQueryAttributes.findByViewIDAndSeriesPk";
+    public static final String FIND_FOR_SERIES = "SeriesQueryAttributes.findForSeries";
     public static final String DELETE_FOR_SERIES = "SeriesQueryAttributes.deleteForSeries";
+    public static final String DELETE_FOR_SERIES_AND_VIEW_IDS = "SeriesQueryAttributes.deleteForSeriesAndViewIDs";
+    public static final String DELETE_BY_PK = "SeriesQueryAttributes.deleteByPk";
+    public static final String INCREMENT_NUMBER_OF_INSTANCES = "SeriesQueryAttributes.incrementNumberOfInstances";
     public static final String VIEW_IDS_FOR_SERIES_PK = "SeriesQueryAttributes.viewIDsForSeriesPk";
 
     @Id
@@ -146,4 +167,65 @@ public class SeriesQueryAttributes {
     public void setSeries(Series series) {
         this.series = series;
     }
+
+    /**
+     * Applies the attributes of an instance added to the series.
+     */
+    public void addInstance(String sopClassUID, String retrieveAETs, Availability availability) {
+        if (numberOfInstances++ == 0) {
+            this.sopClassesInSeries = sopClassUID;
+            this.retrieveAETs = retrieveAETs;
+            this.availability = availability;
+        } else {
+            this.sopClassesInSeries = addValue(this.sopClassesInSeries, sopClassUID);
+            this.retrieveAETs = intersection(this.retrieveAETs, retrieveAETs);
+            if (this.availability.compareTo(availability) < 0)
+                this.availability = availability;
+        }
+    }
+
+    /**
+     * Returns {@code true}, if adding an instance with the specified attributes to the series only increments the
+     * number of instances.
+     */
+    public boolean isUnchangedBy(String sopClassUID, String retrieveAETs, Availability availability) {
+        return numberOfInstances > 0
+                && containsValue(this.sopClassesInSeries, sopClassUID)
+                && isUnchangedIntersection(this.retrieveAETs, retrieveAETs)
+                && this.availability != null && this.availability.compareTo(availability) >= 0;
+    }
+
+    static boolean containsValue(String values, String value) {
+        return addValue(values, value) == values;
+    }
+
+    static boolean isUnchangedIntersection(String values1, String values2) {
+        return intersection(values1, values2).equals(values1 != null ? values1 : "");
+    }
+
+    static String addValue(String values, String value) {
+        if (value == null)
+            return values;
+
+        for (String s : StringUtils.split(values, '\\'))
+            if (s.equals(value))
+                return values;
+
+        return values != null && !values.isEmpty() ? values + '\\' + value : value;
+    }
+
+    static String intersection(String values1, String values2) {
+        String[] ss1 = StringUtils.split(values1, '\\');
+        String[] ss2 = StringUtils.split(values2, '\\');
+        StringBuilder sb = new StringBuilder();
+        for (String s1 : ss1)
+            for (String s2 : ss2)
+                if (s1.equals(s2)) {
+                    if (sb.length() > 0)
+                        sb.append('\\');
+                    sb.append(s1);
+                    break;
+                }
+        return sb.toString();
+    }
 }
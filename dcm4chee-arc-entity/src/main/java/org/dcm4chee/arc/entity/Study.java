@@ -84,6 +84,9 @@ import java.util.*;
         @NamedQuery(
                 name=Study.SET_STUDY_SIZE,
                 query="update Study st set st.size = ?2 where st.pk = ?1"),
+        @NamedQuery(
+                name=Study.STUDY_PKS_WITH_UNKNOWN_SIZE,
+                query="select st.pk from Study st where st.size = -1"),
         @NamedQuery(
                 name=Study.SET_COMPLETENESS,
                 query="update Study st set st.completeness = ?2 " +
@@ -156,6 +159,7 @@ public class Study {
     public static final String FIND_BY_STUDY_IUID_EAGER = "Study.findByStudyIUIDEager";
     public static final String UPDATE_ACCESS_TIME = "Study.UpdateAccessTime";
     public static final String SET_STUDY_SIZE = "Study.setStudySize";
+    public static final String STUDY_PKS_WITH_UNKNOWN_SIZE = "Study.studyPksWithUnknownSize";
     public static final String SET_COMPLETENESS = "Study.setCompleteness";
     public static final String INCREMENT_FAILED_RETRIEVES = "Study.incrementFailedRetrieves";
     public static final String COUNT_STUDIES_OF_PATIENT = "Study.countStudiesOfPatient";
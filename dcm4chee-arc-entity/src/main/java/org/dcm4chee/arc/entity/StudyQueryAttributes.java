@@ -49,10 +49,27 @@ import javax.persistence.*;
  *
  */
 @NamedQueries({
+@NamedQuery(
+        name = StudyQueryAttributes.FIND_FOR_STUDY,
+        query = "select a from StudyQueryAttributes a where a.study = ?1 order by a.viewID"
+),
 @NamedQuery(
         name = StudyQueryAttributes.DELETE_FOR_STUDY,
         query = "delete from StudyQueryAttributes a where a.study = ?1"
 ),
+@NamedQuery(
+        name = StudyQueryAttributes.DELETE_FOR_STUDY_AND_VIEW_IDS,
+        query = "delete from StudyQueryAttributes a where a.study = ?1 and a.viewID in ?2"
+),
+@NamedQuery(
+        name = StudyQueryAttributes.DELETE_BY_PK,
+        query = "delete from StudyQueryAttributes a where a.pk = ?1"
+),
+@NamedQuery(
+        name = StudyQueryAttributes.INCREMENT_NUMBER_OF_INSTANCES,
+        query = "update StudyQueryAttributes a set a.numberOfInstances = a.numberOfInstances + 1, " +
+                "a.numberOfSeries = a.numberOfSeries + ?2 where a.pk = ?1"
+),
 @NamedQuery(
         name = StudyQueryAttributes.VIEW_IDS_FOR_STUDY_PK,
         query = "select a.viewID from StudyQueryAttributes a where a.study.pk = ?1")
@@ -62,7 +79,11 @@ import javax.persistence.*;
     @UniqueConstraint(columnNames = { "view_id", "study_fk" }))
 public class StudyQueryAttributes {
 
+    public static final String FIND_FOR_STUDY = "StudyQueryAttributes.findForStudy";
     public static final String DELETE_FOR_STUDY = "StudyQueryAttributes.deleteForStudy";
+    public static final String DELETE_FOR_STUDY_AND_VIEW_IDS = "StudyQueryAttributes.deleteForStudyAndViewIDs";
+    public static final String DELETE_BY_PK = "StudyQueryAttributes.deleteByPk";
+    public static final String INCREMENT_NUMBER_OF_INSTANCES = "StudyQueryAttributes.incrementNumberOfInstances";
     public static final String VIEW_IDS_FOR_STUDY_PK = "StudyQueryAttributes.viewIDsForStudyPk";
 
     @Id
@@ -162,4 +183,42 @@ public class StudyQueryAttributes {
     public void setStudy(Study study) {
         this.study = study;
     }
+
+    /**
+     * Applies the attributes of an instance added to the study.
+     *
+     * @param newSeries {@code true}, if the instance is the first instance of its series in this view
+     */
+    public void addInstance(boolean newSeries, String modality, String sopClassUID, String retrieveAETs,
+            Availability availability) {
+        String modality1 = "*".equals(modality) ? null : modality;
+        if (numberOfInstances++ == 0) {
+            this.numberOfSeries = 1;
+            this.modalitiesInStudy = modality1 != null ? modality1 : "";
+            this.sopClassesInStudy = sopClassUID;
+            this.retrieveAETs = retrieveAETs;
+            this.availability = availability;
+        } else {
+            if (newSeries)
+                this.numberOfSeries++;
+            this.modalitiesInStudy = SeriesQueryAttributes.addValue(this.modalitiesInStudy, modality1);
+            this.sopClassesInStudy = SeriesQueryAttributes.addValue(this.sopClassesInStudy, sopClassUID);
+            this.retrieveAETs = SeriesQueryAttributes.intersection(this.retrieveAETs, retrieveAETs);
+            if (this.availability.compareTo(availability) < 0)
+                this.availability = availability;
+        }
+    }
+
+    /**
+     * Returns {@code true}, if adding an instance with the specified attributes to the study only increments the
+     * number of instances and - for the first instance of a series - the number of series.
+     */
+    public boolean isUnchangedBy(String modality, String sopClassUID, String retrieveAETs,
+            Availability availability) {
+        return numberOfInstances > 0
+                && SeriesQueryAttributes.containsValue(this.modalitiesInStudy, "*".equals(modality) ? null : modality)
+                && SeriesQueryAttributes.containsValue(this.sopClassesInStudy, sopClassUID)
+                && SeriesQueryAttributes.isUnchangedIntersection(this.retrieveAETs, retrieveAETs)
+                && this.availability != null && this.availability.compareTo(availability) >= 0;
+    }
 }
@@ -53,7 +53,6 @@ import org.dcm4chee.arc.qmgt.Outcome;
 import org.dcm4chee.arc.store.InstanceLocations;
 import org.dcm4chee.arc.retrieve.RetrieveContext;
 import org.dcm4chee.arc.retrieve.RetrieveService;
-import org.dcm4chee.arc.retrieve.LocationInputStream;
 import org.dcm4chee.arc.storage.Storage;
 import org.dcm4chee.arc.storage.StorageFactory;
 import org.dcm4chee.arc.storage.WriteContext;
@@ -62,7 +61,6 @@ import org.dcm4chee.arc.store.StoreSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -129,7 +127,7 @@ public class StorageExporter extends AbstractExporter {
                     Location location = null;
                     try {
                         LOG.debug("Start copying {} to {}:\n", instanceLocations, storage.getStorageDescriptor());
-                        location = copyTo(retrieveContext, instanceLocations, storage, writeCtx);
+                        location = retrieveService.copyTo(retrieveContext, instanceLocations, storage, writeCtx);
                         storeService.replaceLocation(storeSession, instanceLocations.getInstancePk(),
                                 location, locationsOnStorageByStatusOK.get(Boolean.FALSE));
                         storage.commitStorage(writeCtx);
@@ -164,23 +162,6 @@ public class StorageExporter extends AbstractExporter {
         }
     }
 
-    private Location copyTo(RetrieveContext retrieveContext, InstanceLocations instanceLocations,
-                            Storage storage, WriteContext writeCtx) throws IOException {
-        try (LocationInputStream locationInputStream = retrieveService.openLocationInputStream(
-                retrieveContext, instanceLocations)) {
-            writeCtx.setContentLength(locationInputStream.location.getSize());
-            storage.copy(locationInputStream.stream, writeCtx);
-            return new Location.Builder()
-                    .storageID(storage.getStorageDescriptor().getStorageID())
-                    .storagePath(writeCtx.getStoragePath())
-                    .transferSyntaxUID(locationInputStream.location.getTransferSyntaxUID())
-                    .objectType(Location.ObjectType.DICOM_FILE)
-                    .size(locationInputStream.location.getSize())
-                    .digest(locationInputStream.location.getDigest())
-                    .build();
-        }
-    }
-
     private String noMatches(ExportContext exportContext) {
         StringBuilder sb = new StringBuilder(256);
         sb.append("Could not find ");
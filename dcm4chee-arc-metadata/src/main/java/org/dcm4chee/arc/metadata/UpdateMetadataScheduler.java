@@ -44,16 +44,21 @@ import org.dcm4che3.conf.api.ConfigurationChanges;
 import org.dcm4che3.conf.api.ConfigurationException;
 import org.dcm4che3.conf.api.DicomConfiguration;
 import org.dcm4che3.data.Attributes;
+import org.dcm4che3.dict.archive.PrivateTag;
+import org.dcm4che3.json.JSONReader;
 import org.dcm4che3.json.JSONWriter;
+import org.dcm4che3.util.StreamUtils;
 import org.dcm4chee.arc.Scheduler;
 import org.dcm4chee.arc.conf.ArchiveDeviceExtension;
 import org.dcm4chee.arc.conf.Duration;
 import org.dcm4chee.arc.conf.StorageDescriptor;
+import org.dcm4chee.arc.entity.Location;
 import org.dcm4chee.arc.entity.Metadata;
 import org.dcm4chee.arc.entity.Series;
 import org.dcm4chee.arc.event.SoftwareConfiguration;
 import org.dcm4chee.arc.retrieve.RetrieveContext;
 import org.dcm4chee.arc.retrieve.RetrieveService;
+import org.dcm4chee.arc.storage.ReadContext;
 import org.dcm4chee.arc.storage.Storage;
 import org.dcm4chee.arc.storage.StorageFactory;
 import org.dcm4chee.arc.storage.WriteContext;
@@ -66,13 +71,15 @@ import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.json.Json;
 import javax.json.stream.JsonGenerator;
-import java.io.IOException;
-import java.util.Date;
-import java.util.EnumSet;
-import java.util.List;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 /**
@@ -204,14 +211,16 @@ public class UpdateMetadataScheduler extends Scheduler {
                         storage.getStorageDescriptor());
                 WriteContext writeCtx = createWriteContext(storage, ctx.getMatches().iterator().next());
                 try {
+                    Map<String, byte[]> prevEntries = arcDev.isSeriesMetadataIncrementalUpdate()
+                            ? loadPreviousEntries(ctx, metadataUpdate)
+                            : Collections.emptyMap();
                     try (ZipOutputStream out = new ZipOutputStream(storage.openOutputStream(writeCtx))) {
-                        for (InstanceLocations match : ctx.getMatches()) {
-                            out.putNextEntry(new ZipEntry(match.getSopInstanceUID()));
-                            JsonGenerator gen = Json.createGenerator(out);
-                            new JSONWriter(gen).write(loadMetadata(ctx, match));
-                            gen.flush();
-                            out.closeEntry();
-                        }
+                        int readThreads = arcDev.getSeriesMetadataReadThreads();
+                        if (readThreads > 1)
+                            writeEntries(out, ctx, prevEntries, readThreads);
+                        else
+                            for (InstanceLocations match : ctx.getMatches())
+                                writeEntry(out, match, metadataEntry(ctx, match, prevEntries));
                         out.finish();
                     }
                     storage.commitStorage(writeCtx);
@@ -267,8 +276,116 @@ public class UpdateMetadataScheduler extends Scheduler {
         }
     }
 
-    private Attributes loadMetadata(RetrieveContext ctx, InstanceLocations match) throws IOException {
-        return match.isContainsMetadata() ? match.getAttributes() : retrieveService.loadMetadata(ctx, match);
+    private void writeEntries(ZipOutputStream out, RetrieveContext ctx, Map<String, byte[]> prevEntries,
+                              int readThreads) throws Exception {
+        openStorages(ctx);
+        Iterator<InstanceLocations> iter = ctx.getMatches().iterator();
+        ArrayDeque<FutureTask<byte[]>> readAhead = new ArrayDeque<>(readThreads);
+        ArrayDeque<InstanceLocations> readAheadMatches = new ArrayDeque<>(readThreads);
+        try {
+            while (iter.hasNext() || !readAhead.isEmpty()) {
+                while (iter.hasNext() && readAhead.size() < readThreads) {
+                    InstanceLocations match = iter.next();
+                    FutureTask<byte[]> task = new FutureTask<>(() -> metadataEntry(ctx, match, prevEntries));
+                    device.execute(task);
+                    readAhead.add(task);
+                    readAheadMatches.add(match);
+                }
+                writeEntry(out, readAheadMatches.remove(), get(readAhead.remove()));
+            }
+        } finally {
+            for (FutureTask<byte[]> task : readAhead)
+                task.cancel(false);
+        }
+    }
+
+    private void openStorages(RetrieveContext ctx) {
+        Set<String> storageIDs = new HashSet<>();
+        for (InstanceLocations match : ctx.getMatches())
+            for (Location location : match.getLocations())
+                if (storageIDs.add(location.getStorageID()))
+                    try {
+                        retrieveService.getStorage(location.getStorageID(), ctx);
+                    } catch (IllegalArgumentException e) {
+                        LOG.info("{} - ignore location of {} on {}", e.getMessage(), match, location);
+                    }
+    }
+
+    private static byte[] get(FutureTask<byte[]> task) throws Exception {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception)
+                throw (Exception) cause;
+            throw e;
+        }
+    }
+
+    private static void writeEntry(ZipOutputStream out, InstanceLocations match, byte[] entry) throws IOException {
+        out.putNextEntry(new ZipEntry(match.getSopInstanceUID()));
+        out.write(entry);
+        out.closeEntry();
+    }
+
+    private byte[] metadataEntry(RetrieveContext ctx, InstanceLocations match, Map<String, byte[]> prevEntries)
+            throws IOException {
+        if (match.isContainsMetadata())
+            return toJSON(match.getAttributes());
+
+        byte[] prevEntry = prevEntries.get(match.getSopInstanceUID());
+        if (prevEntry != null) {
+            Attributes prevAttrs = parseJSON(prevEntry);
+            if (Objects.equals(match.getUpdatedTime(),
+                    prevAttrs.getDate(PrivateTag.PrivateCreator, PrivateTag.InstanceUpdateDateTime))) {
+                Attributes attrs = new Attributes(prevAttrs);
+                attrs.removePrivateAttributes(PrivateTag.PrivateCreator, 0x7777);
+                retrieveService.getAttributesCoercion(ctx, match).coerce(attrs, null);
+                return attrs.equals(prevAttrs) ? prevEntry : toJSON(attrs);
+            }
+        }
+        return toJSON(retrieveService.loadMetadata(ctx, match));
+    }
+
+    private Map<String, byte[]> loadPreviousEntries(RetrieveContext ctx, Series.MetadataUpdate metadataUpdate) {
+        if (metadataUpdate.storagePath == null
+                || metadataUpdate.instancePurgeState == Series.InstancePurgeState.PURGED)
+            return Collections.emptyMap();
+
+        Map<String, byte[]> entries = new HashMap<>();
+        try {
+            Storage storage = retrieveService.getStorage(metadataUpdate.storageID, ctx);
+            ReadContext readContext = storage.createReadContext();
+            readContext.setStoragePath(metadataUpdate.storagePath);
+            try (ZipInputStream zip = new ZipInputStream(storage.openInputStream(readContext))) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+                    StreamUtils.copy(zip, bout);
+                    entries.put(entry.getName(), bout.toByteArray());
+                    zip.closeEntry();
+                }
+            }
+        } catch (Exception e) {
+            LOG.warn("Failed to read previous Metadata of Series[pk={}] from {} - create Metadata from scratch:\n",
+                    metadataUpdate.seriesPk, metadataUpdate.storageID, e);
+            return Collections.emptyMap();
+        }
+        return entries;
+    }
+
+    private static byte[] toJSON(Attributes attrs) {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        JsonGenerator gen = Json.createGenerator(bout);
+        new JSONWriter(gen).write(attrs);
+        gen.flush();
+        return bout.toByteArray();
+    }
+
+    private static Attributes parseJSON(byte[] entry) {
+        return new JSONReader(Json.createParser(
+                new InputStreamReader(new ByteArrayInputStream(entry), StandardCharsets.UTF_8)))
+                .readDataset(null);
     }
 
     private Metadata createMetadata(WriteContext writeContext) {
@@ -44,6 +44,7 @@ import org.dcm4che3.conf.json.JsonWriter;
 import org.dcm4che3.net.Device;
 import org.dcm4chee.arc.conf.ArchiveDeviceExtension;
 import org.dcm4chee.arc.conf.MetricsDescriptor;
+import org.dcm4chee.arc.metrics.Histogram;
 import org.dcm4chee.arc.metrics.MetricsService;
 import org.jboss.resteasy.annotations.cache.NoCache;
 import org.slf4j.Logger;
@@ -62,7 +63,6 @@ import javax.ws.rs.core.StreamingOutput;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.Comparator;
-import java.util.DoubleSummaryStatistics;
 
 /**
  * @author Vrinda Nayak <vrinda.nayak@j4care.com>
@@ -134,7 +134,7 @@ public class MetricsRS {
                         name,
                         parseInt(limit),
                         parseInt(binSize),
-                        dss -> write(gen, dss));
+                        histogram -> write(gen, histogram));
                 gen.writeEnd();
                 gen.flush();
             }).build();
@@ -167,13 +167,17 @@ public class MetricsRS {
                 request.getRemoteHost());
     }
 
-    private void write(JsonGenerator gen, DoubleSummaryStatistics dss) {
+    private void write(JsonGenerator gen, Histogram histogram) {
         gen.writeStartObject();
-        if (dss != null)
-            gen.write("count", dss.getCount())
-                .write("min", dss.getMin())
-                .write("avg", dss.getAverage())
-                .write("max", dss.getMax());
+        if (histogram != null)
+            gen.write("count", histogram.getCount())
+                .write("min", histogram.getMin())
+                .write("avg", histogram.getAverage())
+                .write("max", histogram.getMax())
+                .write("p50", histogram.getValueAtPercentile(50))
+                .write("p90", histogram.getValueAtPercentile(90))
+                .write("p99", histogram.getValueAtPercentile(99))
+                .write("p999", histogram.getValueAtPercentile(99.9));
         gen.writeEnd();
     }
 
@@ -0,0 +1,156 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4chee.arc.metrics;
+
+/**
+ * Log-linear bucketed histogram of recorded values, providing count, min, max, average and percentiles.
+ * <p>
+ * Values are assigned to buckets of {@value #SUB_BUCKETS} linear sub-buckets per power of two, which bounds
+ * the relative error of reported percentiles to about 3%. Instances are not thread-safe and are typically
+ * obtained as snapshot from a {@link HistogramRecorder}.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+public class Histogram {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int MIN_EXPONENT = -20;
+    static final int MAX_EXPONENT = 43;
+    static final int NUM_BUCKETS = 1 + ((MAX_EXPONENT - MIN_EXPONENT + 1) << SUB_BUCKET_BITS);
+    private static final double MIN_VALUE = Math.scalb(1., MIN_EXPONENT);
+
+    private final long[] counts = new long[NUM_BUCKETS];
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public void accept(double value) {
+        counts[bucketIndex(value)]++;
+        add(1, value, value, value);
+    }
+
+    public void combine(Histogram other) {
+        for (int i = 0; i < NUM_BUCKETS; i++)
+            counts[i] += other.counts[i];
+        add(other.count, other.sum, other.min, other.max);
+    }
+
+    void add(long count, double sum, double min, double max) {
+        this.count += count;
+        this.sum += sum;
+        this.min = Math.min(this.min, min);
+        this.max = Math.max(this.max, max);
+    }
+
+    void addToBucket(int index, long count) {
+        counts[index] += count;
+    }
+
+    public final long getCount() {
+        return count;
+    }
+
+    public final double getSum() {
+        return sum;
+    }
+
+    public final double getMin() {
+        return min;
+    }
+
+    public final double getMax() {
+        return max;
+    }
+
+    public final double getAverage() {
+        return count > 0 ? sum / count : 0.;
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values fall.
+     *
+     * @param percentile percentage in the range 0 to 100
+     * @return value at the given percentile, or {@code 0} if no values were recorded
+     */
+    public double getValueAtPercentile(double percentile) {
+        if (count == 0)
+            return 0.;
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.) / 100. * count));
+        long total = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            total += counts[i];
+            if (total >= rank)
+                return Math.max(min, Math.min(max, bucketMidpoint(i)));
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{count=%d, sum=%f, min=%f, average=%f, max=%f}",
+                getClass().getSimpleName(), count, sum, min, getAverage(), max);
+    }
+
+    static int bucketIndex(double value) {
+        if (!(value >= MIN_VALUE)) // also matches NaN
+            return 0;
+
+        int exponent = Math.getExponent(value);
+        if (exponent > MAX_EXPONENT)
+            return NUM_BUCKETS - 1;
+
+        int subBucket = (int) (Double.doubleToRawLongBits(value) >>> (52 - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return 1 + ((exponent - MIN_EXPONENT) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static double bucketMidpoint(int index) {
+        if (index == 0)
+            return 0.;
+
+        int i = index - 1;
+        return Math.scalb(1. + ((i & (SUB_BUCKETS - 1)) + .5) / SUB_BUCKETS, MIN_EXPONENT + (i >> SUB_BUCKET_BITS));
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4chee.arc.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Lock-free recorder of values into a {@link Histogram}.
+ * <p>
+ * Bucket counts are striped by recording thread to reduce contention on hot buckets; stripes are allocated on
+ * first use by a thread mapped to it, so recording a value does not allocate in the steady state. The number of
+ * stripes is limited to {@value #MAX_STRIPES}, bounding the size of one recorder to about 33 KB. Stripes are
+ * merged on {@link #addTo(Histogram)}.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+public final class HistogramRecorder {
+
+    private static final int MAX_STRIPES = 4;
+    private static final int STRIPES = stripes();
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPES);
+    private final DoubleAdder sum = new DoubleAdder();
+    private final DoubleAccumulator min = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+    private final DoubleAccumulator max = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+
+    private static int stripes() {
+        int n = Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES);
+        return n > 1 ? Integer.highestOneBit(n - 1) << 1 : 1;
+    }
+
+    public void record(double value) {
+        stripe().incrementAndGet(Histogram.bucketIndex(value));
+        sum.add(value);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Adds the values recorded so far to the specified histogram. Concurrently recorded values may or may not be
+     * included.
+     *
+     * @param histogram the histogram to which recorded values are added
+     */
+    public void addTo(Histogram histogram) {
+        long count = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            AtomicLongArray stripe = stripes.get(i);
+            if (stripe != null)
+                for (int j = 0; j < Histogram.NUM_BUCKETS; j++) {
+                    long n = stripe.get(j);
+                    if (n != 0) {
+                        histogram.addToBucket(j, n);
+                        count += n;
+                    }
+                }
+        }
+        if (count > 0)
+            histogram.add(count, sum.sum(), min.get(), max.get());
+    }
+
+    private AtomicLongArray stripe() {
+        int i = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        AtomicLongArray stripe = stripes.get(i);
+        if (stripe == null && !stripes.compareAndSet(i, null, stripe = new AtomicLongArray(Histogram.NUM_BUCKETS)))
+            stripe = stripes.get(i);
+        return stripe;
+    }
+}
@@ -41,7 +41,6 @@
 
 package org.dcm4chee.arc.metrics;
 
-import java.util.DoubleSummaryStatistics;
 import java.util.function.Consumer;
 import java.util.function.DoubleSupplier;
 
@@ -61,5 +60,5 @@ public interface MetricsService {
 
     void accept(String name, DoubleSupplier valueSupplier);
 
-    void forEach(String name, int limit, int binSize, Consumer<DoubleSummaryStatistics> consumer);
+    void forEach(String name, int limit, int binSize, Consumer<Histogram> consumer);
 }
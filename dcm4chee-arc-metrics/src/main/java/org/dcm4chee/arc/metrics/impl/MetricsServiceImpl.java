@@ -45,15 +45,16 @@ import org.dcm4che3.net.Device;
 import org.dcm4chee.arc.conf.ArchiveDeviceExtension;
 import org.dcm4chee.arc.conf.MetricsDescriptor;
 import org.dcm4chee.arc.event.ArchiveServiceEvent;
+import org.dcm4chee.arc.metrics.Histogram;
+import org.dcm4chee.arc.metrics.HistogramRecorder;
 import org.dcm4chee.arc.metrics.MetricsService;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
-import java.util.Arrays;
-import java.util.DoubleSummaryStatistics;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
 import java.util.function.DoubleSupplier;
 
@@ -77,28 +78,41 @@ public class MetricsServiceImpl implements MetricsService {
 
     @Override
     public void accept(String name, double value) {
-        accept(name, () -> value);
+        DataBins dataBins = dataBins(name);
+        if (dataBins != null)
+            dataBins.accept(currentTimeMins(), value);
     }
 
     @Override
     public void acceptNanoTime(String name, long startTime) {
-        accept(name, () -> (System.nanoTime() - startTime) / 1000000.);
+        DataBins dataBins = dataBins(name);
+        if (dataBins != null)
+            dataBins.accept(currentTimeMins(), (System.nanoTime() - startTime) / 1000000.);
     }
 
     @Override
     public void acceptDataRate(String name, long bytes, long startTime) {
-        accept(name, () -> bytes * 1000. / (System.nanoTime() - startTime));
+        DataBins dataBins = dataBins(name);
+        if (dataBins != null)
+            dataBins.accept(currentTimeMins(), bytes * 1000. / (System.nanoTime() - startTime));
     }
 
     @Override
     public void accept(String name, DoubleSupplier valueSupplier) {
+        DataBins dataBins = dataBins(name);
+        if (dataBins != null)
+            dataBins.accept(currentTimeMins(), valueSupplier.getAsDouble());
+    }
+
+    private DataBins dataBins(String name) {
         MetricsDescriptor descriptor = getMetricsDescriptor(name);
         if (descriptor == null)
-            return;
+            return null;
 
-        long time = currentTimeMins();
-        map.computeIfAbsent(name, x -> new DataBins(time, descriptor.getRetentionPeriod()))
-                .accept(time, valueSupplier.getAsDouble());
+        DataBins dataBins = map.get(name);
+        return dataBins != null
+                ? dataBins
+                : map.computeIfAbsent(name, x -> new DataBins(currentTimeMins(), descriptor.getRetentionPeriod()));
     }
 
     public void onReload(@Observes ArchiveServiceEvent event) {
@@ -114,7 +128,7 @@ public class MetricsServiceImpl implements MetricsService {
     }
 
     @Override
-    public void forEach(String name, int limit, int binSize, Consumer<DoubleSummaryStatistics> consumer) {
+    public void forEach(String name, int limit, int binSize, Consumer<Histogram> consumer) {
         MetricsDescriptor descriptor = getMetricsDescriptor(name);
         if (descriptor == null)
             return;
@@ -145,47 +159,54 @@ public class MetricsServiceImpl implements MetricsService {
 
     private static class DataBins {
         volatile long acceptTime;
-        final DoubleSummaryStatistics[] statistics;
+        final AtomicReferenceArray<HistogramRecorder> recorders;
 
         DataBins(long time, int retentionPeriod) {
             this.acceptTime = time;
-            this.statistics = new DoubleSummaryStatistics[retentionPeriod];
-            statistics[(int) (time % statistics.length)] = new DoubleSummaryStatistics();
+            this.recorders = new AtomicReferenceArray<>(retentionPeriod);
+            recorders.set((int) (time % retentionPeriod), new HistogramRecorder());
         }
 
         int getRetentionPeriod() {
-            return statistics.length;
+            return recorders.length();
         }
 
         void accept(long time, double value) {
-            int i = (int) (time % statistics.length);
+            int length = recorders.length();
+            int i = (int) (time % length);
             if (this.acceptTime < time) {
                 synchronized (this) {
                     long diff = time - this.acceptTime;
                     if (diff > 0) {
                         if (diff > 1) {
-                            if (diff >= statistics.length) {
-                                Arrays.fill(statistics, null);
+                            if (diff >= length) {
+                                clear(0, length);
                             } else {
                                 int fromIndex = i + 1 - (int) diff;
                                 if (fromIndex >= 0) {
-                                    Arrays.fill(statistics, fromIndex, i, null);
+                                    clear(fromIndex, i);
                                 } else {
-                                    Arrays.fill(statistics, 0, i, null);
-                                    Arrays.fill(statistics,
-                                            fromIndex + statistics.length, statistics.length, null);
+                                    clear(0, i);
+                                    clear(fromIndex + length, length);
                                 }
                             }
                         }
-                        statistics[i] = new DoubleSummaryStatistics();
+                        recorders.set(i, new HistogramRecorder());
                         this.acceptTime = time;
                     }
                 }
             }
-            statistics[i].accept(value);
+            HistogramRecorder recorder = recorders.get(i);
+            if (recorder != null) // null, if bin of time was already recycled by concurrent rollover
+                recorder.record(value);
+        }
+
+        private void clear(int fromIndex, int toIndex) {
+            for (int i = fromIndex; i < toIndex; i++)
+                recorders.set(i, null);
         }
 
-        DoubleSummaryStatistics getBin(long time, int binSize) {
+        Histogram getBin(long time, int binSize) {
             long beforeAcceptTime = this.acceptTime - time;
             if (beforeAcceptTime < 0) {
                 if (beforeAcceptTime + binSize <= 0)
@@ -193,17 +214,18 @@ public class MetricsServiceImpl implements MetricsService {
 
                 time = this.acceptTime;
                 binSize += beforeAcceptTime;
-            } else if (binSize > statistics.length - beforeAcceptTime) {
-                binSize = (int) (statistics.length - beforeAcceptTime);
+            } else if (binSize > recorders.length() - beforeAcceptTime) {
+                binSize = (int) (recorders.length() - beforeAcceptTime);
             }
-            DoubleSummaryStatistics bin = null;
-            for (int i = statistics.length + (int) (time % statistics.length); binSize-- > 0; i--) {
-                DoubleSummaryStatistics other = statistics[i % statistics.length];
-                if (other != null) {
+            Histogram bin = null;
+            int length = recorders.length();
+            for (int i = length + (int) (time % length); binSize-- > 0; i--) {
+                HistogramRecorder recorder = recorders.get(i % length);
+                if (recorder != null) {
                     if (bin == null)
-                        bin = new DoubleSummaryStatistics();
+                        bin = new Histogram();
 
-                    bin.combine(other);
+                    recorder.addTo(bin);
                 }
             }
             return bin;
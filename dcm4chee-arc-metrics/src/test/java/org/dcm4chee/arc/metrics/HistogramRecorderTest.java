@@ -0,0 +1,132 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4chee.arc.metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+public class HistogramRecorderTest {
+
+    private static final int THREADS = 8;
+    private static final int VALUES_PER_THREAD = 10000;
+
+    @Test
+    public void testAddToEmpty() {
+        Histogram histogram = new Histogram();
+        new HistogramRecorder().addTo(histogram);
+        assertEquals(0, histogram.getCount());
+        assertEquals(Double.POSITIVE_INFINITY, histogram.getMin(), 0.);
+    }
+
+    @Test
+    public void testAddToEqualsAccept() {
+        HistogramRecorder recorder = new HistogramRecorder();
+        Histogram expected = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            recorder.record(i / 10.);
+            expected.accept(i / 10.);
+        }
+        Histogram histogram = new Histogram();
+        recorder.addTo(histogram);
+        assertEquals(expected.getCount(), histogram.getCount());
+        assertEquals(expected.getSum(), histogram.getSum(), 1e-9);
+        assertEquals(expected.getMin(), histogram.getMin(), 0.);
+        assertEquals(expected.getMax(), histogram.getMax(), 0.);
+        for (double p = 0.; p <= 100.; p += 5.)
+            assertEquals(expected.getValueAtPercentile(p), histogram.getValueAtPercentile(p), 0.);
+    }
+
+    @Test
+    public void testMergesRecordersIntoOneHistogram() {
+        HistogramRecorder low = new HistogramRecorder();
+        HistogramRecorder high = new HistogramRecorder();
+        for (int i = 1; i <= 50; i++) {
+            low.record(i);
+            high.record(50 + i);
+        }
+        Histogram histogram = new Histogram();
+        low.addTo(histogram);
+        high.addTo(histogram);
+        assertEquals(100, histogram.getCount());
+        assertEquals(1., histogram.getMin(), 0.);
+        assertEquals(100., histogram.getMax(), 0.);
+        assertEquals(50., histogram.getValueAtPercentile(50.), 50. * .04);
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        HistogramRecorder recorder = new HistogramRecorder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 1; i <= VALUES_PER_THREAD; i++)
+                    recorder.record(i);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads)
+            thread.join();
+        Histogram histogram = new Histogram();
+        recorder.addTo(histogram);
+        assertEquals(THREADS * VALUES_PER_THREAD, histogram.getCount());
+        assertEquals(THREADS * (VALUES_PER_THREAD * (VALUES_PER_THREAD + 1) / 2.), histogram.getSum(), 0.);
+        assertEquals(1., histogram.getMin(), 0.);
+        assertEquals(VALUES_PER_THREAD, histogram.getMax(), 0.);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4chee.arc.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+public class HistogramTest {
+
+    @Test
+    public void testBucketIndexBoundaries() {
+        assertEquals(0, Histogram.bucketIndex(0.));
+        assertEquals(0, Histogram.bucketIndex(-1.));
+        assertEquals(0, Histogram.bucketIndex(Double.NaN));
+        assertEquals(0, Histogram.bucketIndex(Math.nextDown(Math.scalb(1., Histogram.MIN_EXPONENT))));
+        assertEquals(1, Histogram.bucketIndex(Math.scalb(1., Histogram.MIN_EXPONENT)));
+        int one = 1 + (-Histogram.MIN_EXPONENT << Histogram.SUB_BUCKET_BITS);
+        assertEquals(one, Histogram.bucketIndex(1.));
+        assertEquals(one, Histogram.bucketIndex(1.0625 - 1e-9));
+        assertEquals(one + 1, Histogram.bucketIndex(1.0625));
+        assertEquals(one + Histogram.SUB_BUCKETS - 1, Histogram.bucketIndex(Math.nextDown(2.)));
+        assertEquals(one + Histogram.SUB_BUCKETS, Histogram.bucketIndex(2.));
+        assertEquals(Histogram.NUM_BUCKETS - 1,
+                Histogram.bucketIndex(Math.nextDown(Math.scalb(1., Histogram.MAX_EXPONENT + 1))));
+        assertEquals(Histogram.NUM_BUCKETS - 1, Histogram.bucketIndex(Math.scalb(1., Histogram.MAX_EXPONENT + 1)));
+        assertEquals(Histogram.NUM_BUCKETS - 1, Histogram.bucketIndex(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void testBucketMidpoint() {
+        assertEquals(0., Histogram.bucketMidpoint(0), 0.);
+        assertEquals(1.03125, Histogram.bucketMidpoint(Histogram.bucketIndex(1.)), 0.);
+        for (int i = 1; i < Histogram.NUM_BUCKETS; i++)
+            assertEquals(i, Histogram.bucketIndex(Histogram.bucketMidpoint(i)));
+    }
+
+    @Test
+    public void testEmpty() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0., histogram.getAverage(), 0.);
+        assertEquals(0., histogram.getValueAtPercentile(50.), 0.);
+    }
+
+    @Test
+    public void testPercentiles() {
+        Histogram histogram = new Histogram();
+        for (int i = 100; i > 0; i--)
+            histogram.accept(i);
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050., histogram.getSum(), 0.);
+        assertEquals(1., histogram.getMin(), 0.);
+        assertEquals(100., histogram.getMax(), 0.);
+        assertEquals(50.5, histogram.getAverage(), 0.);
+        assertEquals(1., histogram.getValueAtPercentile(0.), .04);
+        assertEquals(50., histogram.getValueAtPercentile(50.), 50. * .04);
+        assertEquals(90., histogram.getValueAtPercentile(90.), 90. * .04);
+        assertEquals(99., histogram.getValueAtPercentile(99.), 99. * .04);
+        assertEquals(100., histogram.getValueAtPercentile(100.), 0.);
+    }
+
+    @Test
+    public void testPercentileOfSingleValue() {
+        Histogram histogram = new Histogram();
+        histogram.accept(42.);
+        assertEquals(42., histogram.getValueAtPercentile(1.), 0.);
+        assertEquals(42., histogram.getValueAtPercentile(99.), 0.);
+    }
+
+    @Test
+    public void testCombine() {
+        Histogram all = new Histogram();
+        Histogram odd = new Histogram();
+        Histogram even = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            all.accept(i);
+            (i % 2 == 0 ? even : odd).accept(i);
+        }
+        odd.combine(even);
+        assertEquals(all.getCount(), odd.getCount());
+        assertEquals(all.getSum(), odd.getSum(), 0.);
+        assertEquals(all.getMin(), odd.getMin(), 0.);
+        assertEquals(all.getMax(), odd.getMax(), 0.);
+        for (double p = 0.; p <= 100.; p += 5.)
+            assertEquals(all.getValueAtPercentile(p), odd.getValueAtPercentile(p), 0.);
+    }
+
+    @Test
+    public void testCombineEmpty() {
+        Histogram histogram = new Histogram();
+        histogram.accept(3.);
+        histogram.combine(new Histogram());
+        assertEquals(1, histogram.getCount());
+        assertEquals(3., histogram.getMin(), 0.);
+        assertEquals(3., histogram.getMax(), 0.);
+    }
+}
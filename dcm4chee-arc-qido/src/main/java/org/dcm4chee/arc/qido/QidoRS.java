@@ -53,12 +53,14 @@ import org.dcm4chee.arc.conf.ArchiveAEExtension;
 import org.dcm4chee.arc.conf.ArchiveDeviceExtension;
 import org.dcm4chee.arc.conf.AttributeSet;
 import org.dcm4chee.arc.conf.Entity;
+import org.dcm4chee.arc.conf.QidoResultCount;
 import org.dcm4chee.arc.entity.*;
 import org.dcm4chee.arc.keycloak.HttpServletRequestInfo;
 import org.dcm4chee.arc.keycloak.KeycloakContext;
 import org.dcm4chee.arc.query.Query;
 import org.dcm4chee.arc.query.QueryContext;
 import org.dcm4chee.arc.query.QueryService;
+import org.dcm4chee.arc.query.RunInTransaction;
 import org.dcm4chee.arc.query.util.QIDO;
 import org.dcm4chee.arc.query.util.QueryAttributes;
 import org.dcm4chee.arc.rs.util.MediaTypeUtils;
@@ -94,6 +96,10 @@ import java.util.stream.Stream;
 public class QidoRS {
 
     private static final Logger LOG = LoggerFactory.getLogger(QidoRS.class);
+    private static final String CONTINUATION_TOKEN = "X-Continuation-Token";
+    private static final Set<String> NOT_AFFECTING_RESULT_COUNT = new HashSet<>(Arrays.asList(
+            "offset", "limit", "keyset", "continuationToken", "accept", "includefield", "includedefaults",
+            "orderby"));
 
     @Inject
     private QueryService service;
@@ -110,6 +116,9 @@ public class QidoRS {
     @Inject
     private Device device;
 
+    @Inject
+    private RunInTransaction runInTx;
+
     @PathParam("AETitle")
     private String aet;
 
@@ -125,6 +134,14 @@ public class QidoRS {
     @Pattern(regexp = "[1-9]\\d{0,4}")
     private String limit;
 
+    @QueryParam("keyset")
+    @Pattern(regexp = "true|false")
+    private String keyset;
+
+    @QueryParam("continuationToken")
+    @Pattern(regexp = "[A-Za-z0-9_-]+")
+    private String continuationToken;
+
     @QueryParam("onlyWithStudies")
     @Pattern(regexp = "true|false")
     private String onlyWithStudies;
@@ -415,7 +432,7 @@ public class QidoRS {
             }
             if (ctx.getQueryParam().noMatches()) {
                 return Response.ok(
-                        output.entity(this, method, null, model, null))
+                        output.entity(this, new Matches(method, null, model, null)))
                         .type(output.type())
                         .build();
             }
@@ -423,32 +440,136 @@ public class QidoRS {
                 int maxResults = arcAE.qidoMaxNumberOfResults();
                 int offsetInt = parseInt(offset);
                 int limitInt = parseInt(limit);
-                int remaining = 0;
-                if (maxResults > 0 && (limitInt == 0 || limitInt > maxResults) && !ctx.isConsiderPurgedInstances()) {
-                    int numResults = (int) (query.fetchCount() - offsetInt);
-                    if (numResults <= 0)
-                        return Response.noContent().build();
+                boolean capped = maxResults > 0 && (limitInt == 0 || limitInt > maxResults);
+                if (keyset())
+                    return searchAfter(method, model, output, ctx, query, arcdev.getQueryFetchSize(),
+                            capped ? maxResults : limitInt);
 
-                    remaining = numResults - maxResults;
+                QidoResultCount resultCount = null;
+                int remaining = 0;
+                if (capped && !ctx.isConsiderPurgedInstances()) {
+                    resultCount = arcdev.getQidoResultCount();
+                    if (resultCount != QidoResultCount.NONE) {
+                        boolean cached = resultCount == QidoResultCount.CACHED
+                                && arcdev.getQidoResultCountCacheStaleTimeout() != null;
+                        int numResults = (int) (service.fetchCount(query, cached ? resultCountKey() : null)
+                                - offsetInt);
+                        // a cached number of matches may be stale, so it only provides the Warning header
+                        if (numResults <= 0 && !cached)
+                            return Response.noContent().build();
+
+                        remaining = numResults - maxResults;
+                    }
                 }
-                query.executeQuery(arcdev.getQueryFetchSize(), offsetInt, remaining > 0 ? maxResults : limitInt);
+                int fetchSize = arcdev.getQueryFetchSize();
+                int queryLimit = resultCount == QidoResultCount.NONE
+                        ? maxResults + 1
+                        : capped ? maxResults : limitInt;
+                AttributesCoercion coercion = model.getAttributesCoercion(service, ctx);
+                Response.ResponseBuilder builder = Response.ok().type(output.type());
+                QueryStreamingOutput.Writer<Matches> writer = output.writer(this);
+                if (resultCount != QidoResultCount.NONE && writer != null) {
+                    // the query is only executed while streaming, so - as for queries which cannot match -
+                    // an empty result without preceding exact count is returned as empty 200 OK response
+                    if (remaining > 0)
+                        builder.header("Warning", warning(remaining));
+                    return builder.entity(new QueryStreamingOutput<>(runInTx::execute,
+                            () -> {
+                                Query streamed = model.createQuery(service, ctx);
+                                streamed.executeQuery(fetchSize, offsetInt, queryLimit);
+                                return new Matches(method, streamed, model, coercion);
+                            },
+                            writer))
+                            .build();
+                }
+                query.executeQuery(fetchSize, offsetInt, queryLimit);
                 if (!query.hasMoreMatches())
                     return Response.noContent().build();
 
-                Response.ResponseBuilder builder = Response.ok();
-                if (remaining > 0)
+                Matches matches = new Matches(method, query, model, coercion);
+                if (resultCount == QidoResultCount.NONE) {
+                    if (matches.fetch(maxResults))
+                        builder.header("Warning", warning());
+                } else if (remaining > 0)
                     builder.header("Warning", warning(remaining));
 
-                return builder.entity(
-                        output.entity(this, method, query, model, model.getAttributesCoercion(service, ctx)))
-                        .type(output.type())
-                        .build();
+                return builder.entity(output.entity(this, matches)).build();
             }
         } catch (Exception e) {
             return errResponseAsTextPlain(exceptionAsString(e), Response.Status.INTERNAL_SERVER_ERROR);
         }
     }
 
+    private Response searchAfter(String method, Model model, Output output, QueryContext ctx, Query query,
+            int fetchSize, int limit) throws DicomServiceException {
+        if (parseInt(offset) > 0 || !ctx.getOrderByTags().isEmpty() || ctx.isConsiderPurgedInstances())
+            return errResponse(
+                    "Keyset pagination cannot be combined with offset, orderby or considering purged instances",
+                    Response.Status.BAD_REQUEST);
+
+        long afterPk = continuationToken != null ? parseContinuationToken(model.name(), continuationToken) : 0L;
+        if (afterPk < 0)
+            return errResponse("Invalid continuation token: " + continuationToken, Response.Status.BAD_REQUEST);
+
+        executeQueryAfter(query, fetchSize, afterPk, limit);
+        if (!query.hasMoreMatches())
+            return Response.noContent().build();
+
+        Matches matches = new Matches(method, query, model, model.getAttributesCoercion(service, ctx));
+        Response.ResponseBuilder builder = Response.ok().type(output.type());
+        if (matches.fetch(limit))
+            builder.header(CONTINUATION_TOKEN, continuationToken(model.name(), query.lastPk()));
+        return builder.entity(output.entity(this, matches)).build();
+    }
+
+    /**
+     * Executes the query for one page of keyset pagination, fetching one match more than returned to detect if
+     * there is a further page.
+     */
+    static void executeQueryAfter(Query query, int fetchSize, long afterPk, int limit) {
+        query.executeQueryAfter(fetchSize, afterPk, limit > 0 ? limit + 1 : 0);
+    }
+
+    /**
+     * Returns key of the number of matches in the cache, derived from the request path and the query parameters
+     * which may affect the number of matches.
+     */
+    private String resultCountKey() {
+        StringBuilder sb = new StringBuilder(uriInfo.getPath());
+        char delim = '?';
+        for (Map.Entry<String, List<String>> param : new TreeMap<>(uriInfo.getQueryParameters()).entrySet()) {
+            if (NOT_AFFECTING_RESULT_COUNT.contains(param.getKey()))
+                continue;
+
+            List<String> values = new ArrayList<>(param.getValue());
+            Collections.sort(values);
+            for (String value : values) {
+                sb.append(delim).append(param.getKey()).append('=').append(value);
+                delim = '&';
+            }
+        }
+        return sb.toString();
+    }
+
+    private boolean keyset() {
+        return continuationToken != null || Boolean.parseBoolean(keyset);
+    }
+
+    static String continuationToken(String model, long pk) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((model + ':' + pk).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static long parseContinuationToken(String model, String token) {
+        try {
+            String s = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            if (s.startsWith(model + ':'))
+                return Long.parseLong(s.substring(model.length() + 1));
+        } catch (IllegalArgumentException ignore) {
+        }
+        return -1L;
+    }
+
     private boolean includeDefaults() {
         return !"false".equals(includedefaults);
     }
@@ -511,6 +632,11 @@ public class QidoRS {
                 + " \"There are " + remaining + " additional results that can be requested\"";
     }
 
+    private String warning() {
+        return "299 " + request.getServerName() + ':' + request.getServerPort()
+                + " \"There are additional results that can be requested\"";
+    }
+
     private QueryContext newQueryContext(String method, QueryAttributes queryAttrs, String studyInstanceUID,
                                          String seriesInstanceUID, Model model) {
         ApplicationEntity ae = getApplicationEntity();
@@ -682,9 +808,8 @@ public class QidoRS {
     private enum Output {
         DICOM_XML {
             @Override
-            Object entity(QidoRS service, String method, Query query, Model model, AttributesCoercion coercion)
-                    throws DicomServiceException {
-                return service.writeXML(method, query, model, coercion);
+            Object entity(QidoRS service, Matches matches) throws DicomServiceException {
+                return service.writeXML(matches);
             }
 
             @Override
@@ -694,9 +819,13 @@ public class QidoRS {
         },
         JSON {
             @Override
-            Object entity(QidoRS service, String method, Query query, Model model, AttributesCoercion coercion)
-                    throws DicomServiceException {
-                return service.writeJSON(method, query, model, coercion);
+            Object entity(QidoRS service, Matches matches) throws DicomServiceException {
+                return service.fetchedOutput(matches, service::writeJSON);
+            }
+
+            @Override
+            QueryStreamingOutput.Writer<Matches> writer(QidoRS service) {
+                return service::writeJSON;
             }
 
             @Override
@@ -706,9 +835,13 @@ public class QidoRS {
         },
         CSV {
             @Override
-            Object entity(QidoRS service, String method, Query query, Model model, AttributesCoercion coercion)
-                    throws DicomServiceException {
-                return service.writeCSV(method, query, model, coercion);
+            Object entity(QidoRS service, Matches matches) throws DicomServiceException {
+                return service.fetchedOutput(matches, service::writeCSV);
+            }
+
+            @Override
+            QueryStreamingOutput.Writer<Matches> writer(QidoRS service) {
+                return service::writeCSV;
             }
 
             @Override
@@ -717,23 +850,26 @@ public class QidoRS {
             }
         };
 
-        abstract Object entity(QidoRS service, String method, Query query, Model model, AttributesCoercion coercion)
-                throws DicomServiceException;
+        abstract Object entity(QidoRS service, Matches matches) throws DicomServiceException;
 
         abstract MediaType type();
+
+        /**
+         * Returns writer of matches which are fetched from the query while the response is written, or {@code null}
+         * if matches have to be fetched in advance.
+         */
+        QueryStreamingOutput.Writer<Matches> writer(QidoRS service) {
+            return null;
+        }
     }
 
-    private Object writeXML(String method, Query query, Model model, AttributesCoercion coercion)
-            throws DicomServiceException {
+    private Object writeXML(Matches matches) throws DicomServiceException {
+        if (!matches.isFetched())
+            matches.fetch(0);
         MultipartRelatedOutput output = new MultipartRelatedOutput();
-        int count = 0;
-        while (query != null && query.hasMoreMatches()) {
-            Attributes tmp = query.nextMatch();
-            if (tmp == null)
-                continue;
-
-            final Attributes match = adjust(tmp, model, query, coercion);
-            LOG.debug("{}: Match #{}:\n{}", method, ++count, match);
+        Attributes next;
+        while ((next = matches.next()) != null) {
+            final Attributes match = next;
             output.addPart((StreamingOutput) out -> {
                             try {
                                 SAXTransformer.getSAXWriter(new StreamResult(out)).write(match);
@@ -743,58 +879,122 @@ public class QidoRS {
                     },
                     MediaTypes.APPLICATION_DICOM_XML_TYPE);
         }
-        LOG.info("{}: {} Matches", method, count);
         return output;
     }
 
-    private Object writeJSON(String method, Query query, Model model, AttributesCoercion coercion)
+    private Object fetchedOutput(Matches matches, QueryStreamingOutput.Writer<Matches> writer)
             throws DicomServiceException {
-        final List<Attributes> matches = matches(method, query, model, coercion);
+        if (!matches.isFetched())
+            matches.fetch(0);
         return (StreamingOutput) out -> {
-                LOG.debug("Enter StreamingOutput.write");
-                JsonGenerator gen = Json.createGenerator(out);
-                JSONWriter writer = new JSONWriter(gen);
-                gen.writeStartArray();
-                for (Attributes match : matches)
-                    writer.write(match);
-                gen.writeEnd();
-                gen.flush();
-                LOG.debug("Leave StreamingOutput.write");
+            try {
+                writer.write(out, matches);
+            } catch (DicomServiceException e) {
+                throw new WebApplicationException(e);
+            }
         };
     }
 
-    private Object writeCSV(String method, Query query, Model model, AttributesCoercion coercion)
-            throws DicomServiceException {
-        final List<Attributes> matches =  matches(method, query, model, coercion);
-        return (StreamingOutput) out -> {
-            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
-            int[] tags = tagsFrom(model, matches.get(0));
+    private void writeJSON(OutputStream out, Matches matches) throws IOException {
+        LOG.debug("Enter StreamingOutput.write");
+        int flushInterval = Math.max(1,
+                device.getDeviceExtensionNotNull(ArchiveDeviceExtension.class).getQueryFetchSize());
+        JsonGenerator gen = Json.createGenerator(out);
+        JSONWriter writer = new JSONWriter(gen);
+        gen.writeStartArray();
+        Attributes match;
+        int written = 0;
+        while ((match = matches.next()) != null) {
+            writer.write(match);
+            if (++written % flushInterval == 0)
+                gen.flush();
+        }
+        gen.writeEnd();
+        gen.flush();
+        LOG.debug("Leave StreamingOutput.write");
+    }
+
+    private void writeCSV(OutputStream out, Matches matches) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Attributes match = matches.next();
+        if (match != null) {
+            int[] tags = tagsFrom(matches.model, match);
             if (tags.length != 0) {
-                writeCSVHeader(writer, tags, matches.get(0));
-                for (Attributes match : matches)
+                writeCSVHeader(writer, tags, match);
+                do {
                     write(writer, match, tags);
+                } while ((match = matches.next()) != null);
             }
-            writer.flush();
-        };
+        }
+        writer.flush();
     }
 
-    private List<Attributes> matches(String method, Query query, Model model, AttributesCoercion coercion)
-            throws DicomServiceException {
-        if (query == null)
-            return Collections.emptyList();
-
-        final ArrayList<Attributes> matches = new ArrayList<>();
-        int count = 0;
-        while (query.hasMoreMatches()) {
-            Attributes tmp = query.nextMatch();
-            if (tmp == null)
-                continue;
-            Attributes match = adjust(tmp, model, query, coercion);
-            LOG.debug("{}: Match #{}:\n{}", method, ++count, match);
-            matches.add(match);
+    /**
+     * Provides adjusted matches of a query. Unless fetched in advance by {@link #fetch(int)}, matches are fetched
+     * from the query on demand - within the transaction of {@link QueryStreamingOutput} - and the query is closed by
+     * {@link #close()}.
+     */
+    private final class Matches implements Closeable {
+        private final String method;
+        private final Query query;
+        private final Model model;
+        private final AttributesCoercion coercion;
+        private ArrayDeque<Attributes> fetched;
+        private int count;
+
+        Matches(String method, Query query, Model model, AttributesCoercion coercion) {
+            this.method = method;
+            this.query = query;
+            this.model = model;
+            this.coercion = coercion;
+        }
+
+        /**
+         * Fetches matches in advance.
+         *
+         * @param limit maximal number of fetched matches, {@code 0} for no limit
+         * @return {@code true} if there are further matches exceeding {@code limit}
+         */
+        boolean fetch(int limit) throws DicomServiceException {
+            fetched = new ArrayDeque<>();
+            Attributes match;
+            while ((limit == 0 || fetched.size() < limit) && (match = fetchNext()) != null)
+                fetched.add(match);
+            LOG.info("{}: {} Matches", method, count);
+            return limit > 0 && query != null && query.hasMoreMatches();
+        }
+
+        boolean isFetched() {
+            return fetched != null;
+        }
+
+        Attributes next() throws DicomServiceException {
+            return fetched != null ? fetched.poll() : fetchNext();
+        }
+
+        private Attributes fetchNext() throws DicomServiceException {
+            if (query == null)
+                return null;
+
+            while (query.hasMoreMatches()) {
+                Attributes tmp = query.nextMatch();
+                if (tmp == null)
+                    continue;
+                Attributes match = adjust(tmp, model, query, coercion);
+                LOG.debug("{}: Match #{}:\n{}", method, ++count, match);
+                return match;
+            }
+            return null;
+        }
+
+        @Override
+        public void close() {
+            if (fetched == null) {
+                LOG.info("{}: {} Matches", method, count);
+                if (query != null)
+                    query.close();
+            }
         }
-        LOG.info("{}: {} Matches", method, count);
-        return matches;
     }
 
     private int[] tagsFrom(Model model, Attributes match) {
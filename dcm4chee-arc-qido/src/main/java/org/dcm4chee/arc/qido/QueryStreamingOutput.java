@@ -0,0 +1,109 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2017-2019
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.qido;
+
+import org.dcm4che3.net.service.DicomServiceException;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes matches of a query, which is opened and read within a transaction spanning the whole write of the response
+ * entity - after the resource method already returned.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+class QueryStreamingOutput<T extends Closeable> implements StreamingOutput {
+
+    interface Transaction {
+        void execute(Runnable command);
+    }
+
+    interface Opener<T> {
+        T open() throws DicomServiceException;
+    }
+
+    interface Writer<T> {
+        void write(OutputStream out, T source) throws IOException;
+    }
+
+    private final Transaction tx;
+    private final Opener<T> opener;
+    private final Writer<T> writer;
+
+    QueryStreamingOutput(Transaction tx, Opener<T> opener, Writer<T> writer) {
+        this.tx = tx;
+        this.opener = opener;
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(OutputStream out) throws IOException {
+        try {
+            tx.execute(() -> {
+                try (T source = opener.open()) {
+                    writer.write(out, source);
+                } catch (DicomServiceException e) {
+                    throw new WebApplicationException(e);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(RuntimeException e) throws IOException {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UncheckedIOException)
+                throw ((UncheckedIOException) cause).getCause();
+            if (cause instanceof WebApplicationException)
+                return (WebApplicationException) cause;
+        }
+        return e;
+    }
+}
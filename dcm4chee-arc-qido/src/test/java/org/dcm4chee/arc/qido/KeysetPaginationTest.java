@@ -0,0 +1,215 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2017-2019
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.qido;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.dcm4chee.arc.query.Query;
+import org.dcm4chee.arc.query.QueryContext;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+public class KeysetPaginationTest {
+
+    private static final String MODEL = "STUDY";
+    private static final int FETCH_SIZE = 100;
+    private static final int LIMIT = 10;
+
+    @Test
+    public void testPagesThroughMoreThanOnePage() throws Exception {
+        TestQuery query = new TestQuery(25);
+        List<String> uids = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        String token = null;
+        do {
+            long afterPk = token != null ? QidoRS.parseContinuationToken(MODEL, token) : 0L;
+            assertTrue("valid continuation token", afterPk >= 0);
+            token = fetchPage(query, afterPk, uids);
+            tokens.add(token);
+        } while (token != null);
+        assertEquals(3, tokens.size());
+        assertNotNull(tokens.get(0));
+        assertNotNull(tokens.get(1));
+        assertNull(tokens.get(2));
+        assertEquals(25, uids.size());
+        for (int i = 0; i < 25; i++)
+            assertEquals("1.2." + i, uids.get(i));
+    }
+
+    @Test
+    public void testNoContinuationTokenForLastFullPage() throws Exception {
+        TestQuery query = new TestQuery(2 * LIMIT);
+        List<String> uids = new ArrayList<>();
+        String token = fetchPage(query, 0L, uids);
+        assertNotNull(token);
+        assertNull(fetchPage(query, QidoRS.parseContinuationToken(MODEL, token), uids));
+        assertEquals(2 * LIMIT, uids.size());
+    }
+
+    @Test
+    public void testNoContinuationTokenForShortPage() throws Exception {
+        TestQuery query = new TestQuery(LIMIT - 1);
+        List<String> uids = new ArrayList<>();
+        assertNull(fetchPage(query, 0L, uids));
+        assertEquals(LIMIT - 1, uids.size());
+    }
+
+    @Test
+    public void testParseContinuationToken() {
+        assertEquals(4711L, QidoRS.parseContinuationToken(MODEL, QidoRS.continuationToken(MODEL, 4711L)));
+        assertEquals(-1L, QidoRS.parseContinuationToken("SERIES", QidoRS.continuationToken(MODEL, 4711L)));
+        assertEquals(-1L, QidoRS.parseContinuationToken(MODEL, "not a token"));
+    }
+
+    /**
+     * Fetches one page as done by {@code QidoRS.searchAfter()}.
+     *
+     * @return continuation token for the next page, or {@code null} if there are no further matches
+     */
+    private static String fetchPage(Query query, long afterPk, List<String> uids) throws Exception {
+        QidoRS.executeQueryAfter(query, FETCH_SIZE, afterPk, LIMIT);
+        int count = 0;
+        while (count < LIMIT && query.hasMoreMatches()) {
+            uids.add(query.nextMatch().getString(Tag.StudyInstanceUID));
+            count++;
+        }
+        return query.hasMoreMatches() ? QidoRS.continuationToken(MODEL, query.lastPk()) : null;
+    }
+
+    /**
+     * Query over matches with primary keys {@code 10 * i + 3}, ordered by primary key.
+     */
+    private static class TestQuery implements Query {
+        private final int numMatches;
+        private int next;
+        private int end;
+        private long lastPk;
+
+        TestQuery(int numMatches) {
+            this.numMatches = numMatches;
+        }
+
+        private static long pk(int i) {
+            return 10L * i + 3;
+        }
+
+        @Override
+        public boolean isOptionalKeysNotSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void executeQuery(int fetchSize) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void executeQuery(int fetchSize, int offset, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void executeQueryAfter(int fetchSize, long afterPk, int limit) {
+            next = 0;
+            while (next < numMatches && pk(next) <= afterPk)
+                next++;
+            end = limit > 0 ? Math.min(numMatches, next + limit) : numMatches;
+            lastPk = afterPk;
+        }
+
+        @Override
+        public long lastPk() {
+            return lastPk;
+        }
+
+        @Override
+        public long fetchCount() {
+            return numMatches;
+        }
+
+        @Override
+        public Stream<Long> withUnknownSize(int fetchSize) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long fetchSize() {
+            return numMatches;
+        }
+
+        @Override
+        public boolean hasMoreMatches() {
+            return next < end;
+        }
+
+        @Override
+        public Attributes nextMatch() {
+            lastPk = pk(next);
+            Attributes match = new Attributes(1);
+            match.setString(Tag.StudyInstanceUID, VR.UI, "1.2." + next++);
+            return match;
+        }
+
+        @Override
+        public Attributes adjust(Attributes match) {
+            return match;
+        }
+
+        @Override
+        public QueryContext getQueryContext() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2017-2019
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.qido;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.net.service.DicomServiceException;
+import org.dcm4chee.arc.query.Query;
+import org.dcm4chee.arc.query.QueryContext;
+import org.junit.Test;
+
+import javax.ws.rs.WebApplicationException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+public class QueryStreamingOutputTest {
+
+    private static final int FETCH_SIZE = 100;
+    private static final int NUM_MATCHES = 250;
+
+    private boolean inTx;
+
+    private void execute(Runnable command) {
+        assertFalse("nested transaction", inTx);
+        inTx = true;
+        try {
+            command.run();
+        } finally {
+            inTx = false;
+        }
+    }
+
+    private static void writeUIDs(OutputStream out, Query query) throws IOException {
+        while (query.hasMoreMatches()) {
+            out.write(query.nextMatch().getString(Tag.StudyInstanceUID).getBytes(StandardCharsets.US_ASCII));
+            out.write('\n');
+        }
+    }
+
+    @Test
+    public void testStreamsMoreThanOneFetchWithinTransaction() throws Exception {
+        TestQuery query = new TestQuery(NUM_MATCHES);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new QueryStreamingOutput<Query>(this::execute, () -> {
+                    query.executeQuery(FETCH_SIZE, 0, 0);
+                    return query;
+                }, QueryStreamingOutputTest::writeUIDs)
+                .write(out);
+        String[] uids = out.toString("US-ASCII").split("\n");
+        assertEquals(NUM_MATCHES, uids.length);
+        assertEquals("1.2.0", uids[0]);
+        assertEquals("1.2." + (NUM_MATCHES - 1), uids[NUM_MATCHES - 1]);
+        assertEquals(3, query.fetches);
+        assertTrue(query.closed);
+        assertFalse(inTx);
+    }
+
+    @Test
+    public void testIOExceptionOfWriter() {
+        TestQuery query = new TestQuery(NUM_MATCHES);
+        IOException ex = new IOException("Connection reset");
+        try {
+            new QueryStreamingOutput<Query>(this::execute, () -> {
+                        query.executeQuery(FETCH_SIZE, 0, 0);
+                        return query;
+                    }, (out, q) -> {
+                        throw ex;
+                    })
+                    .write(new ByteArrayOutputStream());
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertSame(ex, e);
+        }
+        assertTrue(query.closed);
+    }
+
+    @Test
+    public void testDicomServiceExceptionOfOpener() throws IOException {
+        try {
+            new QueryStreamingOutput<Query>(this::execute, () -> {
+                        throw new DicomServiceException(0xA700, "Out of Resources");
+                    }, QueryStreamingOutputTest::writeUIDs)
+                    .write(new ByteArrayOutputStream());
+            fail("WebApplicationException expected");
+        } catch (WebApplicationException e) {
+            assertTrue(e.getCause() instanceof DicomServiceException);
+        }
+    }
+
+    private class TestQuery implements Query {
+        private final int numMatches;
+        private int fetchSize;
+        private int next = -1;
+        int fetches;
+        boolean closed;
+
+        TestQuery(int numMatches) {
+            this.numMatches = numMatches;
+        }
+
+        private void assertInTx() {
+            assertTrue("access outside of transaction", inTx);
+            assertFalse("access to closed query", closed);
+        }
+
+        @Override
+        public boolean isOptionalKeysNotSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            assertInTx();
+            closed = true;
+        }
+
+        @Override
+        public void executeQuery(int fetchSize) {
+            executeQuery(fetchSize, 0, 0);
+        }
+
+        @Override
+        public void executeQuery(int fetchSize, int offset, int limit) {
+            assertInTx();
+            this.fetchSize = fetchSize;
+            this.next = offset;
+        }
+
+        @Override
+        public void executeQueryAfter(int fetchSize, long afterPk, int limit) {
+            executeQuery(fetchSize, (int) afterPk, limit);
+        }
+
+        @Override
+        public long lastPk() {
+            return next;
+        }
+
+        @Override
+        public long fetchCount() {
+            return numMatches;
+        }
+
+        @Override
+        public Stream<Long> withUnknownSize(int fetchSize) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long fetchSize() {
+            return numMatches;
+        }
+
+        @Override
+        public boolean hasMoreMatches() {
+            assertInTx();
+            return next >= 0 && next < numMatches;
+        }
+
+        @Override
+        public Attributes nextMatch() {
+            assertInTx();
+            if (next % fetchSize == 0)
+                fetches++;
+            Attributes match = new Attributes(1);
+            match.setString(Tag.StudyInstanceUID, VR.UI, "1.2." + next++);
+            return match;
+        }
+
+        @Override
+        public Attributes adjust(Attributes match) {
+            return match;
+        }
+
+        @Override
+        public QueryContext getQueryContext() {
+            return null;
+        }
+    }
+}
@@ -93,6 +93,9 @@ public class QueueManagerEJB {
     @Inject
     private Event<MessageCanceled> messageCanceledEvent;
 
+    @Inject
+    private ScheduledMessageCounters scheduledMessageCounters;
+
     @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
     public ObjectMessage createObjectMessage(Serializable object) {
         return jmsCtx.createObjectMessage(object);
@@ -102,13 +105,15 @@ public class QueueManagerEJB {
             throws QueueSizeLimitExceededException {
         QueueDescriptor queueDescriptor = descriptorOf(queueName);
         int maxQueueSize = queueDescriptor.getMaxQueueSize();
-        if (maxQueueSize > 0 && maxQueueSize < countScheduledMessagesOnThisDevice(queueName))
+        if (maxQueueSize > 0 && maxQueueSize < scheduledMessageCounters.get(queueName,
+                () -> countScheduledMessagesOnThisDevice(queueName)))
             throw new QueueSizeLimitExceededException(queueDescriptor);
 
         sendMessage(queueDescriptor, msg, delay, priority);
         QueueMessage entity = new QueueMessage(device.getDeviceName(), queueName, msg, delay);
         entity.setBatchID(batchID);
         em.persist(entity);
+        scheduledMessageCounters.add(queueName, 1);
         LOG.info("Schedule Task[id={}] at Queue {}", entity.getMessageID(), entity.getQueueName());
         return entity;
     }
@@ -131,7 +136,7 @@ public class QueueManagerEJB {
                 LOG.info("Start processing Task[id={}] from Queue {} with Status: {}",
                         entity.getMessageID(), entity.getQueueName(), entity.getStatus());
                 entity.setProcessingStartTime(new Date());
-                entity.setStatus(QueueMessage.Status.IN_PROCESS);
+                setStatus(entity, QueueMessage.Status.IN_PROCESS);
                 setUpdateTime(entity);
                 return entity;
             default:
@@ -152,7 +157,7 @@ public class QueueManagerEJB {
         String queueName = entity.getQueueName();
         entity.setProcessingEndTime(new Date());
         entity.setOutcomeMessage(outcome.getDescription());
-        entity.setStatus(status);
+        setStatus(entity, status);
         setUpdateTime(entity);
         if (status == QueueMessage.Status.COMPLETED
                 || status == QueueMessage.Status.WARNING && !descriptorOf(queueName).isRetryOnWarning()) {
@@ -164,12 +169,10 @@ public class QueueManagerEJB {
         if (delay >= 0) {
             LOG.info("Failed processing of Task[id={}] at Queue {} with Status {} - retry",
                     msgId, queueName, status);
-            entity.setStatus(QueueMessage.Status.SCHEDULED);
             rescheduleTask(entity, descriptor, delay * 1000L);
             return entity;
         }
         LOG.warn("Failed processing of Task[id={}] at Queue {} with Status {}", msgId, queueName, status);
-        entity.setStatus(status);
         return entity;
     }
 
@@ -187,7 +190,7 @@ public class QueueManagerEJB {
         long delay = descriptor.getRetryDelayInSeconds(entity.incrementNumberOfFailures());
         if (delay < 0) {
             LOG.warn("Failed processing of Task[id={}] at Queue {}:\n", msgId, entity.getQueueName(), e);
-            entity.setStatus(QueueMessage.Status.FAILED);
+            setStatus(entity, QueueMessage.Status.FAILED);
             setUpdateTime(entity);
         } else {
             LOG.info("Failed processing of Task[id={}] at Queue {} - retry:\n", msgId, entity.getQueueName(), e);
@@ -217,12 +220,23 @@ public class QueueManagerEJB {
     }
 
     private void cancelTask(QueueMessage entity) {
-        entity.setStatus(QueueMessage.Status.CANCELED);
+        setStatus(entity, QueueMessage.Status.CANCELED);
         setUpdateTime(entity);
         LOG.info("Cancel processing of Task[id={}] at Queue {}", entity.getMessageID(), entity.getQueueName());
         messageCanceledEvent.fire(new MessageCanceled(entity.getMessageID()));
     }
 
+    private void setStatus(QueueMessage entity, QueueMessage.Status status) {
+        boolean scheduled = isScheduledOnThisDevice(entity);
+        entity.setStatus(status);
+        scheduledMessageCounters.update(entity.getQueueName(), scheduled, isScheduledOnThisDevice(entity));
+    }
+
+    private boolean isScheduledOnThisDevice(QueueMessage entity) {
+        return entity.getStatus() == QueueMessage.Status.SCHEDULED
+                && device.getDeviceName().equals(entity.getDeviceName());
+    }
+
     private void setUpdateTime(QueueMessage entity) {
         if (entity.getExportTask() != null)
             entity.getExportTask().setUpdatedTime();
@@ -305,6 +319,7 @@ public class QueueManagerEJB {
     }
 
     private long updateStatus(Subquery<QueueMessage> sq, QueueMessage.Status status, Date now) {
+        scheduledMessageCounters.invalidate();
         CriteriaUpdate<QueueMessage> q = em.getCriteriaBuilder().createCriteriaUpdate(QueueMessage.class);
         Root<QueueMessage> queueMsg = q.from(QueueMessage.class);
         return em.createQuery(q.where(queueMsg.get(QueueMessage_.pk).in(sq))
@@ -477,8 +492,10 @@ public class QueueManagerEJB {
             sendMessage(descriptor, msg, delay, entity.getPriority());
             entity.setMessageID(msg.getJMSMessageID());
             entity.setScheduledTime(new Date(System.currentTimeMillis() + delay));
+            boolean scheduled = isScheduledOnThisDevice(entity);
             entity.setStatus(QueueMessage.Status.SCHEDULED);
             entity.setDeviceName(device.getDeviceName());
+            scheduledMessageCounters.update(entity.getQueueName(), scheduled, true);
             setUpdateTime(entity);
             LOG.info("Reschedule Task[id={}] at Queue {}", entity.getMessageID(), entity.getQueueName());
         } catch (JMSException e) {
@@ -515,6 +532,8 @@ public class QueueManagerEJB {
     private void deleteTask(QueueMessage entity, boolean deleteAssociated) {
         if (entity.getStatus() == QueueMessage.Status.IN_PROCESS)
             messageCanceledEvent.fire(new MessageCanceled(entity.getMessageID()));
+        if (isScheduledOnThisDevice(entity))
+            scheduledMessageCounters.add(entity.getQueueName(), -1);
 
         if (deleteAssociated) {
             if (entity.getExportTask() != null)
@@ -688,8 +707,10 @@ public class QueueManagerEJB {
                                 .setParameter(2, QueueMessage.Status.IN_PROCESS)
                                 .setParameter(3, desc.getQueueName())
                                 .executeUpdate();
-                        if (scheduled > 0)
+                        if (scheduled > 0) {
+                            scheduledMessageCounters.invalidate();
                             LOG.info("State of {} IN PROCESS tasks changed to SCHEDULED", scheduled);
+                        }
                     }
                 });
     }
@@ -0,0 +1,114 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.qmgt.impl;
+
+import org.dcm4chee.arc.metrics.MetricsService;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the number of scheduled messages on this device for each queue, maintained on status transitions of
+ * messages by {@link QueueManagerEJB}, so the queue size does not need to be queried from the database for each
+ * scheduled message. Counters are reconciled with the database after {@link #RECONCILE_INTERVAL}, or after
+ * messages were updated by bulk operations. Changes are recorded as metrics {@code queue-scheduled-<queue-name>}.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+@ApplicationScoped
+class ScheduledMessageCounters {
+
+    private static final long RECONCILE_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Inject
+    private MetricsService metricsService;
+
+    private static final class Counter {
+        final AtomicLong value;
+        final long reconciled = System.nanoTime();
+
+        Counter(long value) {
+            this.value = new AtomicLong(value);
+        }
+
+        boolean isStale() {
+            return System.nanoTime() - reconciled > RECONCILE_INTERVAL;
+        }
+    }
+
+    long get(String queueName, LongSupplier count) {
+        Counter counter = counters.get(queueName);
+        if (counter == null || counter.isStale()) {
+            counters.put(queueName, counter = new Counter(count.getAsLong()));
+            accept(queueName, counter);
+        }
+        return counter.value.get();
+    }
+
+    void add(String queueName, int delta) {
+        Counter counter = counters.get(queueName);
+        if (counter != null) {
+            counter.value.addAndGet(delta);
+            accept(queueName, counter);
+        }
+    }
+
+    void update(String queueName, boolean scheduledBefore, boolean scheduledAfter) {
+        if (scheduledBefore != scheduledAfter)
+            add(queueName, scheduledAfter ? 1 : -1);
+    }
+
+    void invalidate() {
+        counters.clear();
+    }
+
+    private void accept(String queueName, Counter counter) {
+        metricsService.accept("queue-scheduled-" + queueName, counter.value::get);
+    }
+}
@@ -51,7 +51,9 @@ import org.dcm4che3.net.Status;
 import org.dcm4che3.net.pdu.PresentationContext;
 import org.dcm4che3.net.service.BasicQueryTask;
 import org.dcm4che3.net.service.DicomServiceException;
+import org.dcm4che3.util.StringUtils;
 import org.dcm4chee.arc.conf.ArchiveAEExtension;
+import org.dcm4chee.arc.conf.ArchiveDeviceExtension;
 import org.dcm4chee.arc.conf.SpanningCFindSCPPolicy;
 import org.dcm4chee.arc.query.Query;
 import org.dcm4chee.arc.query.QueryContext;
@@ -61,6 +63,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -81,6 +84,9 @@ public class ArchiveQueryTask extends BasicQueryTask {
     private final SpanningCFindSCPPolicy spanningPolicy;
     private final int queryMaxNumberOfResults;
     private final int queryFetchSize;
+    private final int queryBufferSize;
+    private final String spoolDirectory;
+    private BufferedMatches bufferedMatches;
     private Association spanningAssoc;
     private DimseRSP spanningCFindRSP;
     private Attributes spanningMatch;
@@ -102,16 +108,50 @@ public class ArchiveQueryTask extends BasicQueryTask {
         spanningRetrieveAETs = arcAE.spanningCFindSCPRetrieveAETitles();
         spanningPolicy = arcAE.spanningCFindSCPPolicy();
         queryMaxNumberOfResults = arcAE.queryMaxNumberOfResults();
-        queryFetchSize = arcAE.getArchiveDeviceExtension().getQueryFetchSize();
+        ArchiveDeviceExtension arcDev = arcAE.getArchiveDeviceExtension();
+        queryFetchSize = arcDev.getQueryFetchSize();
+        queryBufferSize = arcDev.getQueryBufferSize();
+        spoolDirectory = arcDev.getBulkDataSpoolDirectory();
     }
 
     @Override
     public void run() {
-        runInTx.execute(super::run);
+        if (queryBufferSize == 0) {
+            runInTx.execute(super::run);
+            return;
+        }
+        bufferedMatches = new BufferedMatches(queryBufferSize,
+                Paths.get(StringUtils.replaceSystemProperties(spoolDirectory)));
+        as.getApplicationEntity().getDevice().execute(() -> runInTx.execute(this::bufferMatches));
+        super.run();
+    }
+
+    /**
+     * Fetches all matches within the database transaction into {@link #bufferedMatches}, from which they are sent
+     * by {@link #run()} after the transaction was closed.
+     */
+    private void bufferMatches() {
+        try {
+            while (!bufferedMatches.isClosed() && state.hasMoreMatches(this)) {
+                Attributes match = state.adjust(this, state.nextMatch(this));
+                if (match != null)
+                    bufferedMatches.put(match);
+            }
+            bufferedMatches.finish(null);
+        } catch (Exception e) {
+            bufferedMatches.finish(e);
+        } finally {
+            closeQuery();
+            releaseSpanningAssociation();
+        }
     }
 
     @Override
     protected void close() {
+        if (bufferedMatches != null) {
+            bufferedMatches.close();
+            return;
+        }
         closeQuery();
         releaseSpanningAssociation();
     }
@@ -137,7 +177,7 @@ public class ArchiveQueryTask extends BasicQueryTask {
     @Override
     protected boolean hasMoreMatches() throws DicomServiceException {
         try {
-            return state.hasMoreMatches(this);
+            return bufferedMatches != null ? bufferedMatches.hasNext() : state.hasMoreMatches(this);
         }  catch (DicomServiceException e) {
             throw e;
         }  catch (Exception e) {
@@ -148,7 +188,7 @@ public class ArchiveQueryTask extends BasicQueryTask {
     @Override
     protected Attributes nextMatch() throws DicomServiceException {
         try {
-            return state.nextMatch(this);
+            return bufferedMatches != null ? bufferedMatches.next() : state.nextMatch(this);
         }  catch (Exception e) {
             throw new DicomServiceException(Status.UnableToProcess, e);
         }
@@ -156,7 +196,7 @@ public class ArchiveQueryTask extends BasicQueryTask {
 
     @Override
     protected Attributes adjust(Attributes match) {
-        return state.adjust(this, match);
+        return bufferedMatches != null ? match : state.adjust(this, match);
     }
 
     private void initQuery() throws DicomServiceException {
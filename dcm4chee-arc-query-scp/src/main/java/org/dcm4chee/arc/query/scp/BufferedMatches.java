@@ -0,0 +1,153 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.query.scp;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.util.SafeClose;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+
+/**
+ * Passes matches of a C-FIND request from the thread fetching them from the database to the thread sending them
+ * to the SCU, without blocking the fetching thread. Up to {@code maxInMemory} matches are kept in memory, further
+ * matches are spooled to a temporary file in {@code spoolDirectory}, until the sending thread caught up.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+class BufferedMatches implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BufferedMatches.class);
+
+    private final int maxInMemory;
+    private final Path spoolDirectory;
+    private final ArrayDeque<Attributes> memory = new ArrayDeque<>();
+    private Path spoolFile;
+    private ObjectOutputStream spoolOut;
+    private ObjectInputStream spoolIn;
+    private int unread;
+    private boolean finished;
+    private boolean closed;
+    private Exception exception;
+
+    BufferedMatches(int maxInMemory, Path spoolDirectory) {
+        this.maxInMemory = maxInMemory;
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    synchronized void put(Attributes match) throws IOException {
+        if (closed)
+            return;
+
+        if (unread == 0 && memory.size() < maxInMemory) {
+            memory.add(match);
+            notifyAll();
+            return;
+        }
+        if (spoolOut == null) {
+            Files.createDirectories(spoolDirectory);
+            spoolFile = Files.createTempFile(spoolDirectory, "query", null);
+            spoolOut = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(spoolFile)));
+            LOG.debug("Spool matches exceeding {} to {}", maxInMemory, spoolFile);
+        }
+        spoolOut.writeObject(match);
+        spoolOut.reset();
+        unread++;
+        notifyAll();
+    }
+
+    synchronized void finish(Exception e) {
+        finished = true;
+        exception = e;
+        notifyAll();
+    }
+
+    synchronized boolean hasNext() throws Exception {
+        while (memory.isEmpty() && unread == 0) {
+            if (exception != null)
+                throw exception;
+            if (finished || closed)
+                return false;
+            wait();
+        }
+        return true;
+    }
+
+    synchronized Attributes next() throws IOException, ClassNotFoundException {
+        if (!memory.isEmpty())
+            return memory.poll();
+
+        if (unread == 0)
+            return null;
+
+        spoolOut.flush();
+        if (spoolIn == null)
+            spoolIn = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(spoolFile)));
+        unread--;
+        return (Attributes) spoolIn.readObject();
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        memory.clear();
+        notifyAll();
+        if (spoolFile != null) {
+            SafeClose.close(spoolIn);
+            SafeClose.close(spoolOut);
+            try {
+                Files.delete(spoolFile);
+            } catch (IOException e) {
+                LOG.warn("Failed to delete {}", spoolFile, e);
+            }
+            spoolFile = null;
+        }
+    }
+}
@@ -44,15 +44,16 @@ import org.dcm4che3.data.Attributes;
 import org.dcm4che3.data.AttributesCoercion;
 import org.dcm4che3.data.Tag;
 import org.dcm4che3.net.ApplicationEntity;
+import org.dcm4che3.net.Connection;
 import org.dcm4che3.net.Priority;
 import org.dcm4che3.net.service.QueryRetrieveLevel2;
-import org.dcm4chee.arc.Cache;
 import org.dcm4chee.arc.LeadingCFindSCPQueryCache;
 import org.dcm4chee.arc.conf.ArchiveDeviceExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -90,31 +91,52 @@ public class CFindSCUAttributeCoercion implements AttributesCoercion {
     @Override
     public void coerce(Attributes attrs, Attributes modified) {
         String studyIUID = attrs.getString(Tag.StudyInstanceUID);
-        Attributes newAttrs = queryStudy(studyIUID);
-        if (newAttrs != null)
-            attrs.update(attributeUpdatePolicy, newAttrs, modified);
-        else
-            LOG.warn("Failed to query Study[{}] from {} - do not coerce attributes", studyIUID, leadingCFindSCP);
+        try {
+            Attributes newAttrs = queryStudy(studyIUID);
+            if (newAttrs != null)
+                attrs.update(attributeUpdatePolicy, newAttrs, modified);
+            else
+                LOG.warn("Study[{}] not found at {} - do not coerce attributes", studyIUID, leadingCFindSCP);
+        } catch (CompletionException e) {
+            LOG.warn("Failed to query Study[{}] from {} - do not coerce attributes:\n",
+                    studyIUID, leadingCFindSCP, e.getCause());
+        }
         if (next != null)
             next.coerce(attrs, modified);
     }
 
     private Attributes queryStudy(String studyIUID) {
-        LeadingCFindSCPQueryCache.Key key = new LeadingCFindSCPQueryCache.Key(leadingCFindSCP, studyIUID);
-        Cache.Entry<Attributes> entry = queryCache.getEntry(key);
-        if (entry != null)
-            return entry.value();
+        return queryCache.getEntry(new LeadingCFindSCPQueryCache.Key(leadingCFindSCP, studyIUID),
+                key -> findStudy(studyIUID), cfindTimeout()).value();
+    }
+
+    /**
+     * Returns the maximal duration of the C-FIND to the leading C-FIND SCP - the sum of the connect, A-ASSOCIATE
+     * request and DIMSE response timeouts of the connections of the local AE - to bound the wait for a C-FIND for
+     * the same Study already in progress. {@code 0}, if any of them is not limited.
+     */
+    private long cfindTimeout() {
+        long timeout = 0L;
+        for (Connection conn : localAE.getConnections()) {
+            if (conn.getConnectTimeout() <= 0 || conn.getRequestTimeout() <= 0 || conn.getResponseTimeout() <= 0)
+                return 0L;
+            timeout = Math.max(timeout,
+                    (long) conn.getConnectTimeout() + conn.getRequestTimeout() + conn.getResponseTimeout());
+        }
+        return timeout;
+    }
 
-        Attributes newAttrs = null;
+    /**
+     * Throws a {@link CompletionException} on failure of the C-FIND, so no negative result is cached.
+     */
+    private Attributes findStudy(String studyIUID) {
         try {
             ArchiveDeviceExtension arcdev = localAE.getDevice().getDeviceExtensionNotNull(ArchiveDeviceExtension.class);
             List<Attributes> matches = cfindSCU.findStudy(localAE, leadingCFindSCP, Priority.NORMAL, studyIUID,
                     arcdev.returnKeysForLeadingCFindSCP(leadingCFindSCP));
-            if (!matches.isEmpty())
-                newAttrs = matches.get(0);
+            return matches.isEmpty() ? null : matches.get(0);
         } catch (Exception e) {
+            throw new CompletionException(e);
         }
-        queryCache.put(key, newAttrs);
-        return newAttrs;
     }
 }
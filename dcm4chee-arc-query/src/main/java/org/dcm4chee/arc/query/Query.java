@@ -60,6 +60,22 @@ public interface Query extends Closeable {
 
     void executeQuery(int fetchSize, int offset, int limit);
 
+    /**
+     * Execute query returning matching entities ordered by their primary key, starting after the entity with the
+     * specified primary key. In contrast to {@link #executeQuery(int, int, int)}, the cost of fetching a page does
+     * not depend on its position in the result. Order by tags of the query context are ignored.
+     *
+     * @param fetchSize JDBC fetch size
+     * @param afterPk   primary key of the last entity returned by the previous page, or {@code 0} for the first page
+     * @param limit     maximal number of returned entities, or {@code 0} for no limit
+     */
+    void executeQueryAfter(int fetchSize, long afterPk, int limit);
+
+    /**
+     * @return primary key of the entity of the last match returned by {@link #nextMatch()}
+     */
+    long lastPk();
+
     long fetchCount();
 
     Stream<Long> withUnknownSize(int fetchSize);
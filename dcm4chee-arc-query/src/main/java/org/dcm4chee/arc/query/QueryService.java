@@ -93,6 +93,16 @@ public interface QueryService {
 
     Query createUPSWithoutQueryEvent(QueryContext ctx);
 
+    /**
+     * Returns the number of matches of {@code query}. If {@code key} is not {@code null}, the number of matches of
+     * a previous query with equal {@code key} is returned, if it is still cached.
+     *
+     * @param query query
+     * @param key   key of the number of matches in the cache or {@code null}
+     * @return number of matches
+     */
+    long fetchCount(Query query, String key);
+
     Attributes getSeriesAttributes(QueryContext context, Long seriesPk);
 
     void addLocationAttributes(Attributes attrs, Long instancePk);
@@ -52,6 +52,8 @@ import org.hibernate.annotations.QueryHints;
 import javax.persistence.*;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
 import java.util.Iterator;
 import java.util.stream.Stream;
 
@@ -68,6 +70,8 @@ abstract class AbstractQuery implements Query {
     private Stream<Tuple> resultStream;
     private Iterator<Tuple> results;
     private int offset;
+    private long afterPk = -1L;
+    private long lastPk;
     private int limit;
     private int fetchSize;
     private int rejected;
@@ -92,13 +96,27 @@ abstract class AbstractQuery implements Query {
 
     @Override
     public void executeQuery(int fetchSize, int offset, int limit) {
+        executeQuery(fetchSize, offset, -1L, limit);
+    }
+
+    @Override
+    public void executeQueryAfter(int fetchSize, long afterPk, int limit) {
+        executeQuery(fetchSize, 0, afterPk, limit);
+    }
+
+    private void executeQuery(int fetchSize, int offset, long afterPk, int limit) {
         this.fetchSize = fetchSize;
         this.offset = offset;
+        this.afterPk = afterPk;
+        this.lastPk = afterPk;
         this.limit = limit;
         rejected = 0;
         matches = 0;
         close(resultStream);
-        TypedQuery<Tuple> query = em.createQuery(multiselect())
+        CriteriaQuery<Tuple> q = multiselect();
+        if (afterPk >= 0)
+            seekAfter(q, afterPk);
+        TypedQuery<Tuple> query = em.createQuery(q)
                 .setHint(QueryHints.FETCH_SIZE, fetchSize);
         if (offset > 0)
             query.setFirstResult(offset);
@@ -131,19 +149,38 @@ abstract class AbstractQuery implements Query {
         if (hasNext || rejected == 0 || limit != matches)
             return hasNext;
 
-        executeQuery(fetchSize, offset + matches, rejected);
+        if (afterPk >= 0)
+            executeQuery(fetchSize, 0, lastPk, rejected);
+        else
+            executeQuery(fetchSize, offset + matches, -1L, rejected);
         return results.hasNext();
     }
 
     @Override
     public Attributes nextMatch() {
-        Attributes attrs = toAttributes(results.next());
+        Tuple tuple = results.next();
+        if (afterPk >= 0)
+            lastPk = tuple.get(pk());
+        Attributes attrs = toAttributes(tuple);
         matches++;
         if (attrs == null)
             rejected++;
         return attrs;
     }
 
+    @Override
+    public long lastPk() {
+        return lastPk;
+    }
+
+    private void seekAfter(CriteriaQuery<Tuple> q, long afterPk) {
+        Path<Long> pk = pk();
+        Predicate restriction = q.getRestriction();
+        Predicate greaterThan = cb.greaterThan(pk, afterPk);
+        q.where(restriction != null ? cb.and(restriction, greaterThan) : greaterThan);
+        q.orderBy(cb.asc(pk));
+    }
+
     @Override
     public Attributes adjust(Attributes match) {
         if (match == null)
@@ -173,6 +210,11 @@ abstract class AbstractQuery implements Query {
 
     protected abstract CriteriaQuery<Long> count();
 
+    /**
+     * @return path to the primary key of the queried entity, which has to be included in {@link #multiselect()}
+     */
+    protected abstract Path<Long> pk();
+
     protected CriteriaQuery<Long> sumStudySize() {
         throw new UnsupportedOperationException();
     }
@@ -145,6 +145,11 @@ class InstanceQuery extends AbstractQuery {
         return restrict(q, patient, study, series, instance).select(cb.count(instance));
     }
 
+    @Override
+    protected Path<Long> pk() {
+        return instance.get(Instance_.pk);
+    }
+
     @Override
     protected Attributes toAttributes(Tuple results) {
         Long seriesPk = results.get(series.get(Series_.pk));
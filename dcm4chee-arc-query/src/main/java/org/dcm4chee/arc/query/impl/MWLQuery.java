@@ -73,6 +73,7 @@ public class MWLQuery extends AbstractQuery {
         this.mwlItem = q.from(MWLItem.class);
         this.patient = mwlItem.join(MWLItem_.patient);
         return order(restrict(q, patient, mwlItem)).multiselect(
+                mwlItem.get(MWLItem_.pk),
                 patient.get(Patient_.numberOfStudies),
                 patientAttrBlob = patient.join(Patient_.attributesBlob).get(AttributesBlob_.encodedAttributes),
                 mwlAttrBlob = mwlItem.join(MWLItem_.attributesBlob).get(AttributesBlob_.encodedAttributes));
@@ -86,6 +87,11 @@ public class MWLQuery extends AbstractQuery {
         return restrict(q, patient, mwlItem).select(cb.count(mwlItem));
     }
 
+    @Override
+    protected Path<Long> pk() {
+        return mwlItem.get(MWLItem_.pk);
+    }
+
     @Override
     protected Attributes toAttributes(Tuple results) {
         Attributes mwlAttrs = AttributesBlob.decodeAttributes(results.get(mwlAttrBlob), null);
@@ -90,6 +90,11 @@ class PatientQuery extends AbstractQuery {
         return restrict(q, patient).select(cb.count(patient));
     }
 
+    @Override
+    protected Path<Long> pk() {
+        return patient.get(Patient_.pk);
+    }
+
     @Override
     protected Attributes toAttributes(Tuple results) {
         Attributes patAttrs = AttributesBlob.decodeAttributes(results.get(patientAttrBlob), null);
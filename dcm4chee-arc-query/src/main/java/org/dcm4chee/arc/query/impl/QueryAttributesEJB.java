@@ -150,6 +150,11 @@ public class QueryAttributesEJB {
         } catch (NoResultException e) {
             return false;
         }
+        calculateStudyQueryAttributes(studyPk);
+        return true;
+    }
+
+    public void calculateStudyQueryAttributes(Long studyPk) {
         ArchiveDeviceExtension arcDev = device.getDeviceExtensionNotNull(ArchiveDeviceExtension.class);
         Set<String> viewIDs = new HashSet<>(arcDev.getQueryRetrieveViewIDs());
         viewIDs.removeAll(em.createNamedQuery(StudyQueryAttributes.VIEW_IDS_FOR_STUDY_PK, String.class)
@@ -159,7 +164,12 @@ public class QueryAttributesEJB {
         for (String viewID : viewIDs) {
             calculateStudyQueryAttributes(studyPk, arcDev.getQueryRetrieveView(viewID));
         }
-        return true;
+    }
+
+    public List<Long> findStudiesWithUnknownSize(int fetchSize) {
+        return em.createNamedQuery(Study.STUDY_PKS_WITH_UNKNOWN_SIZE, Long.class)
+                .setMaxResults(fetchSize)
+                .getResultList();
     }
 
     private static class SeriesQueryAttributesBuilder {
@@ -0,0 +1,114 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2013-2019
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.query.impl;
+
+import org.dcm4chee.arc.Scheduler;
+import org.dcm4chee.arc.conf.ArchiveDeviceExtension;
+import org.dcm4chee.arc.conf.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.List;
+
+/**
+ * Recalculates missing Study and Series Query Attributes and the size of Studies marked by an unknown size, so
+ * they do not have to be calculated on subsequent queries.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+@ApplicationScoped
+public class QueryAttributesScheduler extends Scheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryAttributesScheduler.class);
+
+    @Inject
+    private QueryAttributesEJB queryAttributesEJB;
+
+    @Inject
+    private QuerySizeEJB querySizeEJB;
+
+    protected QueryAttributesScheduler() {
+        super(Mode.scheduleWithFixedDelay);
+    }
+
+    @Override
+    protected Logger log() {
+        return LOG;
+    }
+
+    @Override
+    protected Duration getPollingInterval() {
+        ArchiveDeviceExtension arcDev = device.getDeviceExtension(ArchiveDeviceExtension.class);
+        return arcDev != null ? arcDev.getQueryAttributesPollingInterval() : null;
+    }
+
+    @Override
+    protected void execute() {
+        ArchiveDeviceExtension arcDev = device.getDeviceExtension(ArchiveDeviceExtension.class);
+        int fetchSize = arcDev.getQueryAttributesFetchSize();
+        List<Long> studyPks;
+        do {
+            if (getPollingInterval() == null)
+                return;
+
+            studyPks = queryAttributesEJB.findStudiesWithUnknownSize(fetchSize);
+            int failures = 0;
+            for (Long studyPk : studyPks) {
+                if (getPollingInterval() == null)
+                    return;
+
+                try {
+                    queryAttributesEJB.calculateStudyQueryAttributes(studyPk);
+                    long size = querySizeEJB.calculateStudySize(studyPk);
+                    LOG.debug("Recalculated Query Attributes and size={} of Study[pk={}]", size, studyPk);
+                } catch (Exception e) {
+                    LOG.warn("Failed to recalculate Query Attributes of Study[pk={}]:\n", studyPk, e);
+                    failures++;
+                }
+            }
+            if (failures > 0 && failures == studyPks.size())
+                return;
+        } while (studyPks.size() == fetchSize);
+    }
+}
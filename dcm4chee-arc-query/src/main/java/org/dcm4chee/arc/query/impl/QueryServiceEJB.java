@@ -97,9 +97,15 @@ public class QueryServiceEJB {
                 QueryBuilder.joinStudyQueryAttributes(cb, study, viewID);
         CollectionJoin<Series, SeriesQueryAttributes> seriesQueryAttributesPath =
                 QueryBuilder.joinSeriesQueryAttributes(cb, series, viewID);
-        Path<byte[]> seriesAttrBlob = series.join(Series_.attributesBlob).get(AttributesBlob_.encodedAttributes);
-        Path<byte[]> studyAttrBlob = study.join(Study_.attributesBlob).get(AttributesBlob_.encodedAttributes);
-        Path<byte[]> patAttrBlob = patient.join(Patient_.attributesBlob).get(AttributesBlob_.encodedAttributes);
+        Join<Series, AttributesBlob> seriesBlob = series.join(Series_.attributesBlob);
+        Join<Study, AttributesBlob> studyBlob = study.join(Study_.attributesBlob);
+        Join<Patient, AttributesBlob> patBlob = patient.join(Patient_.attributesBlob);
+        Path<Long> seriesAttrBlobPk = seriesBlob.get(AttributesBlob_.pk);
+        Path<byte[]> seriesAttrBlob = seriesBlob.get(AttributesBlob_.encodedAttributes);
+        Path<Long> studyAttrBlobPk = studyBlob.get(AttributesBlob_.pk);
+        Path<byte[]> studyAttrBlob = studyBlob.get(AttributesBlob_.encodedAttributes);
+        Path<Long> patAttrBlobPk = patBlob.get(AttributesBlob_.pk);
+        Path<byte[]> patAttrBlob = patBlob.get(AttributesBlob_.encodedAttributes);
         Tuple result;
         try {
             result = em.createQuery(q.multiselect(
@@ -150,8 +156,11 @@ public class QueryServiceEJB {
                     studyQueryAttributesPath.get(StudyQueryAttributes_.numberOfSeries),
                     studyQueryAttributesPath.get(StudyQueryAttributes_.modalitiesInStudy),
                     studyQueryAttributesPath.get(StudyQueryAttributes_.sopClassesInStudy),
+                    seriesAttrBlobPk,
                     seriesAttrBlob,
+                    studyAttrBlobPk,
                     studyAttrBlob,
+                    patAttrBlobPk,
                     patAttrBlob)
                     .where(cb.equal(series.get(Series_.pk), seriesPk))
             ).getSingleResult();
@@ -190,9 +199,12 @@ public class QueryServiceEJB {
             sopClassesInStudy =
                     result.get(studyQueryAttributesPath.get(StudyQueryAttributes_.sopClassesInStudy));
         }
-        Attributes patAttrs = AttributesBlob.decodeAttributes(result.get(patAttrBlob), null);
-        Attributes studyAttrs = AttributesBlob.decodeAttributes(result.get(studyAttrBlob), null);
-        Attributes seriesAttrs = AttributesBlob.decodeAttributes(result.get(seriesAttrBlob), null);
+        Attributes patAttrs = AttributesBlob.decodeAttributes(
+                result.get(patAttrBlobPk), result.get(patAttrBlob));
+        Attributes studyAttrs = AttributesBlob.decodeAttributes(
+                result.get(studyAttrBlobPk), result.get(studyAttrBlob));
+        Attributes seriesAttrs = AttributesBlob.decodeAttributes(
+                result.get(seriesAttrBlobPk), result.get(seriesAttrBlob));
         Attributes.unifyCharacterSets(patAttrs, studyAttrs, seriesAttrs);
         Attributes attrs = new Attributes(patAttrs.size() + studyAttrs.size() + seriesAttrs.size() + 20);
         attrs.addAll(patAttrs);
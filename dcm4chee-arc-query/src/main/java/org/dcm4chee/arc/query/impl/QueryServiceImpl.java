@@ -51,6 +51,7 @@ import org.dcm4che3.util.SafeClose;
 import org.dcm4che3.util.StringUtils;
 import org.dcm4che3.util.UIDUtils;
 import org.dcm4chee.arc.LeadingCFindSCPQueryCache;
+import org.dcm4chee.arc.QueryCountCache;
 import org.dcm4chee.arc.code.CodeCache;
 import org.dcm4chee.arc.conf.*;
 import org.dcm4chee.arc.entity.*;
@@ -118,6 +119,9 @@ class QueryServiceImpl implements QueryService {
     @Inject
     private LeadingCFindSCPQueryCache leadingCFindSCPQueryCache;
 
+    @Inject
+    private QueryCountCache queryCountCache;
+
     @Inject
     private CodeCache codeCache;
 
@@ -194,6 +198,19 @@ class QueryServiceImpl implements QueryService {
         return createUPSWithoutQueryEvent(ctx);
     }
 
+    @Override
+    public long fetchCount(Query query, String key) {
+        if (key == null)
+            return query.fetchCount();
+
+        Long count = queryCountCache.get(key);
+        if (count == null) {
+            count = query.fetchCount();
+            queryCountCache.put(key, count);
+        }
+        return count;
+    }
+
     @Override
     public Query createUPSWithoutQueryEvent(QueryContext ctx) {
         return new UPSQuery(ctx, em);
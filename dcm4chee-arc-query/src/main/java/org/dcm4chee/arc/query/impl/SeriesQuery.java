@@ -69,7 +69,9 @@ class SeriesQuery extends AbstractQuery {
     private Join<Series, Metadata> metadata;
     private CollectionJoin<Study, StudyQueryAttributes> studyQueryAttributes;
     private CollectionJoin<Series, SeriesQueryAttributes> seriesQueryAttributes;
+    private Path<Long> patientAttrBlobPk;
     private Path<byte[]> patientAttrBlob;
+    private Path<Long> studyAttrBlobPk;
     private Path<byte[]> studyAttrBlob;
     private Path<byte[]> seriesAttrBlob;
     private Long studyPk;
@@ -90,6 +92,8 @@ class SeriesQuery extends AbstractQuery {
                 context.getQueryParam().getViewID());
         this.seriesQueryAttributes = QueryBuilder.joinSeriesQueryAttributes(cb, series,
                 context.getQueryParam().getViewID());
+        Join<Patient, AttributesBlob> patientBlob = patient.join(Patient_.attributesBlob);
+        Join<Study, AttributesBlob> studyBlob = study.join(Study_.attributesBlob);
         return order(restrict(q, patient, study, series)).multiselect(
                 study.get(Study_.pk),
                 series.get(Series_.pk),
@@ -142,8 +146,10 @@ class SeriesQuery extends AbstractQuery {
                 seriesQueryAttributes.get(SeriesQueryAttributes_.numberOfInstances),
                 seriesQueryAttributes.get(SeriesQueryAttributes_.retrieveAETs),
                 seriesQueryAttributes.get(SeriesQueryAttributes_.availability),
-                patientAttrBlob = patient.join(Patient_.attributesBlob).get(AttributesBlob_.encodedAttributes),
-                studyAttrBlob = study.join(Study_.attributesBlob).get(AttributesBlob_.encodedAttributes),
+                patientAttrBlobPk = patientBlob.get(AttributesBlob_.pk),
+                patientAttrBlob = patientBlob.get(AttributesBlob_.encodedAttributes),
+                studyAttrBlobPk = studyBlob.get(AttributesBlob_.pk),
+                studyAttrBlob = studyBlob.get(AttributesBlob_.encodedAttributes),
                 seriesAttrBlob = series.join(Series_.attributesBlob).get(AttributesBlob_.encodedAttributes));
     }
 
@@ -156,6 +162,11 @@ class SeriesQuery extends AbstractQuery {
         return restrict(q, patient, study, series).select(cb.count(patient));
     }
 
+    @Override
+    protected Path<Long> pk() {
+        return series.get(Series_.pk);
+    }
+
     @Override
     protected Attributes toAttributes(Tuple results) {
         Long studyPk = results.get(study.get(Study_.pk));
@@ -308,8 +319,10 @@ class SeriesQuery extends AbstractQuery {
             sopClassesInStudy = studyView.getSOPClassesInStudy();
         }
 
-        Attributes studyAttrs = AttributesBlob.decodeAttributes(results.get(studyAttrBlob), null);
-        Attributes patAttrs = AttributesBlob.decodeAttributes(results.get(patientAttrBlob), null);
+        Attributes studyAttrs = AttributesBlob.decodeAttributes(
+                results.get(studyAttrBlobPk), results.get(studyAttrBlob));
+        Attributes patAttrs = AttributesBlob.decodeAttributes(
+                results.get(patientAttrBlobPk), results.get(patientAttrBlob));
         Attributes.unifyCharacterSets(patAttrs, studyAttrs);
         Attributes attrs = new Attributes(patAttrs.size() + studyAttrs.size() + 20);
         attrs.addAll(patAttrs);
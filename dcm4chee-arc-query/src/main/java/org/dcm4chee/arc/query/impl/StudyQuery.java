@@ -68,7 +68,9 @@ class StudyQuery extends AbstractQuery {
     private Join<Study, Patient> patient;
     private Root<Study> study;
     private CollectionJoin<Study, StudyQueryAttributes> studyQueryAttributes;
+    private Path<Long> patientAttrBlobPk;
     private Path<byte[]> patientAttrBlob;
+    private Path<Long> studyAttrBlobPk;
     private Path<byte[]> studyAttrBlob;
 
     StudyQuery(QueryContext context, EntityManager em) {
@@ -82,6 +84,8 @@ class StudyQuery extends AbstractQuery {
         this.patient = study.join(Study_.patient);
         String viewID = context.getQueryParam().getViewID();
         this.studyQueryAttributes = QueryBuilder.joinStudyQueryAttributes(cb, study, viewID);
+        Join<Patient, AttributesBlob> patientBlob = patient.join(Patient_.attributesBlob);
+        Join<Study, AttributesBlob> studyBlob = study.join(Study_.attributesBlob);
         return order(restrict(q, patient, study)).multiselect(
                 study.get(Study_.pk),
                 patient.get(Patient_.numberOfStudies),
@@ -109,8 +113,10 @@ class StudyQuery extends AbstractQuery {
                 studyQueryAttributes.get(StudyQueryAttributes_.sopClassesInStudy),
                 studyQueryAttributes.get(StudyQueryAttributes_.retrieveAETs),
                 studyQueryAttributes.get(StudyQueryAttributes_.availability),
-                patientAttrBlob = patient.join(Patient_.attributesBlob).get(AttributesBlob_.encodedAttributes),
-                studyAttrBlob = study.join(Study_.attributesBlob).get(AttributesBlob_.encodedAttributes));
+                patientAttrBlobPk = patientBlob.get(AttributesBlob_.pk),
+                patientAttrBlob = patientBlob.get(AttributesBlob_.encodedAttributes),
+                studyAttrBlobPk = studyBlob.get(AttributesBlob_.pk),
+                studyAttrBlob = studyBlob.get(AttributesBlob_.encodedAttributes));
     }
 
     @Override
@@ -120,6 +126,11 @@ class StudyQuery extends AbstractQuery {
         return createQuery(q, study, cb.count(study));
     }
 
+    @Override
+    protected Path<Long> pk() {
+        return study.get(Study_.pk);
+    }
+
     @Override
     protected CriteriaQuery<Long> sumStudySize() {
         CriteriaQuery<Long> q = cb.createQuery(Long.class);
@@ -171,8 +182,10 @@ class StudyQuery extends AbstractQuery {
             retrieveAETs = studyView.getRetrieveAETs();
             availability = studyView.getAvailability();
         }
-        Attributes studyAttrs = AttributesBlob.decodeAttributes(results.get(studyAttrBlob), null);
-        Attributes patAttrs = AttributesBlob.decodeAttributes(results.get(patientAttrBlob), null);
+        Attributes studyAttrs = AttributesBlob.decodeAttributes(
+                results.get(studyAttrBlobPk), results.get(studyAttrBlob));
+        Attributes patAttrs = AttributesBlob.decodeAttributes(
+                results.get(patientAttrBlobPk), results.get(patientAttrBlob));
         Attributes.unifyCharacterSets(patAttrs, studyAttrs);
         Attributes attrs = new Attributes(patAttrs.size() + studyAttrs.size() + 20);
         attrs.addAll(patAttrs);
@@ -73,6 +73,7 @@ public class UPSQuery extends AbstractQuery {
         this.ups = q.from(UPS.class);
         this.patient = ups.join(UPS_.patient);
         return order(restrict(q, patient, ups)).multiselect(
+                ups.get(UPS_.pk),
                 ups.get(UPS_.upsInstanceUID),
                 ups.get(UPS_.updatedTime),
                 patientAttrBlob = patient.join(Patient_.attributesBlob).get(AttributesBlob_.encodedAttributes),
@@ -87,6 +88,11 @@ public class UPSQuery extends AbstractQuery {
         return restrict(q, patient, ups).select(cb.count(ups));
     }
 
+    @Override
+    protected Path<Long> pk() {
+        return ups.get(UPS_.pk);
+    }
+
     @Override
     protected Attributes toAttributes(Tuple results) {
         Attributes upsAttrs = AttributesBlob.decodeAttributes(results.get(upsAttrBlob), null);
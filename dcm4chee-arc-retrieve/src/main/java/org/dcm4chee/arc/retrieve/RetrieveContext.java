@@ -60,6 +60,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -213,6 +214,12 @@ public interface RetrieveContext extends Closeable {
 
     void putStorage(String storageID, Storage storage);
 
+    /**
+     * Returns the storage with the specified ID, opening it by {@code openStorage}, if not already opened for
+     * this context. Safe for concurrent invocation by several threads retrieving objects for this context.
+     */
+    Storage getStorage(String storageID, Function<String, Storage> openStorage);
+
     void incrementPendingCStoreForward();
 
     void decrementPendingCStoreForward();
@@ -271,6 +278,13 @@ public interface RetrieveContext extends Closeable {
 
     List<UpdateLocation> getUpdateLocations();
 
+    /**
+     * Returns the location updates recorded since the previous invocation.
+     *
+     * @return copy of location updates not yet returned by previous invocations
+     */
+    List<UpdateLocation> nextUpdateLocations();
+
     boolean isUpdateLocationStatusOnRetrieve();
 
     boolean isStorageVerificationOnRetrieve();
@@ -53,10 +53,12 @@ import org.dcm4che3.net.service.QueryRetrieveLevel2;
 import org.dcm4chee.arc.conf.ArchiveAEExtension;
 import org.dcm4chee.arc.conf.ArchiveAttributeCoercion;
 import org.dcm4chee.arc.conf.ArchiveDeviceExtension;
+import org.dcm4chee.arc.entity.Location;
 import org.dcm4chee.arc.entity.Series;
 import org.dcm4chee.arc.metrics.MetricsService;
 import org.dcm4chee.arc.keycloak.HttpServletRequestInfo;
 import org.dcm4chee.arc.storage.Storage;
+import org.dcm4chee.arc.storage.WriteContext;
 import org.dcm4chee.arc.store.InstanceLocations;
 import org.dcm4chee.arc.store.StoreService;
 import org.dcm4chee.arc.store.StoreSession;
@@ -133,6 +135,9 @@ public interface RetrieveService {
     LocationInputStream openLocationInputStream(RetrieveContext ctx, InstanceLocations inst)
             throws IOException;
 
+    Location copyTo(RetrieveContext ctx, InstanceLocations inst, Storage storage, WriteContext writeCtx)
+            throws IOException;
+
     Storage getStorage(String storageID, RetrieveContext ctx);
 
     Attributes loadMetadata(RetrieveContext ctx, InstanceLocations inst) throws IOException;
@@ -154,6 +159,17 @@ public interface RetrieveService {
 
     void updateCompleteness(RetrieveContext ctx);
 
+    /**
+     * Updates the status of locations, which failed to be read since the previous invocation of this method or
+     * of {@link #updateLocations(RetrieveContext)}.
+     */
+    void flushUpdateLocations(RetrieveContext ctx);
+
+    /**
+     * Updates the status of locations, which failed to be read and were not yet updated by
+     * {@link #flushUpdateLocations(RetrieveContext)}, and notifies observers of {@link RetrieveFailures} about
+     * all failures of the retrieve. Shall be invoked once at the end of the retrieve.
+     */
     void updateLocations(RetrieveContext ctx);
 
     Date getLastModifiedFromMatches(RetrieveContext ctx);
@@ -50,7 +50,6 @@ import org.dcm4chee.arc.entity.Instance;
 import org.dcm4chee.arc.entity.Location;
 import org.dcm4chee.arc.retrieve.RetrieveContext;
 import org.dcm4chee.arc.store.InstanceLocations;
-import org.dcm4chee.arc.retrieve.LocationInputStream;
 import org.dcm4chee.arc.storage.Storage;
 import org.dcm4chee.arc.storage.WriteContext;
 import org.dcm4chee.arc.store.StoreService;
@@ -59,12 +58,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -79,9 +79,15 @@ public class CopyToRetrieveCacheTask implements Runnable {
     private final String storageID;
     private final int maxParallel;
     private final Semaphore semaphore;
-    private final LinkedBlockingQueue<WrappedInstanceLocations> scheduled = new LinkedBlockingQueue();
+    private final PriorityBlockingQueue<WrappedInstanceLocations> scheduled = new PriorityBlockingQueue<>();
+    private final AtomicLong scheduledCount = new AtomicLong();
     private final LinkedBlockingQueue<WrappedInstanceLocations> completed = new LinkedBlockingQueue();
     private final Map<String,Set<String>> uidMap = new HashMap<>();
+    private final AtomicInteger copied = new AtomicInteger();
+    private final int updateLocationsBatchSize;
+    private final long updateLocationsInterval;
+    private int copiedOnUpdateLocations;
+    private long updateLocationsTime = System.nanoTime();
 
     public CopyToRetrieveCacheTask(RetrieveContextImpl ctx, InstanceLocations match) {
         this.ctx = ctx;
@@ -90,6 +96,8 @@ public class CopyToRetrieveCacheTask implements Runnable {
         this.storageID = storageDescriptor.getRetrieveCacheStorageID();
         this.maxParallel = storageDescriptor.getRetrieveCacheMaxParallel();
         this.semaphore = new Semaphore(maxParallel);
+        this.updateLocationsBatchSize = arcdev.getRetrieveCacheUpdateLocationsBatchSize();
+        this.updateLocationsInterval = arcdev.getRetrieveCacheUpdateLocationsInterval();
     }
 
     public boolean schedule(InstanceLocations match) {
@@ -101,7 +109,7 @@ public class CopyToRetrieveCacheTask implements Runnable {
                 return false;
             }
         }
-        scheduled.offer(new WrappedInstanceLocations(match));
+        scheduled.offer(new WrappedInstanceLocations(match, scheduledCount.getAndIncrement()));
         return true;
     }
 
@@ -123,13 +131,24 @@ public class CopyToRetrieveCacheTask implements Runnable {
     @Override
     public void run() {
         try {
-            InstanceLocations instanceLocations;
-            while ((instanceLocations = scheduled.take().instanceLocations) != null) {
-                final InstanceLocations inst = instanceLocations;
-                semaphore.acquire();
+            for (;;) {
+                // pick the next instance only if a copy can be started, so the instance is chosen by priority
+                // from all instances scheduled in the meantime
+                acquire(1);
+                WrappedInstanceLocations next = scheduled.poll(updateLocationsInterval, TimeUnit.MILLISECONDS);
+                updateLocationsIfDue();
+                if (next == null || next.instanceLocations == null) {
+                    semaphore.release();
+                    if (next == null)
+                        continue;
+                    break;
+                }
+                final InstanceLocations inst = next.instanceLocations;
                 arcdev.getDevice().execute(() -> {
                     try {
-                        if (copy(inst)) {
+                        boolean success = copy(inst);
+                        completed.offer(new WrappedInstanceLocations(inst));
+                        if (success) {
                             String studyIUID = inst.getAttributes().getString(Tag.StudyInstanceUID);
                             String seriesIUID = inst.getAttributes().getString(Tag.SeriesInstanceUID);
                             synchronized (uidMap) {
@@ -139,19 +158,20 @@ public class CopyToRetrieveCacheTask implements Runnable {
                                 seriesIUIDs.add(seriesIUID);
                             }
                         }
-                        completed.offer(new WrappedInstanceLocations(inst));
                     } finally {
+                        copied.incrementAndGet();
                         semaphore.release();
                     }
                 });
             }
             LOG.debug("Wait for finishing copying {} instances to retrieve cache",
                     maxParallel - semaphore.availablePermits());
-            semaphore.acquire(maxParallel);
+            acquire(maxParallel);
             LOG.debug("All instances copied to retrieve cache");
         } catch (InterruptedException e) {
             LOG.error("Failed to schedule copy to retrieve cache:\n", e);
         }
+        updateLocations();
         StoreService storeService = ctx.getRetrieveService().getStoreService();
         for (Map.Entry<String, Set<String>> entry : uidMap.entrySet()) {
             String studyIUID = entry.getKey();
@@ -164,6 +184,23 @@ public class CopyToRetrieveCacheTask implements Runnable {
         LOG.debug("Leave run()");
     }
 
+    private void acquire(int permits) throws InterruptedException {
+        while (!semaphore.tryAcquire(permits, updateLocationsInterval, TimeUnit.MILLISECONDS))
+            updateLocationsIfDue();
+    }
+
+    private void updateLocationsIfDue() {
+        if (copied.get() - copiedOnUpdateLocations >= updateLocationsBatchSize
+                || System.nanoTime() - updateLocationsTime >= TimeUnit.MILLISECONDS.toNanos(updateLocationsInterval))
+            updateLocations();
+    }
+
+    private void updateLocations() {
+        copiedOnUpdateLocations = copied.get();
+        updateLocationsTime = System.nanoTime();
+        ctx.getRetrieveService().flushUpdateLocations(ctx);
+    }
+
     private boolean copy(InstanceLocations match) {
         Storage storage = ctx.getRetrieveService().getStorage(storageID, ctx);
         WriteContext writeCtx = storage.createWriteContext();
@@ -171,13 +208,16 @@ public class CopyToRetrieveCacheTask implements Runnable {
         Location location = null;
         try {
             LOG.debug("Start copying {} to {}", match, storage.getStorageDescriptor());
-            location = copyTo(match, storage, writeCtx);
+            long startTime = System.nanoTime();
+            location = ctx.getRetrieveService().copyTo(ctx, match, storage, writeCtx);
             StoreService storeService = ctx.getRetrieveService().getStoreService();
             ApplicationEntity ae = ctx.getLocalApplicationEntity();
             StoreSession storeSession = storeService.newStoreSession(ae).withObjectStorageID(storageID);
             storeService.addLocation(storeSession, match.getInstancePk(), location);
             storage.commitStorage(writeCtx);
             match.getLocations().add(location);
+            ctx.getRetrieveService().getMetricsService().acceptDataRate("copy-to-" + storageID,
+                    location.getSize(), startTime);
             LOG.debug("Finished copying {} to {}:\n", match, storage.getStorageDescriptor());
             return true;
         } catch (Exception e) {
@@ -189,24 +229,6 @@ public class CopyToRetrieveCacheTask implements Runnable {
                     LOG.warn("Failed to revoke storage", e1);
                 }
             return false;
-        } finally {
-            ctx.getRetrieveService().updateLocations(ctx);
-        }
-    }
-
-    private Location copyTo(InstanceLocations match, Storage storage, WriteContext writeCtx) throws IOException {
-        try (LocationInputStream locationInputStream = ctx.getRetrieveService().openLocationInputStream(
-                ctx, match)) {
-            writeCtx.setContentLength(locationInputStream.location.getSize());
-            storage.copy(locationInputStream.stream, writeCtx);
-            return new Location.Builder()
-                    .storageID(storage.getStorageDescriptor().getStorageID())
-                    .storagePath(writeCtx.getStoragePath())
-                    .transferSyntaxUID(locationInputStream.location.getTransferSyntaxUID())
-                    .objectType(Location.ObjectType.DICOM_FILE)
-                    .size(locationInputStream.location.getSize())
-                    .digest(locationInputStream.location.getDigest())
-                    .build();
         }
     }
 
@@ -225,11 +247,34 @@ public class CopyToRetrieveCacheTask implements Runnable {
         }
     }
 
-    private class WrappedInstanceLocations {
+    /**
+     * Orders scheduled instances by ascending object size and - for equal size - by the order of scheduling, so
+     * the requester, which consumes copied instances in the order of completion, gets the next object as soon as
+     * possible. The end marker ({@code instanceLocations == null}) is ordered last.
+     */
+    private static class WrappedInstanceLocations implements Comparable<WrappedInstanceLocations> {
         final InstanceLocations instanceLocations;
+        final long size;
+        final long seqNo;
 
         private WrappedInstanceLocations(InstanceLocations instanceLocations) {
+            this(instanceLocations, Long.MAX_VALUE);
+        }
+
+        private WrappedInstanceLocations(InstanceLocations instanceLocations, long seqNo) {
             this.instanceLocations = instanceLocations;
+            this.size = instanceLocations != null && !instanceLocations.getLocations().isEmpty()
+                    ? instanceLocations.getLocations().get(0).getSize()
+                    : Long.MAX_VALUE;
+            this.seqNo = seqNo;
+        }
+
+        @Override
+        public int compareTo(WrappedInstanceLocations o) {
+            if (instanceLocations == null || o.instanceLocations == null)
+                return Boolean.compare(instanceLocations == null, o.instanceLocations == null);
+            int cmp = Long.compare(size, o.size);
+            return cmp != 0 ? cmp : Long.compare(seqNo, o.seqNo);
         }
     }
 }
@@ -59,8 +59,10 @@ import org.dcm4chee.arc.store.InstanceLocations;
 import org.dcm4chee.arc.store.UpdateLocation;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -104,7 +106,7 @@ class RetrieveContextImpl implements RetrieveContext {
             Collections.synchronizedCollection(new ArrayList<InstanceLocations>());
     private final Collection<String> failedSOPInstanceUIDs =
             Collections.synchronizedCollection(new ArrayList<String>());
-    private final HashMap<String, Storage> storageMap = new HashMap<>();
+    private final Map<String, Storage> storageMap = new ConcurrentHashMap<>();
     private ScheduledFuture<?> writePendingRSP;
     private volatile int fallbackMoveRSPNumberOfMatches;
     private volatile int fallbackMoveRSPFailed;
@@ -114,7 +116,9 @@ class RetrieveContextImpl implements RetrieveContext {
     private AttributeSet metadataFilter;
     private HttpServletRequestInfo httpServletRequestInfo;
     private CopyToRetrieveCacheTask copyToRetrieveCacheTask;
-    private final List<UpdateLocation> updateLocations = new ArrayList<>();
+    private final List<UpdateLocation> updateLocations =
+            Collections.synchronizedList(new ArrayList<UpdateLocation>());
+    private int nextUpdateLocation;
 
     RetrieveContextImpl(RetrieveService retrieveService, ArchiveAEExtension arcAE, String localAETitle,
                         QueryRetrieveView qrView) {
@@ -515,6 +519,11 @@ class RetrieveContextImpl implements RetrieveContext {
         storageMap.put(storageID, storage);
     }
 
+    @Override
+    public Storage getStorage(String storageID, Function<String, Storage> openStorage) {
+        return storageMap.computeIfAbsent(storageID, openStorage);
+    }
+
     @Override
     public void incrementPendingCStoreForward() {
         pendingCStoreForward.getAndIncrement();
@@ -694,6 +703,16 @@ class RetrieveContextImpl implements RetrieveContext {
         return updateLocations;
     }
 
+    @Override
+    public List<UpdateLocation> nextUpdateLocations() {
+        synchronized (updateLocations) {
+            int size = updateLocations.size();
+            List<UpdateLocation> next = new ArrayList<>(updateLocations.subList(nextUpdateLocation, size));
+            nextUpdateLocation = size;
+            return next;
+        }
+    }
+
     @Override
     public boolean isUpdateLocationStatusOnRetrieve() {
         return arcAE.updateLocationStatusOnRetrieve();
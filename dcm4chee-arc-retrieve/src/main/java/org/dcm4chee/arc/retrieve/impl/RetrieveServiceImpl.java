@@ -65,8 +65,10 @@ import org.dcm4chee.arc.query.scu.CFindSCUAttributeCoercion;
 import org.dcm4chee.arc.query.util.QueryBuilder;
 import org.dcm4chee.arc.retrieve.*;
 import org.dcm4chee.arc.storage.ReadContext;
+import org.dcm4chee.arc.storage.SourceReadException;
 import org.dcm4chee.arc.storage.Storage;
 import org.dcm4chee.arc.storage.StorageFactory;
+import org.dcm4chee.arc.storage.WriteContext;
 import org.dcm4chee.arc.store.InstanceLocations;
 import org.dcm4chee.arc.store.StoreService;
 import org.dcm4chee.arc.store.StoreSession;
@@ -873,6 +875,50 @@ public class RetrieveServiceImpl implements RetrieveService {
     public LocationInputStream openLocationInputStream(RetrieveContext ctx, InstanceLocations inst)
             throws IOException {
         String studyInstanceUID = inst.getAttributes().getString(Tag.StudyInstanceUID);
+        IOException ex = null;
+        for (Location location : locationsToRead(inst)) {
+            try {
+                LOG.debug("Read {} from {}", inst, location);
+                return openLocationInputStream(getStorage(location.getStorageID(), ctx), location, studyInstanceUID);
+            } catch (IOException e) {
+                ex = e;
+                onReadFailure(ctx, inst, location, e);
+            }
+        }
+        throw ex;
+    }
+
+    @Override
+    public Location copyTo(RetrieveContext ctx, InstanceLocations inst, Storage storage, WriteContext writeCtx)
+            throws IOException {
+        String studyInstanceUID = inst.getAttributes().getString(Tag.StudyInstanceUID);
+        IOException ex = null;
+        for (Location location : locationsToRead(inst)) {
+            ReadContext readContext = createReadContext(
+                    getStorage(location.getStorageID(), ctx), location.getStoragePath(), studyInstanceUID);
+            try {
+                LOG.debug("Copy {} from {}", inst, location);
+                writeCtx.setContentLength(location.getSize());
+                storage.transferFrom(readContext, writeCtx);
+                return new Location.Builder()
+                        .storageID(storage.getStorageDescriptor().getStorageID())
+                        .storagePath(writeCtx.getStoragePath())
+                        .transferSyntaxUID(location.getTransferSyntaxUID())
+                        .objectType(Location.ObjectType.DICOM_FILE)
+                        .size(location.getSize())
+                        .digest(location.getDigest())
+                        .build();
+            } catch (SourceReadException e) {
+                if (readContext.getSize() > 0)
+                    throw e.getCause();
+                ex = e.getCause();
+                onReadFailure(ctx, inst, location, ex);
+            }
+        }
+        throw ex;
+    }
+
+    private List<Location> locationsToRead(InstanceLocations inst) throws IOException {
         ArchiveDeviceExtension arcdev = getArchiveDeviceExtension();
         Map<Availability, List<Location>> locationsByAvailability = inst.getLocations()
                 .stream().filter(Location::isDicomFile)
@@ -888,24 +934,18 @@ public class RetrieveServiceImpl implements RetrieveService {
         if (locations == null || locations.isEmpty()) {
             throw new IOException("Failed to find location of " + inst);
         }
-        IOException ex = null;
-        for (Location location : locations) {
-            try {
-                LOG.debug("Read {} from {}", inst, location);
-                return openLocationInputStream(getStorage(location.getStorageID(), ctx), location, studyInstanceUID);
-            } catch (IOException e) {
-                ex = e;
-                Location.Status errStatus = toStatus(e);
-                if (errStatus == Location.Status.MISSING_OBJECT && !exists(location)) {
-                    LOG.warn("{} of {} no longer exists", location, inst);
-                    ctx.incrementMissing();
-                } else {
-                    LOG.warn("Failed to read {} from {}:\n", inst, location, e);
-                    ctx.getUpdateLocations().add(new UpdateLocation(inst, location, errStatus, null));
-                }
-            }
+        return locations;
+    }
+
+    private void onReadFailure(RetrieveContext ctx, InstanceLocations inst, Location location, IOException e) {
+        Location.Status errStatus = toStatus(e);
+        if (errStatus == Location.Status.MISSING_OBJECT && !exists(location)) {
+            LOG.warn("{} of {} no longer exists", location, inst);
+            ctx.incrementMissing();
+        } else {
+            LOG.warn("Failed to read {} from {}:\n", inst, location, e);
+            ctx.getUpdateLocations().add(new UpdateLocation(inst, location, errStatus, null));
         }
-        throw ex;
     }
 
     private boolean exists(Location location) {
@@ -921,13 +961,18 @@ public class RetrieveServiceImpl implements RetrieveService {
         return e instanceof NoSuchFileException ? Location.Status.MISSING_OBJECT : Location.Status.FAILED_TO_FETCH_OBJECT;
     }
 
+    @Override
+    public void flushUpdateLocations(RetrieveContext ctx) {
+        List<UpdateLocation> updateLocations = ctx.nextUpdateLocations();
+        if (!updateLocations.isEmpty() && ctx.isUpdateLocationStatusOnRetrieve())
+            storeService.updateLocations(ctx.getArchiveAEExtension(), updateLocations);
+    }
+
     @Override
     public void updateLocations(RetrieveContext ctx) {
-        if (!ctx.getUpdateLocations().isEmpty()) {
-            if (ctx.isUpdateLocationStatusOnRetrieve())
-                storeService.updateLocations(ctx.getArchiveAEExtension(), ctx.getUpdateLocations());
+        flushUpdateLocations(ctx);
+        if (!ctx.getUpdateLocations().isEmpty())
             retrieveFailures.fire(ctx);
-        }
     }
 
     private LocationInputStream openLocationInputStream(
@@ -947,13 +992,8 @@ public class RetrieveServiceImpl implements RetrieveService {
 
     @Override
     public Storage getStorage(String storageID, RetrieveContext ctx) {
-        Storage storage = ctx.getStorage(storageID);
-        if (storage == null) {
-            ArchiveDeviceExtension arcDev = getArchiveDeviceExtension();
-            storage = storageFactory.getStorage(arcDev.getStorageDescriptorNotNull(storageID));
-            ctx.putStorage(storageID, storage);
-        }
-        return storage;
+        return ctx.getStorage(storageID, id ->
+                storageFactory.getStorage(getArchiveDeviceExtension().getStorageDescriptorNotNull(id)));
     }
 
     @Override
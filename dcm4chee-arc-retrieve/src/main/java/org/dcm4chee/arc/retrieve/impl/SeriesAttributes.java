@@ -66,9 +66,15 @@ class SeriesAttributes {
         Root<Series> series = q.from(Series.class);
         Join<Series, Study> study = series.join(Series_.study);
         Join<Study, Patient> patient = study.join(Study_.patient);
-        Path<byte[]> patientAttrBlob = patient.join(Patient_.attributesBlob).get(AttributesBlob_.encodedAttributes);
-        Path<byte[]> studyAttrBlob = study.join(Study_.attributesBlob).get(AttributesBlob_.encodedAttributes);
-        Path<byte[]> seriesAttrBlob = series.join(Series_.attributesBlob).get(AttributesBlob_.encodedAttributes);
+        Join<Patient, AttributesBlob> patientBlob = patient.join(Patient_.attributesBlob);
+        Join<Study, AttributesBlob> studyBlob = study.join(Study_.attributesBlob);
+        Join<Series, AttributesBlob> seriesBlob = series.join(Series_.attributesBlob);
+        Path<Long> patientAttrBlobPk = patientBlob.get(AttributesBlob_.pk);
+        Path<byte[]> patientAttrBlob = patientBlob.get(AttributesBlob_.encodedAttributes);
+        Path<Long> studyAttrBlobPk = studyBlob.get(AttributesBlob_.pk);
+        Path<byte[]> studyAttrBlob = studyBlob.get(AttributesBlob_.encodedAttributes);
+        Path<Long> seriesAttrBlobPk = seriesBlob.get(AttributesBlob_.pk);
+        Path<byte[]> seriesAttrBlob = seriesBlob.get(AttributesBlob_.encodedAttributes);
         Tuple tuple = em.createQuery(q
                 .where(cb.equal(series.get(Series_.pk), seriesPk))
                 .multiselect(
@@ -89,8 +95,11 @@ class SeriesAttributes {
                         series.get(Series_.expirationDate),
                         series.get(Series_.sourceAET),
                         series.get(Series_.size),
+                        patientAttrBlobPk,
                         patientAttrBlob,
+                        studyAttrBlobPk,
                         studyAttrBlob,
+                        seriesAttrBlobPk,
                         seriesAttrBlob))
                 .getSingleResult();
         studyInfo = new StudyInfoImpl(
@@ -113,9 +122,12 @@ class SeriesAttributes {
                 tuple.get(series.get(Series_.sourceAET)),
                 tuple.get(series.get(Series_.size)));
         patientUpdatedTime = tuple.get(patient.get(Patient_.updatedTime));
-        Attributes patAttrs = AttributesBlob.decodeAttributes(tuple.get(patientAttrBlob), null);
-        Attributes studyAttrs = AttributesBlob.decodeAttributes(tuple.get(studyAttrBlob), null);
-        Attributes seriesAttrs = AttributesBlob.decodeAttributes(tuple.get(seriesAttrBlob), null);
+        Attributes patAttrs = AttributesBlob.decodeAttributes(
+                tuple.get(patientAttrBlobPk), tuple.get(patientAttrBlob));
+        Attributes studyAttrs = AttributesBlob.decodeAttributes(
+                tuple.get(studyAttrBlobPk), tuple.get(studyAttrBlob));
+        Attributes seriesAttrs = AttributesBlob.decodeAttributes(
+                tuple.get(seriesAttrBlobPk), tuple.get(seriesAttrBlob));
         Attributes.unifyCharacterSets(patAttrs, studyAttrs, seriesAttrs);
         attrs = new Attributes(patAttrs.size() + studyAttrs.size() + seriesAttrs.size() + 5);
         attrs.addAll(patAttrs);
@@ -40,16 +40,41 @@
 
 package org.dcm4chee.arc;
 
-import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import org.dcm4chee.arc.metrics.MetricsService;
+
+import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 /**
+ * Concurrent cache with size bounded eviction and expiration of entries after a configurable stale timeout.
+ * <p>
+ * Entries are distributed over lock-striped segments. Each segment evicts entries by a W-TinyLFU policy - a small
+ * LRU admission window in front of a segmented LRU main space, guarded by a frequency sketch - and expires entries
+ * by a timer wheel, so lookups and updates take constant time. Size bound and stale timeout apply approximately:
+ * the bound may be exceeded by less than the number of segments and expired entries are not returned, but are
+ * only removed when the timer wheel advances on subsequent updates. Cached {@code null} values - negative results -
+ * may expire after a separate, shorter stale timeout.
+ * <p>
+ * {@link #getEntry(Object, Function)} loads missing entries single-flight: concurrent lookups of the same missing key
+ * wait for the one load in progress, instead of each invoking the loader.
+ * <p>
+ * If a {@link MetricsService} is injected, hits, misses and evictions are recorded as values of metrics
+ * {@code <name>-hit} and {@code <name>-eviction}, with value {@code 1} for a hit and {@code 0} for a miss.
+ *
  * @author Gunter Zeilinger <gunterze@gmail.com>
  * @since May 2016
  */
 public class Cache<K,V> {
 
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 16;
+    private static final int WHEEL_SIZE = 64;
+
     public static final class Entry<V> {
         final V value;
         final long fetchTime;
@@ -62,51 +87,170 @@ public class Cache<K,V> {
         }
     }
 
-    private int maxSize;
-    private long staleTimeout;
+    private final String name;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile int maxSize;
+    private volatile long staleTimeout;
+    private volatile long negativeStaleTimeout;
+    private volatile Segment<K,V>[] segments = newSegments(0, 0L);
+    private final ConcurrentHashMap<K,CompletableFuture<Entry<V>>> loading = new ConcurrentHashMap<>();
 
-    private final LinkedHashMap<K,Entry<V>> cache = new LinkedHashMap<K,Entry<V>>(){
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<K, Cache.Entry<V>> eldest) {
-            return maxSize > 0 && size() > maxSize;
-        }
-    };
+    @Inject
+    private MetricsService metricsService;
+
+    public Cache() {
+        this(null);
+    }
+
+    protected Cache(String name) {
+        this.name = name;
+    }
 
     public int getMaxSize() {
         return maxSize;
     }
 
+    /**
+     * Set maximal number of entries. Cached entries are discarded if the value changes.
+     *
+     * @param maxSize maximal number of entries, {@code 0} for no limit
+     */
     public void setMaxSize(int maxSize) {
-        if (maxSize > 0) {
-            int remove = cache.size() - maxSize;
-            if (remove > 0) {
-                Iterator<Map.Entry<K, Entry<V>>> iter = cache.entrySet().iterator();
-                do {
-                    iter.next();
-                    iter.remove();
-                } while (--remove > 0);
-            }
+        if (this.maxSize != maxSize) {
+            this.maxSize = maxSize;
+            this.segments = newSegments(maxSize, minStaleTimeout());
         }
-        this.maxSize = maxSize;
     }
 
     public long getStaleTimeout() {
         return staleTimeout;
     }
 
+    /**
+     * Set stale timeout of entries. Cached entries are discarded if the value changes.
+     *
+     * @param staleTimeout stale timeout in ms, {@code 0} for no expiration
+     */
     public void setStaleTimeout(long staleTimeout) {
-        this.staleTimeout = staleTimeout;
+        if (this.staleTimeout != staleTimeout) {
+            this.staleTimeout = staleTimeout;
+            this.segments = newSegments(maxSize, minStaleTimeout());
+        }
+    }
+
+    public long getNegativeStaleTimeout() {
+        return negativeStaleTimeout;
+    }
+
+    /**
+     * Set stale timeout of entries with {@code null} value. Cached entries are discarded if the value changes.
+     *
+     * @param negativeStaleTimeout stale timeout in ms, {@code 0} to apply the stale timeout of other entries
+     */
+    public void setNegativeStaleTimeout(long negativeStaleTimeout) {
+        if (this.negativeStaleTimeout != negativeStaleTimeout) {
+            this.negativeStaleTimeout = negativeStaleTimeout;
+            this.segments = newSegments(maxSize, minStaleTimeout());
+        }
+    }
+
+    private long minStaleTimeout() {
+        return staleTimeout > 0 && negativeStaleTimeout > 0
+                ? Math.min(staleTimeout, negativeStaleTimeout)
+                : Math.max(staleTimeout, negativeStaleTimeout);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
     }
 
     public Entry<V> getEntry(K key) {
-        if (staleTimeout <= 0)
-            return cache.get(key);
+        int hash = hash(key);
+        Entry<V> entry = segmentFor(hash).get(key, hash, System.currentTimeMillis());
+        if (entry != null)
+            hits.increment();
+        else
+            misses.increment();
+        recordMetrics("-hit", entry != null ? 1 : 0);
+        return entry;
+    }
+
+    /**
+     * Returns the cached entry for the specified key or - if there is none - loads its value by the specified
+     * function and caches it, also if the loaded value is {@code null}. Concurrent invocations for the same key wait
+     * for the load already in progress, instead of invoking the function again. If the function throws an exception,
+     * nothing is cached and the exception is thrown to all waiting invocations.
+     *
+     * @param key key of the entry
+     * @param loader function to load the value of a missing entry
+     * @return cached or loaded entry
+     */
+    public Entry<V> getEntry(K key, Function<? super K, ? extends V> loader) {
+        return getEntry(key, loader, 0L);
+    }
+
+    /**
+     * Returns the cached entry for the specified key or - if there is none - loads its value by the specified
+     * function, as {@link #getEntry(Object, Function)}, but waits at most the specified time for a load already in
+     * progress. If the load does not complete within that time, a {@link CompletionException} caused by a
+     * {@link TimeoutException} is thrown; the load in progress continues and caches its value on completion.
+     *
+     * @param key key of the entry
+     * @param loader function to load the value of a missing entry
+     * @param timeout maximal time in ms to wait for a load in progress, {@code 0} for no limit
+     * @return cached or loaded entry
+     */
+    public Entry<V> getEntry(K key, Function<? super K, ? extends V> loader, long timeout) {
+        Entry<V> entry = getEntry(key);
+        if (entry != null)
+            return entry;
+
+        CompletableFuture<Entry<V>> future = new CompletableFuture<>();
+        CompletableFuture<Entry<V>> inProgress = loading.putIfAbsent(key, future);
+        if (inProgress != null)
+            return join(inProgress, timeout);
+
+        try {
+            int hash = hash(key);
+            entry = segmentFor(hash).get(key, hash, System.currentTimeMillis());
+            if (entry == null)
+                entry = putEntry(key, hash, loader.apply(key));
+            future.complete(entry);
+            return entry;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, future);
+        }
+    }
 
-        long minFetchTime = System.currentTimeMillis() - staleTimeout;
-        for (Iterator<Entry<V>> iter = cache.values().iterator(); iter.hasNext(); iter.remove())
-            if (iter.next().fetchTime > minFetchTime)
-                return cache.get(key);
-        return null;
+    private static <V> Entry<V> join(CompletableFuture<Entry<V>> future, long timeout) {
+        try {
+            return timeout > 0 ? future.get(timeout, TimeUnit.MILLISECONDS) : future.join();
+        } catch (CompletionException | ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(cause);
+        } catch (TimeoutException e) {
+            throw new CompletionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
     }
 
     public V get(K key) {
@@ -115,16 +259,402 @@ public class Cache<K,V> {
     }
 
     public V put(K key, V value) {
-        Entry<V> entry = cache.put(key, new Entry<V>(value, System.currentTimeMillis()));
+        int hash = hash(key);
+        long now = System.currentTimeMillis();
+        Entry<V> entry = segmentFor(hash).put(key, hash, new Entry<>(value, now), expireTime(value, now), now);
         return entry != null ? entry.value : null;
     }
 
+    private Entry<V> putEntry(K key, int hash, V value) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = new Entry<>(value, now);
+        segmentFor(hash).put(key, hash, entry, expireTime(value, now), now);
+        return entry;
+    }
+
+    private long expireTime(V value, long now) {
+        long staleTimeout = value == null && negativeStaleTimeout > 0 ? negativeStaleTimeout : this.staleTimeout;
+        return staleTimeout > 0 ? now + staleTimeout : Long.MAX_VALUE;
+    }
+
     public V remove(K key) {
-        Entry<V> entry = cache.remove(key);
+        int hash = hash(key);
+        Entry<V> entry = segmentFor(hash).remove(key, hash);
         return entry != null ? entry.value : null;
     }
 
     public void clear() {
-        cache.clear();
+        for (Segment<K,V> segment : segments)
+            segment.clear();
+    }
+
+    private void onEviction() {
+        evictions.increment();
+        recordMetrics("-eviction", 1);
+    }
+
+    private void recordMetrics(String suffix, int value) {
+        if (name != null && metricsService != null)
+            metricsService.accept(name + suffix, value);
+    }
+
+    private Segment<K,V> segmentFor(int hash) {
+        Segment<K,V>[] segments = this.segments;
+        return segments[(hash >>> 16) & (segments.length - 1)];
+    }
+
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Segment<K,V>[] newSegments(int maxSize, long staleTimeout) {
+        int n = maxSize > 0
+                ? Math.max(1, Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxSize / MIN_SEGMENT_SIZE)))
+                : MAX_SEGMENTS;
+        int capacity = maxSize > 0 ? (maxSize + n - 1) / n : Integer.MAX_VALUE;
+        long tickMillis = staleTimeout > 0 ? Math.max(1L, staleTimeout / (WHEEL_SIZE / 2)) : Long.MAX_VALUE;
+        Segment<K,V>[] segments = new Segment[n];
+        for (int i = 0; i < n; i++)
+            segments[i] = new Segment<>(this, capacity, tickMillis);
+        return segments;
+    }
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final class Node<K,V> {
+        final K key;
+        final int hash;
+        Entry<V> entry;
+        long expireTime;
+        int queue;
+        Node<K,V> prev, next;
+        Node<K,V> prevInWheel, nextInWheel;
+
+        Node(K key, int hash) {
+            this.key = key;
+            this.hash = hash;
+        }
+
+        static <K,V> Node<K,V> sentinel() {
+            Node<K,V> node = new Node<>(null, 0);
+            node.prev = node.next = node;
+            node.prevInWheel = node.nextInWheel = node;
+            return node;
+        }
+    }
+
+    private static final class AccessOrderQueue<K,V> {
+        final Node<K,V> head = Node.sentinel();
+        int size;
+
+        Node<K,V> first() {
+            return head.next != head ? head.next : null;
+        }
+
+        Node<K,V> last() {
+            return head.prev != head ? head.prev : null;
+        }
+
+        void add(Node<K,V> node) {
+            node.prev = head.prev;
+            node.next = head;
+            head.prev.next = node;
+            head.prev = node;
+            size++;
+        }
+
+        void remove(Node<K,V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = node.next = null;
+            size--;
+        }
+
+        void moveToLast(Node<K,V> node) {
+            remove(node);
+            add(node);
+        }
+
+        void clear() {
+            head.prev = head.next = head;
+            size = 0;
+        }
+    }
+
+    private static final class TimerWheel<K,V> {
+        final Node<K,V>[] buckets;
+        final long tickMillis;
+        long currentTick;
+
+        @SuppressWarnings("unchecked")
+        TimerWheel(long tickMillis) {
+            this.tickMillis = tickMillis;
+            this.buckets = new Node[WHEEL_SIZE];
+            for (int i = 0; i < WHEEL_SIZE; i++)
+                buckets[i] = Node.sentinel();
+            this.currentTick = System.currentTimeMillis() / tickMillis;
+        }
+
+        void schedule(Node<K,V> node) {
+            if (node.expireTime == Long.MAX_VALUE)
+                return;
+
+            long tick = Math.max(node.expireTime / tickMillis, currentTick + 1);
+            Node<K,V> sentinel = buckets[(int) (tick & (WHEEL_SIZE - 1))];
+            node.prevInWheel = sentinel.prevInWheel;
+            node.nextInWheel = sentinel;
+            sentinel.prevInWheel.nextInWheel = node;
+            sentinel.prevInWheel = node;
+        }
+
+        void unschedule(Node<K,V> node) {
+            if (node.nextInWheel != null) {
+                node.prevInWheel.nextInWheel = node.nextInWheel;
+                node.nextInWheel.prevInWheel = node.prevInWheel;
+                node.prevInWheel = node.nextInWheel = null;
+            }
+        }
+
+        void advance(long now, Segment<K,V> segment) {
+            long targetTick = now / tickMillis;
+            long ticks = Math.min(targetTick - currentTick, WHEEL_SIZE);
+            for (long i = 1; i <= ticks; i++) {
+                Node<K,V> sentinel = buckets[(int) ((currentTick + i) & (WHEEL_SIZE - 1))];
+                Node<K,V> node = sentinel.nextInWheel;
+                sentinel.prevInWheel = sentinel.nextInWheel = sentinel;
+                while (node != sentinel) {
+                    Node<K,V> next = node.nextInWheel;
+                    node.prevInWheel = node.nextInWheel = null;
+                    if (node.expireTime <= now)
+                        segment.removeNode(node, true);
+                    else
+                        segment.rescheduleLater(node);
+                    node = next;
+                }
+            }
+            if (targetTick > currentTick)
+                currentTick = targetTick;
+        }
+
+        void clear() {
+            for (Node<K,V> sentinel : buckets)
+                sentinel.prevInWheel = sentinel.nextInWheel = sentinel;
+        }
+    }
+
+    /**
+     * Count-Min sketch with 4-bit counters, which are halved after a sample period to age the frequency of
+     * entries.
+     */
+    private static final class FrequencySketch {
+        static final int[] SEEDS = { 0x97cb3127, 0xb3a6d571, 0x4e4aa5a5, 0x2e3a5f6b };
+        final byte[] table;
+        final int sampleSize;
+        int additions;
+
+        FrequencySketch(int capacity) {
+            int length = Integer.highestOneBit(Math.max(16, Math.min(capacity, 1 << 16) * 4 - 1)) << 1;
+            this.table = new byte[length];
+            this.sampleSize = length * 10 / 4;
+        }
+
+        int frequency(int hash) {
+            int frequency = Integer.MAX_VALUE;
+            for (int seed : SEEDS)
+                frequency = Math.min(frequency, table[indexOf(hash, seed)]);
+            return frequency;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int seed : SEEDS) {
+                int i = indexOf(hash, seed);
+                if (table[i] < 15) {
+                    table[i]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++)
+                    table[i] >>= 1;
+                additions >>= 1;
+            }
+        }
+
+        private int indexOf(int hash, int seed) {
+            int h = (hash + seed) * seed;
+            return (h ^ (h >>> 15)) & (table.length - 1);
+        }
+    }
+
+    private static final class Segment<K,V> extends ReentrantLock {
+        final Cache<K,V> cache;
+        final HashMap<K,Node<K,V>> map = new HashMap<>();
+        final AccessOrderQueue<K,V> window = new AccessOrderQueue<>();
+        final AccessOrderQueue<K,V> probation = new AccessOrderQueue<>();
+        final AccessOrderQueue<K,V> protectedQueue = new AccessOrderQueue<>();
+        final FrequencySketch sketch;
+        final TimerWheel<K,V> wheel;
+        final int capacity;
+        final int windowCapacity;
+        final int protectedCapacity;
+
+        Segment(Cache<K,V> cache, int capacity, long tickMillis) {
+            this.cache = cache;
+            this.capacity = capacity;
+            this.windowCapacity = Math.max(1, capacity / 100);
+            this.protectedCapacity = (capacity - windowCapacity) * 4 / 5;
+            this.sketch = new FrequencySketch(capacity != Integer.MAX_VALUE ? capacity : MIN_SEGMENT_SIZE);
+            this.wheel = tickMillis != Long.MAX_VALUE ? new TimerWheel<>(tickMillis) : null;
+        }
+
+        Entry<V> get(K key, int hash, long now) {
+            lock();
+            try {
+                Node<K,V> node = map.get(key);
+                if (node == null)
+                    return null;
+
+                if (node.expireTime <= now) {
+                    removeNode(node, true);
+                    return null;
+                }
+                sketch.increment(hash);
+                onAccess(node);
+                return node.entry;
+            } finally {
+                unlock();
+            }
+        }
+
+        Entry<V> put(K key, int hash, Entry<V> entry, long expireTime, long now) {
+            lock();
+            try {
+                if (wheel != null)
+                    wheel.advance(now, this);
+                sketch.increment(hash);
+                Node<K,V> node = map.get(key);
+                if (node != null) {
+                    Entry<V> prev = node.entry;
+                    node.entry = entry;
+                    reschedule(node, expireTime);
+                    onAccess(node);
+                    return prev;
+                }
+                node = new Node<>(key, hash);
+                node.entry = entry;
+                node.queue = WINDOW;
+                map.put(key, node);
+                window.add(node);
+                reschedule(node, expireTime);
+                evictEntries();
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        Entry<V> remove(K key, int hash) {
+            lock();
+            try {
+                Node<K,V> node = map.get(key);
+                if (node == null)
+                    return null;
+
+                removeNode(node, false);
+                return node.entry;
+            } finally {
+                unlock();
+            }
+        }
+
+        void clear() {
+            lock();
+            try {
+                map.clear();
+                window.clear();
+                probation.clear();
+                protectedQueue.clear();
+                if (wheel != null)
+                    wheel.clear();
+            } finally {
+                unlock();
+            }
+        }
+
+        private void reschedule(Node<K,V> node, long expireTime) {
+            node.expireTime = expireTime;
+            if (wheel != null) {
+                wheel.unschedule(node);
+                wheel.schedule(node);
+            }
+        }
+
+        void rescheduleLater(Node<K,V> node) {
+            wheel.schedule(node);
+        }
+
+        private void onAccess(Node<K,V> node) {
+            switch (node.queue) {
+                case WINDOW:
+                    window.moveToLast(node);
+                    break;
+                case PROBATION:
+                    probation.remove(node);
+                    node.queue = PROTECTED;
+                    protectedQueue.add(node);
+                    if (protectedQueue.size > protectedCapacity) {
+                        Node<K,V> demoted = protectedQueue.first();
+                        protectedQueue.remove(demoted);
+                        demoted.queue = PROBATION;
+                        probation.add(demoted);
+                    }
+                    break;
+                case PROTECTED:
+                    protectedQueue.moveToLast(node);
+                    break;
+            }
+        }
+
+        private void evictEntries() {
+            while (window.size > windowCapacity) {
+                Node<K,V> node = window.first();
+                window.remove(node);
+                node.queue = PROBATION;
+                probation.add(node);
+            }
+            while (map.size() > capacity) {
+                Node<K,V> victim = probation.first();
+                Node<K,V> candidate = probation.last();
+                if (victim == null)
+                    victim = protectedQueue.size > 0 ? protectedQueue.first() : window.first();
+                else if (victim != candidate && sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash))
+                    victim = candidate;
+                removeNode(victim, true);
+            }
+        }
+
+        void removeNode(Node<K,V> node, boolean evicted) {
+            map.remove(node.key);
+            switch (node.queue) {
+                case WINDOW:
+                    window.remove(node);
+                    break;
+                case PROBATION:
+                    probation.remove(node);
+                    break;
+                case PROTECTED:
+                    protectedQueue.remove(node);
+                    break;
+            }
+            if (wheel != null)
+                wheel.unschedule(node);
+            if (evicted)
+                cache.onEviction();
+        }
     }
 }
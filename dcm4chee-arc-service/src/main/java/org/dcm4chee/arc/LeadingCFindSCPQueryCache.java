@@ -52,6 +52,10 @@ import java.util.Objects;
 @ApplicationScoped
 public class LeadingCFindSCPQueryCache extends Cache<LeadingCFindSCPQueryCache.Key,Attributes> {
 
+    public LeadingCFindSCPQueryCache() {
+        super("leading-cfind-scp-query-cache");
+    }
+
     public static class Key {
         public final String cfindSCP;
         public final String studyInstanceUID;
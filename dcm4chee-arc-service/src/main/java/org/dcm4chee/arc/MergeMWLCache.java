@@ -51,4 +51,7 @@ import javax.enterprise.context.ApplicationScoped;
 @ApplicationScoped
 public class MergeMWLCache extends Cache<MergeMWLQueryParam,Attributes> {
 
+    public MergeMWLCache() {
+        super("merge-mwl-cache");
+    }
 }
@@ -48,4 +48,8 @@ import javax.enterprise.context.ApplicationScoped;
  */
 @ApplicationScoped
 public class StorePermissionCache extends Cache<String,StorePermission> {
+
+    public StorePermissionCache() {
+        super("store-permission-cache");
+    }
 }
@@ -53,9 +53,11 @@ import org.dcm4che3.net.service.DicomService;
 import org.dcm4che3.net.service.DicomServiceRegistry;
 import org.dcm4chee.arc.*;
 import org.dcm4chee.arc.conf.ArchiveDeviceExtension;
+import org.dcm4chee.arc.entity.AttributesBlob;
 import org.dcm4chee.arc.entity.Patient;
 import org.dcm4chee.arc.event.ArchiveServiceEvent;
 import org.dcm4chee.arc.event.SoftwareConfiguration;
+import org.dcm4chee.arc.metrics.MetricsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -119,9 +121,15 @@ public class ArchiveServiceImpl implements ArchiveService {
     @Inject
     private StorePermissionCache storePermissionCache;
 
+    @Inject
+    private QueryCountCache queryCountCache;
+
     @Inject
     private Device device;
 
+    @Inject
+    private MetricsService metricsService;
+
     @Resource
     private ManagedExecutorService executor;
 
@@ -179,6 +187,8 @@ public class ArchiveServiceImpl implements ArchiveService {
                 hl7Extension.setHL7ConnectionMonitor(hl7ConnectionEventSource);
             }
             mergeSoftwareVersions();
+            AttributesBlob.setCacheSavedBytesConsumer(
+                    savedBytes -> metricsService.accept("attributes-blob-cache-saved-bytes", savedBytes));
             configure();
             start(null);
         } catch (RuntimeException re) {
@@ -203,6 +213,8 @@ public class ArchiveServiceImpl implements ArchiveService {
         for (HL7Service service : hl7Services) {
             hl7ServiceRegistry.removeHL7Service(service);
         }
+        AttributesBlob.setCacheSavedBytesConsumer(null);
+        AttributesBlob.clearCache();
     }
 
     @Override
@@ -238,6 +250,8 @@ public class ArchiveServiceImpl implements ArchiveService {
         leadingCFindSCPQueryCache.clear();
         mergeMWLCache.clear();
         storePermissionCache.clear();
+        queryCountCache.clear();
+        AttributesBlob.clearCache();
         configure();
         archiveServiceEvent.fire(new ArchiveServiceEvent(ArchiveServiceEvent.Type.RELOADED, request));
     }
@@ -250,13 +264,21 @@ public class ArchiveServiceImpl implements ArchiveService {
         hl7AppCache.setStaleTimeout(arcdev.getAECacheStaleTimeoutSeconds());
         leadingCFindSCPQueryCache.setStaleTimeout(
                 arcdev.getLeadingCFindSCPQueryCacheStaleTimeoutSeconds() * 1000L);
+        leadingCFindSCPQueryCache.setNegativeStaleTimeout(
+                arcdev.getLeadingCFindSCPQueryCacheNegativeStaleTimeoutSeconds() * 1000L);
         leadingCFindSCPQueryCache.setMaxSize(arcdev.getLeadingCFindSCPQueryCacheSize());
         mergeMWLCache.setStaleTimeout(
                 arcdev.getMergeMWLCacheStaleTimeoutSeconds() * 1000L);
+        mergeMWLCache.setNegativeStaleTimeout(
+                arcdev.getMergeMWLCacheNegativeStaleTimeoutSeconds() * 1000L);
         mergeMWLCache.setMaxSize(arcdev.getMergeMWLCacheSize());
         storePermissionCache.setStaleTimeout(
                 arcdev.getStorePermissionCacheStaleTimeoutSeconds() * 1000L);
         storePermissionCache.setMaxSize(arcdev.getStorePermissionCacheSize());
+        queryCountCache.setStaleTimeout(
+                arcdev.getQidoResultCountCacheStaleTimeoutSeconds() * 1000L);
+        queryCountCache.setMaxSize(arcdev.getQidoResultCountCacheSize());
+        AttributesBlob.setCacheSize(arcdev.getAttributesBlobCacheSize());
         Patient.setShowPatientInfo(arcdev.showPatientInfoInSystemLog());
     }
 
@@ -47,7 +47,6 @@ import org.dcm4che3.data.Tag;
 import org.dcm4che3.data.VR;
 import org.dcm4che3.net.Device;
 import org.dcm4che3.net.Status;
-import org.dcm4che3.util.StreamUtils;
 import org.dcm4che3.util.StringUtils;
 import org.dcm4che3.util.TagUtils;
 import org.dcm4chee.arc.conf.StorageVerificationPolicy;
@@ -76,9 +75,15 @@ import javax.inject.Inject;
 import javax.persistence.Tuple;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.file.NoSuchFileException;
 import java.security.MessageDigest;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -105,6 +110,9 @@ public class StgCmtManagerImpl implements StgCmtManager {
     @Inject
     private Event<StgCmtContext> stgCmtEvent;
 
+    @Inject
+    private StorageVerificationThrottle throttle;
+
     @Override
     public void addExternalRetrieveAETs(Attributes eventInfo, Device device) {
         ejb.addExternalRetrieveAETs(eventInfo, device);
@@ -383,14 +391,19 @@ public class StgCmtManagerImpl implements StgCmtManager {
                 .add(failedSOP(cuid, iuid, failureReason));
     }
 
-    private void checkLocations(StgCmtContext ctx, RetrieveContext retrCtx, Map<String,SeriesResult> seriesResultMap) {
+    private void checkLocations(StgCmtContext ctx, RetrieveContext retrCtx, Map<String,SeriesResult> seriesResultMap)
+            throws IOException {
         List<InstanceLocations> matches = retrCtx.getMatches();
         Attributes eventInfo = ctx.getEventInfo();
         String commonRetrieveAET = commonRetrieveAET(matches);
         if (commonRetrieveAET != null)
             eventInfo.setString(Tag.RetrieveAETitle, VR.AE, commonRetrieveAET);
 
+        boolean[] verified = ctx.getStorageVerificationPolicy() != StorageVerificationPolicy.DB_RECORD_EXISTS
+                ? checkLocationsOfInstances(ctx, retrCtx, matches)
+                : null;
         Set<String> studyInstanceUIDs = new HashSet<>();
+        int index = 0;
         for (InstanceLocations inst : matches) {
             String cuid = inst.getSopClassUID();
             String iuid = inst.getSopInstanceUID();
@@ -402,8 +415,7 @@ public class StgCmtManagerImpl implements StgCmtManager {
             if (seriesResult != null) {
                 seriesResult.size += inst.getLocations().stream().mapToLong(Location::getSize).max().getAsLong();
             }
-            if (ctx.getStorageVerificationPolicy() == StorageVerificationPolicy.DB_RECORD_EXISTS
-                    || checkLocationsOfInstance(ctx, retrCtx, inst)) {
+            if (verified == null || verified[index++]) {
                 eventInfo.ensureSequence(Tag.ReferencedSOPSequence, retrCtx.getNumberOfMatches())
                         .add(refSOP(cuid, iuid, commonRetrieveAET == null ? inst.getRetrieveAETs() : null));
             } else {
@@ -459,7 +471,57 @@ public class StgCmtManagerImpl implements StgCmtManager {
         return attrs;
     }
 
-    private boolean checkLocationsOfInstance(StgCmtContext ctx, RetrieveContext retrCtx, InstanceLocations inst) {
+    /**
+     * Checks the locations of the instances with up to the configured number of Storage Verification threads of
+     * each Storage in parallel.
+     */
+    private boolean[] checkLocationsOfInstances(StgCmtContext ctx, RetrieveContext retrCtx,
+            List<InstanceLocations> matches) throws InterruptedIOException {
+        boolean[] verified = new boolean[matches.size()];
+        Verification verification = new Verification(ctx, retrCtx, matches);
+        int parallelism = Math.min(verification.parallelism, matches.size());
+        if (parallelism <= 1) {
+            for (int i = 0; i < verified.length; i++) {
+                verified[i] = checkLocationsOfInstance(verification, matches.get(i));
+            }
+        } else {
+            Semaphore running = new Semaphore(parallelism);
+            try {
+                for (int i = 0; i < verified.length; i++) {
+                    int index = i;
+                    running.acquire();
+                    device.execute(() -> {
+                        try {
+                            verified[index] = checkLocationsOfInstance(verification, matches.get(index));
+                        } catch (Exception e) {
+                            LOG.warn("Failed to check locations of Instance[uid={}] of Study[uid={}]:\n",
+                                    matches.get(index).getSopInstanceUID(), retrCtx.getStudyInstanceUID(), e);
+                        } finally {
+                            running.release();
+                        }
+                    });
+                }
+                running.acquire(parallelism);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Storage Verification of Study[uid="
+                        + retrCtx.getStudyInstanceUID() + "] interrupted");
+            }
+        }
+        verification.logProgress(true);
+        return verified;
+    }
+
+    private boolean checkLocationsOfInstance(Verification verification, InstanceLocations inst) {
+        try {
+            return checkLocationsOfInstance(verification.ctx, verification.retrCtx, verification, inst);
+        } finally {
+            verification.instanceChecked();
+        }
+    }
+
+    private boolean checkLocationsOfInstance(StgCmtContext ctx, RetrieveContext retrCtx, Verification verification,
+                                             InstanceLocations inst) {
         List<UpdateLocation> updateLocations = retrCtx.getUpdateLocations();
         int locationsOnStgCmtStorage = 0;
         Attributes attrs = inst.getAttributes();
@@ -468,7 +530,7 @@ public class StgCmtManagerImpl implements StgCmtManager {
             if (ctx.checkStorageID(l.getStorageID())) {
                 locationsOnStgCmtStorage++;
                 Storage storage = retrieveService.getStorage(l.getStorageID(), retrCtx);
-                CheckResult result = checkLocation(ctx, inst, l, storage, updateLocations);
+                CheckResult result = verification.checkLocation(inst, l, storage, updateLocations);
                 if (ctx.isUpdateLocationStatus() && l.getStatus() != result.status) {
                     updateLocations.add(new UpdateLocation(inst, l, result.status, null));
                 }
@@ -500,8 +562,8 @@ public class StgCmtManagerImpl implements StgCmtManager {
         return false;
     }
 
-    private CheckResult checkLocation(StgCmtContext ctx, InstanceLocations inst, Location l, Storage storage,
-                                      List<UpdateLocation> updateLocations) {
+    private CheckResult checkLocation(StgCmtContext ctx, Verification verification, InstanceLocations inst,
+                                      Location l, Storage storage, List<UpdateLocation> updateLocations) {
         ReadContext readContext = storage.createReadContext();
         readContext.setStoragePath(l.getStoragePath());
         readContext.setStudyInstanceUID(inst.getAttributes().getString(Tag.StudyInstanceUID));
@@ -511,11 +573,11 @@ public class StgCmtManagerImpl implements StgCmtManager {
             case OBJECT_SIZE:
                 return compareObjectSize(readContext, l);
             case OBJECT_FETCH:
-                return fetchObject(readContext);
+                return fetchObject(verification, readContext);
             case OBJECT_CHECKSUM:
-                return recalcChecksum(readContext, inst, l, updateLocations);
+                return recalcChecksum(verification, readContext, inst, l, updateLocations);
             case S3_MD5SUM:
-                return compareS3md5Sum(readContext, inst, l, updateLocations);
+                return compareS3md5Sum(verification, readContext, inst, l, updateLocations);
         }
         throw new AssertionError("StgCmtPolicy: " + ctx.getStorageVerificationPolicy());
     }
@@ -556,9 +618,9 @@ public class StgCmtManagerImpl implements StgCmtManager {
         }
     }
 
-    private CheckResult fetchObject(ReadContext readContext) {
+    private CheckResult fetchObject(Verification verification, ReadContext readContext) {
         try (InputStream stream = readContext.getStorage().openInputStream(readContext)) {
-            StreamUtils.copy(stream, null);
+            verification.read(readContext.getStorage().getStorageDescriptor(), stream);
             return new CheckResult(Location.Status.OK);
         } catch (NoSuchFileException e) {
             return new CheckResult(Location.Status.MISSING_OBJECT, e);
@@ -567,12 +629,12 @@ public class StgCmtManagerImpl implements StgCmtManager {
         }
     }
 
-    private CheckResult recalcChecksum(ReadContext readContext, InstanceLocations inst, Location l,
-                                       List<UpdateLocation> updateLocations) {
+    private CheckResult recalcChecksum(Verification verification, ReadContext readContext, InstanceLocations inst,
+                                       Location l, List<UpdateLocation> updateLocations) {
         StorageDescriptor storageDescriptor = readContext.getStorage().getStorageDescriptor();
         MessageDigest messageDigest = storageDescriptor.getMessageDigest();
         readContext.setMessageDigest(messageDigest);
-        CheckResult checkResult = fetchObject(readContext);
+        CheckResult checkResult = fetchObject(verification, readContext);
         if (!checkResult.ok() || messageDigest == null)
             return checkResult;
 
@@ -588,8 +650,8 @@ public class StgCmtManagerImpl implements StgCmtManager {
                 : new CheckResult(Location.Status.DIFFERING_OBJECT_CHECKSUM);
     }
 
-    private CheckResult compareS3md5Sum(ReadContext readContext, InstanceLocations inst, Location l,
-                                        List<UpdateLocation> updateLocations) {
+    private CheckResult compareS3md5Sum(Verification verification, ReadContext readContext, InstanceLocations inst,
+                                        Location l, List<UpdateLocation> updateLocations) {
         StorageDescriptor storageDescriptor = readContext.getStorage().getStorageDescriptor();
         if (!"MD5".equals(storageDescriptor.getDigestAlgorithm())) {
             LOG.info("Digest Algorithm of {} != MD5 -> compare object size instead compare S3 MD5",
@@ -608,11 +670,11 @@ public class StgCmtManagerImpl implements StgCmtManager {
         if (contentMD5 == null) {
             LOG.info("S3 MD5SUM not supported by {} -> recalculate object checksum instead compare S3 MD5",
                     storageDescriptor);
-            return recalcChecksum(readContext, inst, l, updateLocations);
+            return recalcChecksum(verification, readContext, inst, l, updateLocations);
         }
         String digest = l.getDigestAsHexString();
         if (digest == null || contentMD5 == null) {
-            CheckResult checkResult = recalcChecksum(readContext, inst, l, updateLocations);
+            CheckResult checkResult = recalcChecksum(verification, readContext, inst, l, updateLocations);
             if (!checkResult.ok())
                 return checkResult;
 
@@ -634,6 +696,82 @@ public class StgCmtManagerImpl implements StgCmtManager {
         return ejb.countTasks(queueTaskQueryParam, stgVerTaskQueryParam);
     }
 
+    private class Verification {
+        private static final int BUFFER_SIZE = 65536;
+        private static final long LOG_PROGRESS_INTERVAL = 10_000_000_000L;
+        final StgCmtContext ctx;
+        final RetrieveContext retrCtx;
+        final int numberOfInstances;
+        final Map<String, Semaphore> storagePermits = new ConcurrentHashMap<>();
+        final int parallelism;
+        final AtomicInteger checkedInstances = new AtomicInteger();
+        final AtomicLong bytesRead = new AtomicLong();
+        final long startTime = System.nanoTime();
+        volatile long lastProgressLog = startTime;
+
+        Verification(StgCmtContext ctx, RetrieveContext retrCtx, List<InstanceLocations> matches) {
+            this.ctx = ctx;
+            this.retrCtx = retrCtx;
+            this.numberOfInstances = matches.size();
+            int parallelism = 0;
+            for (InstanceLocations inst : matches) {
+                for (Location l : inst.getLocations()) {
+                    String storageID = l.getStorageID();
+                    if (ctx.checkStorageID(storageID) && !storagePermits.containsKey(storageID)) {
+                        int threads = Math.max(1, retrieveService.getStorage(storageID, retrCtx)
+                                .getStorageDescriptor().getStorageVerificationThreads());
+                        storagePermits.put(storageID, new Semaphore(threads));
+                        parallelism += threads;
+                    }
+                }
+            }
+            this.parallelism = parallelism;
+        }
+
+        CheckResult checkLocation(InstanceLocations inst, Location l, Storage storage,
+                List<UpdateLocation> updateLocations) {
+            Semaphore permits = storagePermits.get(l.getStorageID());
+            permits.acquireUninterruptibly();
+            try {
+                return StgCmtManagerImpl.this.checkLocation(ctx, this, inst, l, storage, updateLocations);
+            } finally {
+                permits.release();
+            }
+        }
+
+        void read(StorageDescriptor descriptor, InputStream in) throws IOException {
+            byte[] buf = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buf)) >= 0) {
+                bytesRead.addAndGet(read);
+                throttle.acquire(descriptor, read);
+            }
+        }
+
+        void instanceChecked() {
+            checkedInstances.incrementAndGet();
+            if (System.nanoTime() - lastProgressLog > LOG_PROGRESS_INTERVAL)
+                logProgress(false);
+        }
+
+        void logProgress(boolean finished) {
+            long now = System.nanoTime();
+            lastProgressLog = now;
+            long bytes = bytesRead.get();
+            long millis = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(now - startTime));
+            LOG.info("{} Storage Verification of Study[uid={}] for {}: {} of {} Instances checked, " +
+                            "{} MB read in {} s with {} MB/s",
+                    finished ? "Finished" : "Progress of",
+                    retrCtx.getStudyInstanceUID(),
+                    ctx.getStorageVerificationPolicy(),
+                    checkedInstances.get(),
+                    numberOfInstances,
+                    bytes / 1000000L,
+                    millis / 1000L,
+                    String.format("%.3f", bytes / (millis * 1000.0)));
+        }
+    }
+
     private static class SeriesResult {
         public int failures;
         public int size;
@@ -0,0 +1,90 @@
+/*
+ * **** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2015-2019
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * **** END LICENSE BLOCK *****
+ *
+ */
+
+package org.dcm4chee.arc.stgcmt.impl;
+
+import org.dcm4chee.arc.conf.StorageDescriptor;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of bytes per second read from one Storage by all Storage Verification Tasks of the device to
+ * the configured {@link StorageDescriptor#getStorageVerificationMaxBytesPerSecond()}.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+@ApplicationScoped
+class StorageVerificationThrottle {
+
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    void acquire(StorageDescriptor descriptor, int bytes) {
+        int maxBytesPerSecond = descriptor.getStorageVerificationMaxBytesPerSecond();
+        if (maxBytesPerSecond <= 0)
+            return;
+
+        long delay = budgets.computeIfAbsent(descriptor.getStorageID(), storageID -> new Budget())
+                .reserve(bytes, maxBytesPerSecond);
+        if (delay > 0)
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+    }
+
+    private static class Budget {
+        private long next = System.nanoTime();
+
+        synchronized long reserve(int bytes, int maxBytesPerSecond) {
+            long now = System.nanoTime();
+            if (next - now < 0)
+                next = now;
+            long delay = next - now;
+            next += bytes * TimeUnit.SECONDS.toNanos(1) / maxBytesPerSecond;
+            return delay;
+        }
+    }
+}
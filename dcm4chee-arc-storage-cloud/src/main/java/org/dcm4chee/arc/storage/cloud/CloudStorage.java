@@ -47,6 +47,7 @@ import org.dcm4chee.arc.conf.BinaryPrefix;
 import org.dcm4chee.arc.conf.StorageDescriptor;
 import org.dcm4chee.arc.metrics.MetricsService;
 import org.dcm4chee.arc.storage.AbstractStorage;
+import org.dcm4chee.arc.storage.BufferPool;
 import org.dcm4chee.arc.storage.ReadContext;
 import org.dcm4chee.arc.storage.WriteContext;
 import org.jclouds.ContextBuilder;
@@ -62,12 +63,16 @@ import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -79,6 +84,8 @@ public class CloudStorage extends AbstractStorage {
 
     private static final Logger LOG = LoggerFactory.getLogger(CloudStorage.class);
     private static final String DEFAULT_CONTAINER = "org.dcm4chee.arc";
+    private static final long MIN_MULTIPART_PART_SIZE = 5L * 1024 * 1024;
+    private static final long MAX_MULTIPART_PART_SIZE = Integer.MAX_VALUE - 8;
     private static final Uploader STREAMING_UPLOADER = new Uploader() {
         @Override
         public void upload(BlobStoreContext context, InputStream in, long length,
@@ -91,11 +98,16 @@ public class CloudStorage extends AbstractStorage {
         }
     };
     private final Device device;
+    private final BufferPool bufferPool;
     private final AttributesFormat pathFormat;
     private final String container;
     private final BlobStoreContext context;
     private final boolean streamingUpload;
+    private final boolean bulkDelete;
     private final long maxPartSize;
+    private final int multipartPartSize;
+    private final Semaphore multipartUploadThreads;
+    private final Semaphore multipartBufferedParts;
     private int count;
 
     @Override
@@ -103,9 +115,11 @@ public class CloudStorage extends AbstractStorage {
         return new CloudWriteContext(this);
     }
 
-    protected CloudStorage(StorageDescriptor descriptor, MetricsService metricsService, Device device) {
+    protected CloudStorage(StorageDescriptor descriptor, MetricsService metricsService, Device device,
+            BufferPool bufferPool) {
         super(descriptor, metricsService);
         this.device = device;
+        this.bufferPool = bufferPool;
         pathFormat = new AttributesFormat(descriptor.getProperty("pathFormat", DEFAULT_PATH_FORMAT));
         container = descriptor.getProperty("container", DEFAULT_CONTAINER);
         if (Boolean.parseBoolean(descriptor.getProperty("containerExists", null))) count++;
@@ -117,7 +131,21 @@ public class CloudStorage extends AbstractStorage {
             api = api.substring(0, endApi);
         }
         this.streamingUpload = Boolean.parseBoolean(descriptor.getProperty("streamingUpload", null));
+        this.bulkDelete = Boolean.parseBoolean(descriptor.getProperty("bulkDelete", null));
         this.maxPartSize = BinaryPrefix.parse(descriptor.getProperty("maxPartSize", "5G"));
+        int uploadThreads = Integer.parseInt(descriptor.getProperty("multipartUploadThreads", "1"));
+        if (uploadThreads > 1) {
+            this.multipartPartSize = multipartPartSize(descriptor.getProperty("multipartPartSize", "5MiB"));
+            long maxInFlight = BinaryPrefix.parse(descriptor.getProperty("multipartMaxInFlight",
+                    Long.toString(2L * uploadThreads * multipartPartSize)));
+            this.multipartUploadThreads = new Semaphore(uploadThreads);
+            this.multipartBufferedParts = new Semaphore(
+                    (int) Math.min(Integer.MAX_VALUE, Math.max(2L, maxInFlight / multipartPartSize)));
+        } else {
+            this.multipartPartSize = 0;
+            this.multipartUploadThreads = null;
+            this.multipartBufferedParts = null;
+        }
         ContextBuilder ctxBuilder = ContextBuilder.newBuilder(api);
         String identity = descriptor.getProperty("identity", null);
         if (identity != null)
@@ -135,6 +163,14 @@ public class CloudStorage extends AbstractStorage {
         context = ctxBuilder.buildView(BlobStoreContext.class);
     }
 
+    private static int multipartPartSize(String value) {
+        long size = BinaryPrefix.parse(value);
+        if (size < MIN_MULTIPART_PART_SIZE || size > MAX_MULTIPART_PART_SIZE)
+            throw new IllegalArgumentException(
+                    "multipartPartSize=" + value + " - must be at least 5MiB and less than 2GiB");
+        return (int) size;
+    }
+
     @Override
     protected Logger log() {
         return LOG;
@@ -200,8 +236,13 @@ public class CloudStorage extends AbstractStorage {
                         .concat(String.format("%08X", ThreadLocalRandom.current().nextInt()));
         }
         long length = ctx.getContentLength();
-        Uploader uploader = streamingUpload || length >= 0 && length <= maxPartSize
-                ? STREAMING_UPLOADER : new S3Uploader();
+        Uploader uploader = multipartUploadThreads == null
+                ? streamingUpload || length >= 0 && length <= maxPartSize
+                    ? STREAMING_UPLOADER : new S3Uploader(bufferPool)
+                : streamingUpload || length >= 0 && length <= multipartPartSize
+                    ? STREAMING_UPLOADER
+                    : new ParallelUploader(device, multipartPartSize, multipartUploadThreads,
+                        multipartBufferedParts, (CloudWriteContext) ctx);
         uploader.upload(context, in, length, blobStore, container, storagePath);
         ctx.setStoragePath(storagePath);
     }
@@ -246,6 +287,13 @@ public class CloudStorage extends AbstractStorage {
         return hashCode != null ? hashCode.asBytes() : null;
     }
 
+    @Override
+    public void revokeStorage(WriteContext ctx) throws IOException {
+        ((CloudWriteContext) ctx).abort();
+        if (ctx.getStoragePath() != null)
+            super.revokeStorage(ctx);
+    }
+
     @Override
     protected void deleteObjectA(String storagePath) throws IOException {
         BlobStore blobStore = context.getBlobStore();
@@ -254,6 +302,41 @@ public class CloudStorage extends AbstractStorage {
         blobStore.removeBlob(container, storagePath);
     }
 
+    @Override
+    protected void deleteObjectsA(Collection<String> storagePaths, Map<String, IOException> failures) {
+        if (!bulkDelete || storagePaths.size() <= 1) {
+            super.deleteObjectsA(storagePaths, failures);
+            return;
+        }
+        BlobStore blobStore = context.getBlobStore();
+        long startTime = System.nanoTime();
+        try {
+            blobStore.removeBlobs(container, storagePaths);
+        } catch (RuntimeException e) {
+            LOG.info("Failed to delete {} objects from {} by one request - delete objects separately:\n",
+                    storagePaths.size(), descriptor, e);
+            super.deleteObjectsA(storagePaths, failures);
+            return;
+        }
+        // removeBlobs does not report objects which could not be deleted, so verify their removal
+        List<String> remaining = new ArrayList<>();
+        for (String storagePath : storagePaths) {
+            if (blobStore.blobExists(container, storagePath))
+                remaining.add(storagePath);
+        }
+        int deleted = storagePaths.size() - remaining.size();
+        if (deleted > 0) {
+            double ms = (System.nanoTime() - startTime) / 1000000. / deleted;
+            for (int i = 0; i < deleted; i++)
+                metricsService.accept("delete-from-" + descriptor.getStorageID(), ms);
+        }
+        if (!remaining.isEmpty()) {
+            LOG.info("Failed to delete {} of {} objects from {} by one request - delete them separately",
+                    remaining.size(), storagePaths.size(), descriptor);
+            super.deleteObjectsA(remaining, failures);
+        }
+    }
+
     private IOException objectNotFound(String storagePath) {
         return new NoSuchFileException("No Object[" + storagePath
                 + "] in Container[" + container
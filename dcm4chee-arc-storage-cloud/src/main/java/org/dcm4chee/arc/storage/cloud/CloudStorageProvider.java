@@ -43,6 +43,7 @@ package org.dcm4chee.arc.storage.cloud;
 import org.dcm4che3.net.Device;
 import org.dcm4chee.arc.conf.StorageDescriptor;
 import org.dcm4chee.arc.metrics.MetricsService;
+import org.dcm4chee.arc.storage.BufferPool;
 import org.dcm4chee.arc.storage.Storage;
 import org.dcm4chee.arc.storage.StorageProvider;
 
@@ -64,8 +65,11 @@ public class CloudStorageProvider implements StorageProvider {
     @Inject
     private MetricsService metricsService;
 
+    @Inject
+    private BufferPool bufferPool;
+
     @Override
     public Storage openStorage(StorageDescriptor descriptor) {
-        return new CloudStorage(descriptor, metricsService, device);
+        return new CloudStorage(descriptor, metricsService, device, bufferPool);
     }
 }
@@ -52,6 +52,7 @@ import java.util.concurrent.FutureTask;
 public class CloudWriteContext extends DefaultWriteContext {
 
     private FutureTask<Void> uploadTask;
+    private volatile boolean aborted;
 
     public CloudWriteContext(Storage storage) {
         super(storage);
@@ -64,4 +65,14 @@ public class CloudWriteContext extends DefaultWriteContext {
     public void setUploadTask(FutureTask<Void> uploadTask) {
         this.uploadTask = uploadTask;
     }
+
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public void abort() {
+        aborted = true;
+        if (uploadTask != null)
+            uploadTask.cancel(true);
+    }
 }
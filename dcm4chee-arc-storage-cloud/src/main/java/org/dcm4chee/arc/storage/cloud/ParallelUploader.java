@@ -0,0 +1,240 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.storage.cloud;
+
+import com.google.common.io.ByteSource;
+import org.jclouds.blobstore.BlobStore;
+import org.jclouds.blobstore.BlobStoreContext;
+import org.jclouds.blobstore.domain.Blob;
+import org.jclouds.blobstore.domain.MultipartPart;
+import org.jclouds.blobstore.domain.MultipartUpload;
+import org.jclouds.blobstore.options.PutOptions;
+import org.jclouds.io.Payload;
+import org.jclouds.io.payloads.ByteSourcePayload;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Splits the stream into parts of fixed size, which are uploaded concurrently by the portable multipart upload
+ * API of jclouds. The number of concurrently uploaded parts and the number of buffered parts are bounded
+ * per storage by {@link Semaphore}s shared by all uploads to that storage.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+class ParallelUploader implements Uploader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ParallelUploader.class);
+
+    private final Executor executor;
+    private final int partSize;
+    private final Semaphore uploadThreads;
+    private final Semaphore bufferedParts;
+    private final CloudWriteContext ctx;
+    private final Queue<byte[]> freeBuffers = new ConcurrentLinkedQueue<>();
+    private volatile Throwable failure;
+    private volatile boolean cancelled;
+
+    ParallelUploader(Executor executor, int partSize, Semaphore uploadThreads, Semaphore bufferedParts,
+                     CloudWriteContext ctx) {
+        this.executor = executor;
+        this.partSize = partSize;
+        this.uploadThreads = uploadThreads;
+        this.bufferedParts = bufferedParts;
+        this.ctx = ctx;
+    }
+
+    @Override
+    public void upload(BlobStoreContext context, InputStream in, long length, BlobStore blobStore,
+                       String container, String storagePath) throws IOException {
+        byte[] buf = nextBuffer();
+        int len;
+        try {
+            len = fill(in, buf);
+        } catch (IOException | RuntimeException e) {
+            releaseBuffer(buf);
+            throw e;
+        }
+        if (len < partSize) {
+            try {
+                Blob blob = blobStore.blobBuilder(storagePath).payload(payload(buf, len)).build();
+                blobStore.putBlob(container, blob);
+            } finally {
+                releaseBuffer(buf);
+            }
+            return;
+        }
+        MultipartUpload mpu;
+        try {
+            mpu = blobStore.initiateMultipartUpload(container,
+                    blobStore.blobBuilder(storagePath).build().getMetadata(), PutOptions.NONE);
+        } catch (RuntimeException e) {
+            releaseBuffer(buf);
+            throw e;
+        }
+        Queue<FutureTask<MultipartPart>> tasks = new ArrayDeque<>();
+        try {
+            int partNumber = 1;
+            do {
+                uploadPart(blobStore, mpu, partNumber++, buf, len, tasks);
+                buf = null;
+                checkContinue();
+                buf = nextBuffer();
+                len = fill(in, buf);
+            } while (len > 0);
+            releaseBuffer(buf);
+            buf = null;
+            List<MultipartPart> parts = new ArrayList<>(tasks.size());
+            while (!tasks.isEmpty())
+                parts.add(get(tasks.remove()));
+            blobStore.completeMultipartUpload(mpu, parts);
+        } catch (IOException | RuntimeException e) {
+            if (buf != null)
+                releaseBuffer(buf);
+            abort(blobStore, mpu, tasks);
+            throw e;
+        }
+    }
+
+    private void uploadPart(BlobStore blobStore, MultipartUpload mpu, int partNumber, byte[] buf, int len,
+                            Queue<FutureTask<MultipartPart>> tasks) throws IOException {
+        acquire(uploadThreads);
+        FutureTask<MultipartPart> task = new FutureTask<>(() -> {
+            try {
+                return cancelled ? null : blobStore.uploadMultipartPart(mpu, partNumber, payload(buf, len));
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                uploadThreads.release();
+                releaseBuffer(buf);
+            }
+        });
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            uploadThreads.release();
+            throw e;
+        }
+        tasks.add(task);
+    }
+
+    private void checkContinue() throws IOException {
+        if (ctx.isAborted())
+            throw new InterruptedIOException("Upload aborted");
+        Throwable e = failure;
+        if (e != null)
+            throw new IOException("Upload of part failed", e);
+    }
+
+    private void abort(BlobStore blobStore, MultipartUpload mpu, Queue<FutureTask<MultipartPart>> tasks) {
+        cancelled = true;
+        for (FutureTask<MultipartPart> task : tasks)
+            try {
+                task.get();
+            } catch (Exception ignore) {
+            }
+        try {
+            blobStore.abortMultipartUpload(mpu);
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to abort multipart upload of {}:\n", mpu.blobName(), e);
+        }
+    }
+
+    private static MultipartPart get(FutureTask<MultipartPart> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            Throwable c = e.getCause();
+            if (c instanceof IOException)
+                throw (IOException) c;
+            throw new IOException("Upload of part failed", c);
+        }
+    }
+
+    private int fill(InputStream in, byte[] buf) throws IOException {
+        int off = 0;
+        int r;
+        while (off < partSize && (r = in.read(buf, off, partSize - off)) >= 0)
+            off += r;
+        return off;
+    }
+
+    private byte[] nextBuffer() throws IOException {
+        acquire(bufferedParts);
+        byte[] buf = freeBuffers.poll();
+        return buf != null ? buf : new byte[partSize];
+    }
+
+    private void releaseBuffer(byte[] buf) {
+        freeBuffers.offer(buf);
+        bufferedParts.release();
+    }
+
+    private static void acquire(Semaphore semaphore) throws InterruptedIOException {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+
+    private static Payload payload(byte[] buf, int len) {
+        Payload payload = new ByteSourcePayload(ByteSource.wrap(buf).slice(0, len));
+        payload.getContentMetadata().setContentLength((long) len);
+        return payload;
+    }
+}
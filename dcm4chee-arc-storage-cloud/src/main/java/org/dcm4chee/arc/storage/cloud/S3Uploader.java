@@ -40,6 +40,7 @@
 
 package org.dcm4chee.arc.storage.cloud;
 
+import org.dcm4chee.arc.storage.BufferPool;
 import org.dcm4chee.arc.storage.CacheInputStream;
 import org.jclouds.blobstore.BlobStore;
 import org.jclouds.blobstore.BlobStoreContext;
@@ -60,13 +61,21 @@ import java.util.Map;
  */
 class S3Uploader extends CacheInputStream implements Uploader {
 
+    S3Uploader(BufferPool pool) {
+        super(pool);
+    }
+
     @Override
     public void upload(BlobStoreContext context, InputStream in, long length, BlobStore blobStore,
                        String container, String storagePath) throws IOException {
-        if (fillBuffers(in))
-            uploadMultipleParts(context, in, container, storagePath);
-        else
-            uploadSinglePart(blobStore, container, storagePath);
+        try {
+            if (fillBuffers(in))
+                uploadMultipleParts(context, in, container, storagePath);
+            else
+                uploadSinglePart(blobStore, container, storagePath);
+        } finally {
+            close();
+        }
     }
 
     private void uploadSinglePart(BlobStore blobStore, String container, String storagePath) {
@@ -0,0 +1,197 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2013
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.storage.cloud;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.net.Device;
+import org.dcm4chee.arc.conf.StorageDescriptor;
+import org.dcm4chee.arc.metrics.Histogram;
+import org.dcm4chee.arc.metrics.MetricsService;
+import org.dcm4chee.arc.storage.ReadContext;
+import org.dcm4chee.arc.storage.WriteContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests parallel multipart upload against the jclouds transient blobstore.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+public class CloudStorageTest {
+
+    private static final int MiB = 1024 * 1024;
+
+    private ExecutorService executor;
+    private Device device;
+    private CloudStorage storage;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+        device = new Device("test");
+        device.setExecutor(executor);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (storage != null)
+            storage.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testParallelUpload() throws Exception {
+        storage = newStorage("5MiB");
+        byte[] content = content(11 * MiB + 3);
+        WriteContext ctx = storage.createWriteContext();
+        ctx.setAttributes(new Attributes());
+        storage.copy(new ByteArrayInputStream(content), ctx);
+        assertArrayEquals(content, read(ctx.getStoragePath()));
+    }
+
+    @Test
+    public void testUploadOfSinglePart() throws Exception {
+        storage = newStorage("5MiB");
+        byte[] content = content(1024);
+        WriteContext ctx = storage.createWriteContext();
+        ctx.setAttributes(new Attributes());
+        storage.copy(new ByteArrayInputStream(content), ctx);
+        assertArrayEquals(content, read(ctx.getStoragePath()));
+    }
+
+    @Test
+    public void testAbortedUpload() throws Exception {
+        storage = newStorage("5MiB");
+        CloudWriteContext ctx = (CloudWriteContext) storage.createWriteContext();
+        ctx.setAttributes(new Attributes());
+        ctx.abort();
+        try {
+            storage.copy(new ByteArrayInputStream(content(11 * MiB)), ctx);
+            fail("InterruptedIOException expected");
+        } catch (InterruptedIOException expected) {
+        }
+        ReadContext readCtx = storage.createReadContext();
+        readCtx.setStoragePath("dir/object");
+        assertFalse(storage.exists(readCtx));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPartSizeBelowMinimum() {
+        storage = newStorage("4MiB");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPartSizeAboveMaximum() {
+        storage = newStorage("2GiB");
+    }
+
+    private CloudStorage newStorage(String multipartPartSize) {
+        StorageDescriptor descriptor = new StorageDescriptor("cloud");
+        descriptor.setStorageURIStr("jclouds:transient");
+        descriptor.setProperty("container", UUID.randomUUID().toString());
+        descriptor.setProperty("pathFormat", "dir/object");
+        descriptor.setProperty("multipartUploadThreads", "4");
+        descriptor.setProperty("multipartPartSize", multipartPartSize);
+        return new CloudStorage(descriptor, NO_METRICS, device, null);
+    }
+
+    private byte[] read(String storagePath) throws IOException {
+        ReadContext ctx = storage.createReadContext();
+        ctx.setStoragePath(storagePath);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = storage.openInputStream(ctx)) {
+            byte[] buf = new byte[8192];
+            int read;
+            while ((read = in.read(buf)) > 0)
+                out.write(buf, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] content(int length) {
+        byte[] b = new byte[length];
+        new Random(length).nextBytes(b);
+        return b;
+    }
+
+    private static final MetricsService NO_METRICS = new MetricsService() {
+        @Override
+        public boolean exists(String name) {
+            return false;
+        }
+
+        @Override
+        public void accept(String name, double value) {
+        }
+
+        @Override
+        public void acceptNanoTime(String name, long startTime) {
+        }
+
+        @Override
+        public void acceptDataRate(String name, long bytes, long startTime) {
+        }
+
+        @Override
+        public void accept(String name, DoubleSupplier valueSupplier) {
+        }
+
+        @Override
+        public void forEach(String name, int limit, int binSize, Consumer<Histogram> consumer) {
+        }
+    };
+}
@@ -55,6 +55,7 @@ import org.dcm4chee.arc.conf.BinaryPrefix;
 import org.dcm4chee.arc.conf.StorageDescriptor;
 import org.dcm4chee.arc.metrics.MetricsService;
 import org.dcm4chee.arc.storage.AbstractStorage;
+import org.dcm4chee.arc.storage.BufferPool;
 import org.dcm4chee.arc.storage.ReadContext;
 import org.dcm4chee.arc.storage.WriteContext;
 import org.slf4j.Logger;
@@ -88,6 +89,7 @@ public class EMCECSStorage extends AbstractStorage {
     };
 
     private final Device device;
+    private final BufferPool bufferPool;
     private final AttributesFormat pathFormat;
     private final String container;
     private final S3Client s3;
@@ -95,9 +97,11 @@ public class EMCECSStorage extends AbstractStorage {
     private final long maxPartSize;
     private int count;
 
-    public EMCECSStorage(StorageDescriptor descriptor, MetricsService metricsService, Device device) {
+    public EMCECSStorage(StorageDescriptor descriptor, MetricsService metricsService, Device device,
+            BufferPool bufferPool) {
         super(descriptor, metricsService);
         this.device = device;
+        this.bufferPool = bufferPool;
         pathFormat = new AttributesFormat(descriptor.getProperty("pathFormat", DEFAULT_PATH_FORMAT));
         container = descriptor.getProperty("container", DEFAULT_CONTAINER);
         if (Boolean.parseBoolean(descriptor.getProperty("containerExists", null))) count++;
@@ -177,7 +181,7 @@ public class EMCECSStorage extends AbstractStorage {
         }
         long length = ctx.getContentLength();
         Uploader uploader = streamingUpload || length >= 0 && length <= maxPartSize
-                ? STREAMING_UPLOADER : new S3Uploader();
+                ? STREAMING_UPLOADER : new S3Uploader(bufferPool);
         uploader.upload(s3, in, length, container, storagePath);
         ctx.setStoragePath(storagePath);
     }
@@ -43,6 +43,7 @@ package org.dcm4chee.arc.storage.emc.ecs;
 import org.dcm4che3.net.Device;
 import org.dcm4chee.arc.conf.StorageDescriptor;
 import org.dcm4chee.arc.metrics.MetricsService;
+import org.dcm4chee.arc.storage.BufferPool;
 import org.dcm4chee.arc.storage.Storage;
 import org.dcm4chee.arc.storage.StorageProvider;
 
@@ -64,8 +65,11 @@ class EMCECSStorageProvider implements StorageProvider {
     @Inject
     private MetricsService metricsService;
 
+    @Inject
+    private BufferPool bufferPool;
+
     @Override
     public Storage openStorage(StorageDescriptor descriptor) {
-        return new EMCECSStorage(descriptor, metricsService, device);
+        return new EMCECSStorage(descriptor, metricsService, device, bufferPool);
     }
 }
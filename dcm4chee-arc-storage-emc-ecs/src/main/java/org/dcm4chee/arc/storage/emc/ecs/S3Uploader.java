@@ -47,6 +47,7 @@ import com.emc.object.s3.request.CompleteMultipartUploadRequest;
 import com.emc.object.s3.request.InitiateMultipartUploadRequest;
 import com.emc.object.s3.request.PutObjectRequest;
 import com.emc.object.s3.request.UploadPartRequest;
+import org.dcm4chee.arc.storage.BufferPool;
 import org.dcm4chee.arc.storage.CacheInputStream;
 
 import java.io.IOException;
@@ -59,13 +60,21 @@ import java.util.*;
  */
 class S3Uploader extends CacheInputStream implements Uploader {
 
+    S3Uploader(BufferPool pool) {
+        super(pool);
+    }
+
     @Override
     public void upload(S3Client s3, InputStream in, long length, String container, String storagePath)
             throws IOException {
-        if (fillBuffers(in))
-            uploadMultipleParts(s3, in, container, storagePath);
-        else
-            uploadSinglePart(s3, container, storagePath);
+        try {
+            if (fillBuffers(in))
+                uploadMultipleParts(s3, in, container, storagePath);
+            else
+                uploadSinglePart(s3, container, storagePath);
+        } finally {
+            close();
+        }
     }
 
     private void uploadSinglePart(S3Client s3, String container, String storagePath) {
@@ -45,16 +45,26 @@ import org.dcm4chee.arc.conf.StorageDescriptor;
 import org.dcm4chee.arc.metrics.MetricsService;
 import org.dcm4chee.arc.storage.AbstractStorage;
 import org.dcm4chee.arc.storage.ReadContext;
+import org.dcm4chee.arc.storage.SourceReadException;
 import org.dcm4chee.arc.storage.WriteContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.*;
 import java.nio.file.attribute.FileAttribute;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -69,6 +79,7 @@ public class FileSystemStorage extends AbstractStorage {
     private final AttributesFormat pathFormat;
     private final Path checkMountFilePath;
     private final OpenOption[] openOptions;
+    private final Set<OpenOption> channelOpenOptions;
     private final CreateDirectories createDirectories;
     private final int retryCreateDirectories;
 
@@ -87,6 +98,8 @@ public class FileSystemStorage extends AbstractStorage {
         openOptions = fileOpenOption != null
                 ? new OpenOption[]{ StandardOpenOption.CREATE_NEW, StandardOpenOption.valueOf(fileOpenOption) }
                 : new OpenOption[]{ StandardOpenOption.CREATE_NEW };
+        channelOpenOptions = new HashSet<>(Arrays.asList(openOptions));
+        channelOpenOptions.add(StandardOpenOption.WRITE);
         createDirectories = Boolean.parseBoolean(descriptor.getProperty("altCreateDirectories", null))
             ? FileSystemStorage::altCreateDirectories
             : Files::createDirectories;
@@ -206,29 +219,107 @@ public class FileSystemStorage extends AbstractStorage {
         ctx.setStoragePath(rootURI.relativize(path.toUri()).toString());
     }
 
+    @Override
+    protected boolean transferFromA(ReadContext src, WriteContext ctx) throws IOException {
+        Path path = Paths.get(rootURI.resolve(pathFormat.format(ctx.getAttributes())));
+        Path dir = path.getParent();
+        createDirectories(dir);
+        FileChannel channel = null;
+        while (channel == null)
+            try {
+                channel = FileChannel.open(path, channelOpenOptions);
+            } catch (FileAlreadyExistsException e) {
+                path = dir.resolve(String.format("%08X", ThreadLocalRandom.current().nextInt()));
+            }
+        try (FileChannel target = channel) {
+            ctx.setSize(src.getStorage().transferTo(src, target));
+        } catch (IOException e) {
+            try {
+                Files.delete(path);
+            } catch (IOException e2) {
+                LOG.warn("Failed to delete {}", path, e2);
+            }
+            throw e;
+        }
+        ctx.setStoragePath(rootURI.relativize(path.toUri()).toString());
+        return true;
+    }
+
+    @Override
+    protected long transferToA(ReadContext ctx, WritableByteChannel target) throws IOException {
+        Path path = Paths.get(rootURI.resolve(ctx.getStoragePath()));
+        FileChannel source;
+        try {
+            source = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new SourceReadException(e);
+        }
+        try (FileChannel channel = source) {
+            long size = channel.size();
+            long position = 0L;
+            while (position < size) {
+                long transferred = channel.transferTo(position, size - position, target);
+                if (transferred <= 0)
+                    throw new SourceReadException(
+                            new EOFException(path + " truncated at " + position + " of " + size + " bytes"));
+                position += transferred;
+                ctx.incrementSize(transferred);
+            }
+            return size;
+        }
+    }
+
     @Override
     protected InputStream openInputStreamA(ReadContext ctx) throws IOException {
         Path path = Paths.get(rootURI.resolve(ctx.getStoragePath()));
         return Files.newInputStream(path);
     }
 
+    @Override
+    public SeekableByteChannel openSeekableByteChannel(ReadContext ctx) throws IOException {
+        Path path = Paths.get(rootURI.resolve(ctx.getStoragePath()));
+        return FileChannel.open(path, StandardOpenOption.READ);
+    }
+
     @Override
     protected void deleteObjectA(String storagePath) throws IOException {
         Path path = Paths.get(rootURI.resolve(storagePath));
         Files.delete(path);
-        deleteEmptyDirectories(path);
+        deleteEmptyDirectories(path.getParent());
+    }
+
+    /**
+     * Deletes the files with the specified storage paths and removes empty parent directories of deleted files
+     * once, after all files were deleted.
+     */
+    @Override
+    protected void deleteObjectsA(Collection<String> storagePaths, Map<String, IOException> failures) {
+        Set<Path> dirs = new HashSet<>();
+        for (String storagePath : storagePaths) {
+            long startTime = System.nanoTime();
+            try {
+                Path path = Paths.get(rootURI.resolve(storagePath));
+                Files.delete(path);
+                dirs.add(path.getParent());
+                metricsService.acceptNanoTime("delete-from-" + descriptor.getStorageID(), startTime);
+            } catch (IOException e) {
+                failures.put(storagePath, e);
+            }
+        }
+        for (Path dir : dirs)
+            deleteEmptyDirectories(dir);
     }
 
-    private void deleteEmptyDirectories(Path path) {
+    private void deleteEmptyDirectories(Path dir) {
         Path rootPath = Paths.get(rootURI);
-        Path dirPath = path.getParent();
+        Path dirPath = dir;
         while (!dirPath.equals(rootPath)) {
             try {
                 Files.deleteIfExists(dirPath);
             } catch (DirectoryNotEmptyException ignore) {
                 break;
             } catch (IOException e) {
-                LOG.warn("Failed to delete directory {}", path, e);
+                LOG.warn("Failed to delete directory {}", dirPath, e);
                 break;
             }
             dirPath = dirPath.getParent();
@@ -0,0 +1,237 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2013
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.storage.filesystem;
+
+import org.dcm4che3.data.Attributes;
+import org.dcm4chee.arc.conf.StorageDescriptor;
+import org.dcm4chee.arc.metrics.Histogram;
+import org.dcm4chee.arc.metrics.MetricsService;
+import org.dcm4chee.arc.storage.AbstractStorage;
+import org.dcm4chee.arc.storage.ReadContext;
+import org.dcm4chee.arc.storage.SourceReadException;
+import org.dcm4chee.arc.storage.Storage;
+import org.dcm4chee.arc.storage.WriteContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+public class FileSystemStorageTest {
+
+    private static final byte[] CONTENT = { 1, 2, 3, 4, 5, 6, 7, 8 };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileSystemStorage source;
+
+    @Before
+    public void setUp() throws Exception {
+        Path sourceDir = folder.newFolder("source").toPath();
+        Files.write(sourceDir.resolve("object"), CONTENT);
+        source = new FileSystemStorage(descriptor("source", sourceDir), NO_METRICS);
+    }
+
+    @Test
+    public void testTransferFrom() throws Exception {
+        Path targetDir = folder.newFolder("target").toPath();
+        Storage target = new FileSystemStorage(descriptor("target", targetDir), NO_METRICS);
+        WriteContext writeCtx = writeContext(target);
+        target.transferFrom(readContext("object"), writeCtx);
+        assertArrayEquals(CONTENT, Files.readAllBytes(targetDir.resolve(writeCtx.getStoragePath())));
+        assertEquals(CONTENT.length, writeCtx.getSize());
+    }
+
+    @Test
+    public void testMissingSource() throws Exception {
+        Storage target = new FileSystemStorage(descriptor("target", folder.newFolder("target").toPath()),
+                NO_METRICS);
+        try {
+            target.transferFrom(readContext("missing"), writeContext(target));
+            fail("SourceReadException expected");
+        } catch (SourceReadException e) {
+            assertTrue(e.getCause() instanceof NoSuchFileException);
+        }
+    }
+
+    @Test
+    public void testFailingFileSystemTarget() throws Exception {
+        Path notADirectory = folder.newFile("target").toPath();
+        Storage target = new FileSystemStorage(descriptor("target", notADirectory), NO_METRICS);
+        ReadContext readCtx = readContext("object");
+        try {
+            target.transferFrom(readCtx, writeContext(target));
+            fail("IOException expected");
+        } catch (SourceReadException e) {
+            fail("Failure to write target reported as failure to read source: " + e);
+        } catch (IOException expected) {
+        }
+        assertEquals(0L, readCtx.getSize());
+    }
+
+    @Test
+    public void testFailingStreamTarget() throws Exception {
+        Storage target = new FailingStorage();
+        ReadContext readCtx = readContext("object");
+        try {
+            target.transferFrom(readCtx, writeContext(target));
+            fail("IOException expected");
+        } catch (SourceReadException e) {
+            fail("Failure to write target reported as failure to read source: " + e);
+        } catch (IOException expected) {
+            assertEquals("No space left on device", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testDeleteObjects() throws Exception {
+        Path root = folder.getRoot().toPath().resolve("source");
+        for (String storagePath : new String[]{ "a/b/1", "a/b/2", "a/c/3", "d/4" }) {
+            Path file = root.resolve(storagePath);
+            Files.createDirectories(file.getParent());
+            Files.write(file, CONTENT);
+        }
+        Map<String, IOException> failures = source.deleteObjects(Arrays.asList("a/b/1", "a/b/2", "a/c/3", "missing"));
+        assertEquals(Collections.singleton("missing"), failures.keySet());
+        assertTrue(failures.get("missing") instanceof NoSuchFileException);
+        assertFalse(Files.exists(root.resolve("a")));
+        assertTrue(Files.exists(root.resolve("d/4")));
+        assertTrue(Files.exists(root.resolve("object")));
+    }
+
+    private ReadContext readContext(String storagePath) {
+        ReadContext readCtx = source.createReadContext();
+        readCtx.setStoragePath(storagePath);
+        return readCtx;
+    }
+
+    private static WriteContext writeContext(Storage target) {
+        WriteContext writeCtx = target.createWriteContext();
+        writeCtx.setAttributes(new Attributes());
+        return writeCtx;
+    }
+
+    private static StorageDescriptor descriptor(String storageID, Path dir) {
+        StorageDescriptor descriptor = new StorageDescriptor(storageID);
+        descriptor.setStorageURIStr(dir.toUri().toString());
+        descriptor.setProperty("pathFormat", "copy");
+        return descriptor;
+    }
+
+    private static class FailingStorage extends AbstractStorage {
+        private static final Logger LOG = LoggerFactory.getLogger(FailingStorage.class);
+
+        FailingStorage() {
+            super(new StorageDescriptor("failing"), NO_METRICS);
+        }
+
+        @Override
+        protected Logger log() {
+            return LOG;
+        }
+
+        @Override
+        protected OutputStream openOutputStreamA(WriteContext ctx) throws IOException {
+            throw new IOException("No space left on device");
+        }
+
+        @Override
+        protected void copyA(InputStream in, WriteContext ctx) throws IOException {
+            throw new IOException("No space left on device");
+        }
+
+        @Override
+        protected void deleteObjectA(String storagePath) {
+        }
+
+        @Override
+        protected InputStream openInputStreamA(ReadContext ctx) throws IOException {
+            throw new NoSuchFileException(ctx.getStoragePath());
+        }
+    }
+
+    private static final MetricsService NO_METRICS = new MetricsService() {
+        @Override
+        public boolean exists(String name) {
+            return false;
+        }
+
+        @Override
+        public void accept(String name, double value) {
+        }
+
+        @Override
+        public void acceptNanoTime(String name, long startTime) {
+        }
+
+        @Override
+        public void acceptDataRate(String name, long bytes, long startTime) {
+        }
+
+        @Override
+        public void accept(String name, DoubleSupplier valueSupplier) {
+        }
+
+        @Override
+        public void forEach(String name, int limit, int binSize, Consumer<Histogram> consumer) {
+        }
+    };
+}
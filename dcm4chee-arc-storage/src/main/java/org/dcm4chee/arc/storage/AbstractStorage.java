@@ -46,8 +46,14 @@ import org.dcm4chee.arc.metrics.MetricsService;
 import org.slf4j.Logger;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.security.DigestInputStream;
 import java.security.DigestOutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -191,6 +197,8 @@ public abstract class AbstractStorage implements Storage {
                 metricsService.acceptDataRate("write-to-" + descriptor.getStorageID(),
                         ctx.getContentLength(), startTime);
                 return;
+            } catch (SourceReadException e) {
+                throw e;
             } catch (IOException e) {
                 if (--retries < 0)
                     throw e;
@@ -206,6 +214,56 @@ public abstract class AbstractStorage implements Storage {
         }
     }
 
+    @Override
+    public void transferFrom(ReadContext src, WriteContext ctx) throws IOException {
+        checkAccessable();
+        long startTime = System.nanoTime();
+        if (ctx.getMessageDigest() == null && transferFromA(src, ctx)) {
+            metricsService.acceptDataRate("write-to-" + descriptor.getStorageID(), ctx.getSize(), startTime);
+            return;
+        }
+        InputStream in;
+        try {
+            in = src.getStorage().openInputStream(src);
+        } catch (IOException e) {
+            throw new SourceReadException(e);
+        }
+        try (InputStream source = new SourceInputStream(in)) {
+            copy(source, ctx);
+        }
+    }
+
+    @Override
+    public long transferTo(ReadContext ctx, WritableByteChannel target) throws IOException {
+        try {
+            checkAccessable();
+        } catch (IOException e) {
+            throw new SourceReadException(e);
+        }
+        if (ctx.getMessageDigest() == null) {
+            long startTime = System.nanoTime();
+            long size = transferToA(ctx, target);
+            if (size >= 0) {
+                metricsService.acceptDataRate("read-from-" + descriptor.getStorageID(), size, startTime);
+                return size;
+            }
+        }
+        InputStream in0;
+        try {
+            in0 = openInputStream(ctx);
+        } catch (IOException e) {
+            throw new SourceReadException(e);
+        }
+        try (InputStream in = new SourceInputStream(in0)) {
+            OutputStream out = Channels.newOutputStream(target);
+            byte[] buf = new byte[8192];
+            int read;
+            while ((read = in.read(buf)) > 0)
+                out.write(buf, 0, read);
+        }
+        return ctx.getSize();
+    }
+
     @Override
     public void deleteObject(String storagePath) throws IOException {
         checkAccessable();
@@ -214,6 +272,20 @@ public abstract class AbstractStorage implements Storage {
         metricsService.acceptNanoTime("delete-from-" + descriptor.getStorageID(), startTime);
     }
 
+    @Override
+    public Map<String, IOException> deleteObjects(Collection<String> storagePaths) {
+        Map<String, IOException> failures = new HashMap<>();
+        try {
+            checkAccessable();
+        } catch (IOException e) {
+            for (String storagePath : storagePaths)
+                failures.put(storagePath, e);
+            return failures;
+        }
+        deleteObjectsA(storagePaths, failures);
+        return failures;
+    }
+
     private void checkAccessable() throws IOException {
         if (!isAccessable())
             throw new IOException(descriptor + " not accessable");
@@ -239,6 +311,40 @@ public abstract class AbstractStorage implements Storage {
 
     protected abstract void deleteObjectA(String storagePath) throws IOException;
 
+    /**
+     * Deletes the objects with the specified storage paths and records storage paths of objects which could not
+     * be deleted in {@code failures}. Deletes each object separately, if not overwritten by the storage.
+     */
+    protected void deleteObjectsA(Collection<String> storagePaths, Map<String, IOException> failures) {
+        for (String storagePath : storagePaths) {
+            long startTime = System.nanoTime();
+            try {
+                deleteObjectA(storagePath);
+                metricsService.acceptNanoTime("delete-from-" + descriptor.getStorageID(), startTime);
+            } catch (IOException e) {
+                failures.put(storagePath, e);
+            }
+        }
+    }
+
+    /**
+     * Stores the object referenced by {@code src} by a direct channel transfer.
+     *
+     * @return {@code false}, if not supported by this storage
+     */
+    protected boolean transferFromA(ReadContext src, WriteContext ctx) throws IOException {
+        return false;
+    }
+
+    /**
+     * Transfers the object referenced by {@code ctx} directly to {@code target}.
+     *
+     * @return number of transferred bytes or {@code -1}, if not supported by this storage
+     */
+    protected long transferToA(ReadContext ctx, WritableByteChannel target) throws IOException {
+        return -1L;
+    }
+
     protected void beforeOutputStreamClosed(WriteContext ctx, OutputStream stream) throws IOException {}
 
     protected void afterOutputStreamClosed(WriteContext ctx) throws IOException {}
@@ -334,8 +440,49 @@ public abstract class AbstractStorage implements Storage {
 
     protected abstract InputStream openInputStreamA(ReadContext ctx) throws IOException;
 
+    @Override
+    public SeekableByteChannel openSeekableByteChannel(ReadContext ctx) throws IOException {
+        return null;
+    }
+
     protected void beforeInputStreamClosed(ReadContext ctx, InputStream stream)  throws IOException {}
 
+    /**
+     * Tags failures to read the source object of a transfer as {@link SourceReadException}.
+     */
+    private static class SourceInputStream extends FilterInputStream {
+        SourceInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return in.read();
+            } catch (IOException e) {
+                throw new SourceReadException(e);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return in.read(b, off, len);
+            } catch (IOException e) {
+                throw new SourceReadException(e);
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            try {
+                return in.skip(n);
+            } catch (IOException e) {
+                throw new SourceReadException(e);
+            }
+        }
+    }
+
     protected void afterInputStreamClosed(ReadContext ctx)  throws IOException {}
 
 }
\ No newline at end of file
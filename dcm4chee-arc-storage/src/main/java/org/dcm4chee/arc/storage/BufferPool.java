@@ -0,0 +1,121 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.storage;
+
+import org.dcm4che3.net.Device;
+import org.dcm4chee.arc.conf.ArchiveDeviceExtension;
+import org.dcm4chee.arc.metrics.MetricsService;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Device-wide pool of reusable buffers used by {@link CacheInputStream}, limited by
+ * {@link ArchiveDeviceExtension#getUploadBufferPoolSize()}.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+@ApplicationScoped
+public class BufferPool {
+
+    public static final int BUFFER_SIZE = 8192;
+    private static final long MiB = 1024 * 1024;
+
+    private final ConcurrentLinkedQueue<byte[]> free = new ConcurrentLinkedQueue<>();
+    private final AtomicLong size = new AtomicLong();
+    private final AtomicLong used = new AtomicLong();
+
+    @Inject
+    private Device device;
+
+    @Inject
+    private MetricsService metricsService;
+
+    /**
+     * Returns buffer from the pool.
+     *
+     * @return buffer of {@link #BUFFER_SIZE} bytes or {@code null}, if the pool is exhausted
+     */
+    public byte[] acquire() {
+        byte[] b = free.poll();
+        if (b == null) {
+            if (size.addAndGet(BUFFER_SIZE) > maxSize()) {
+                size.addAndGet(-BUFFER_SIZE);
+                return null;
+            }
+            b = new byte[BUFFER_SIZE];
+        }
+        used.addAndGet(BUFFER_SIZE);
+        return b;
+    }
+
+    public void release(byte[] b) {
+        used.addAndGet(-BUFFER_SIZE);
+        if (size.get() > maxSize())
+            size.addAndGet(-BUFFER_SIZE);
+        else
+            free.offer(b);
+    }
+
+    public boolean isSpillToDisk() {
+        return arcdev().isUploadBufferSpillToDisk();
+    }
+
+    /**
+     * Records the number of used bytes of the pool and the number of bytes of a part spilled to disk as
+     * metrics {@code upload-buffer-pool-used} and {@code upload-buffer-spilled}.
+     */
+    public void acceptMetrics(long spilled) {
+        metricsService.accept("upload-buffer-pool-used", used::get);
+        metricsService.accept("upload-buffer-spilled", spilled);
+    }
+
+    private long maxSize() {
+        return arcdev().getUploadBufferPoolSize() * MiB;
+    }
+
+    private ArchiveDeviceExtension arcdev() {
+        return device.getDeviceExtensionNotNull(ArchiveDeviceExtension.class);
+    }
+}
@@ -40,34 +40,64 @@
 
 package org.dcm4chee.arc.storage;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 
 /**
+ * Caches up to 5 MiB read from another input stream. If constructed with a {@link BufferPool}, the buffers are
+ * taken from and returned on {@link #close()} to the pool. If the pool is exhausted, further buffers are
+ * allocated on the heap, or - if {@link BufferPool#isSpillToDisk()} - the remaining bytes are cached in a
+ * temporary file.
+ *
  * @author Gunter Zeilinger <gunterze@gmail.com>
  * @since Oct 2016
  */
 public class CacheInputStream extends InputStream {
 
-    private static int BUFFER_SIZE  = 8192;
-    private static int MAX_BUFFERS  = 640;
+    private static final int BUFFER_SIZE  = BufferPool.BUFFER_SIZE;
+    private static final int MAX_BUFFERS  = 640;
+    private static final int MAX_SIZE = BUFFER_SIZE * MAX_BUFFERS;
 
+    private final BufferPool pool;
     private final ArrayList<byte[]> buffers = new ArrayList<>();
+    private int pooled;
+    private FileChannel spill;
+    private byte[] spillBuffer;
+    private int cached;
     private int pos;
     private int count;
 
+    public CacheInputStream() {
+        this(null);
+    }
+
+    public CacheInputStream(BufferPool pool) {
+        this.pool = pool;
+    }
+
     public int available() {
         return count - pos;
     }
 
     @Override
     public int read() throws IOException {
-        if (available() <= 0) {
+        if (pos >= count) {
             return -1;
         }
+        if (pos >= cached) {
+            byte[] b = new byte[1];
+            readSpilled(b, 0, 1);
+            return b[0] & 0xff;
+        }
         int index = pos++;
-        return buffers.get(index / BUFFER_SIZE)[index % BUFFER_SIZE];
+        return buffers.get(index / BUFFER_SIZE)[index % BUFFER_SIZE] & 0xff;
     }
 
     @Override
@@ -82,32 +112,78 @@ public class CacheInputStream extends InputStream {
             return -1;
         }
 
+        if (len == 0) {
+            return 0;
+        }
+
+        if (pos >= cached) {
+            return readSpilled(b, off, len);
+        }
+
         int srcOff = pos % BUFFER_SIZE;
-        int avail = Math.min(count - pos, BUFFER_SIZE - srcOff);
+        int avail = Math.min(cached - pos, BUFFER_SIZE - srcOff);
         if (len > avail)
             len = avail;
 
         byte[] src = buffers.get(pos / BUFFER_SIZE);
-        System.arraycopy(src, srcOff, b, 0, len);
+        System.arraycopy(src, srcOff, b, off, len);
         pos += len;
         return len;
     }
 
+    private int readSpilled(byte[] b, int off, int len) throws IOException {
+        int read = spill.read(ByteBuffer.wrap(b, off, Math.min(len, count - pos)), pos - cached);
+        if (read < 0)
+            throw new EOFException();
+        pos += read;
+        return read;
+    }
+
     public boolean fillBuffers(InputStream in) throws IOException {
         pos = 0;
         count = 0;
-        for (int i = 0; i < MAX_BUFFERS; i++) {
-            byte[] b = getOrCreateBuffer(i);
-            int r;
-            int off = 0;
-            int len = BUFFER_SIZE;
-            do {
-                r = in.read(b, off, len);
-                if (r < 0)
-                    return false;
-                off += r;
-                count += r;
-            } while ((len -= r) > 0);
+        cached = 0;
+        try {
+            for (int i = 0; i < MAX_BUFFERS; i++) {
+                byte[] b = getOrCreateBuffer(i);
+                if (b == null)
+                    return spill(in, MAX_SIZE - count);
+                int r;
+                int off = 0;
+                int len = BUFFER_SIZE;
+                do {
+                    r = in.read(b, off, len);
+                    if (r < 0)
+                        return false;
+                    off += r;
+                    count += r;
+                    cached += r;
+                } while ((len -= r) > 0);
+            }
+            return true;
+        } finally {
+            if (pool != null)
+                pool.acceptMetrics(count - cached);
+        }
+    }
+
+    private boolean spill(InputStream in, int len) throws IOException {
+        if (spill == null) {
+            Path path = Files.createTempFile("upload", ".part");
+            spill = FileChannel.open(path,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+            spillBuffer = new byte[BUFFER_SIZE];
+        }
+        long position = 0L;
+        while (len > 0) {
+            int r = in.read(spillBuffer, 0, Math.min(len, BUFFER_SIZE));
+            if (r < 0)
+                return false;
+            ByteBuffer src = ByteBuffer.wrap(spillBuffer, 0, r);
+            while (src.hasRemaining())
+                position += spill.write(src, position);
+            count += r;
+            len -= r;
         }
         return true;
     }
@@ -116,9 +192,40 @@ public class CacheInputStream extends InputStream {
         if (buffers.size() > i)
             return buffers.get(i);
 
-        byte[] b = new byte[BUFFER_SIZE];
+        byte[] b = null;
+        if (pool != null && pooled == i) {
+            b = pool.acquire();
+            if (b != null)
+                pooled++;
+            else if (pool.isSpillToDisk())
+                return null;
+        }
+        if (b == null)
+            b = new byte[BUFFER_SIZE];
         buffers.add(b);
         return b;
     }
 
+    /**
+     * Returns the buffers to the pool and deletes the temporary file, if any.
+     */
+    @Override
+    public void close() throws IOException {
+        if (pool != null) {
+            for (int i = 0; i < pooled; i++)
+                pool.release(buffers.get(i));
+            buffers.clear();
+            pooled = 0;
+        }
+        pos = 0;
+        count = 0;
+        cached = 0;
+        if (spill != null) {
+            FileChannel tmp = spill;
+            spill = null;
+            spillBuffer = null;
+            tmp.close();
+        }
+    }
+
 }
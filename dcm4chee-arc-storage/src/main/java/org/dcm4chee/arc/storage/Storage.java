@@ -6,6 +6,10 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -40,5 +44,38 @@ public interface Storage extends Closeable {
 
     void deleteObject(String storagePath) throws IOException;
 
+    /**
+     * Deletes the objects with the specified storage paths. Storage implementations may delete several objects
+     * by one request.
+     *
+     * @return storage paths of objects which could not be deleted, mapped to the cause
+     */
+    Map<String, IOException> deleteObjects(Collection<String> storagePaths);
+
     InputStream openInputStream(ReadContext ctx) throws IOException;
+
+    /**
+     * Opens the object referenced by {@code ctx} for random access.
+     *
+     * @return channel to read the object or {@code null}, if random access is not supported by this storage
+     */
+    SeekableByteChannel openSeekableByteChannel(ReadContext ctx) throws IOException;
+
+    /**
+     * Transfers the whole object referenced by {@code ctx} to {@code target}, without closing {@code target}.
+     * Storage implementations backed by local files may pass the bytes directly from the file system cache
+     * to the target channel without copying them through the Java heap. Failures to read the object are thrown
+     * as {@link SourceReadException}.
+     *
+     * @return number of transferred bytes
+     */
+    long transferTo(ReadContext ctx, WritableByteChannel target) throws IOException;
+
+    /**
+     * Stores the whole object referenced by the {@code src} read context of another (or the same) storage.
+     * Falls back to {@link #copy(InputStream, WriteContext)}, if a direct channel transfer is not supported
+     * by this storage. Failures to read the source object are thrown as {@link SourceReadException}, failures to
+     * write the target object as any other {@link IOException}.
+     */
+    void transferFrom(ReadContext src, WriteContext ctx) throws IOException;
 }
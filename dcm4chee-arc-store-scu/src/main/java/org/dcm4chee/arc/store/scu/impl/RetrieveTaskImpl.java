@@ -61,12 +61,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.event.Event;
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -176,11 +174,31 @@ final class RetrieveTaskImpl implements RetrieveTask {
 
     private void runStoreOperations(Association storeas) {
         Collection<InstanceLocations> outstandingRSPs = Collections.synchronizedList(new ArrayList<>());
+        Deque<ReadAhead> readAheads = new ArrayDeque<>();
         try {
+            int readAhead = aeExt.getArchiveDeviceExtension().getRetrieveReadAhead();
             InstanceLocations match = null;
-            while (!canceled && (match = matches.take()) != NO_MORE_MATCHES) {
-                store(match, storeas, outstandingRSPs);
-                waitForNonBlockingInvoke(storeas);
+            if (readAhead > 0) {
+                boolean noMoreMatches = false;
+                while (!canceled) {
+                    while (!noMoreMatches && readAheads.size() <= readAhead
+                            && (match = readAheads.isEmpty() ? matches.take() : matches.poll()) != null) {
+                        if (match == NO_MORE_MATCHES)
+                            noMoreMatches = true;
+                        else
+                            readAheads.add(new ReadAhead(match, storeas));
+                    }
+                    ReadAhead next = readAheads.poll();
+                    if (next == null)
+                        break;
+                    store(next.inst, next.open, storeas, outstandingRSPs);
+                    waitForNonBlockingInvoke(storeas);
+                }
+            } else {
+                while (!canceled && (match = matches.take()) != NO_MORE_MATCHES) {
+                    store(match, storeas, outstandingRSPs);
+                    waitForNonBlockingInvoke(storeas);
+                }
             }
             while (!canceled && (match = ctx.copiedToRetrieveCache()) != null) {
                 store(match, storeas, outstandingRSPs);
@@ -189,6 +207,8 @@ final class RetrieveTaskImpl implements RetrieveTask {
             LOG.warn("{}: failed to fetch next match from queue:\n",
                     rqas, storeas.getRemoteAET(), e);
         } finally {
+            for (ReadAhead next : readAheads)
+                next.open.thenAccept(SafeClose::close);
             waitForOutstandingCStoreRSP(storeas, outstandingRSPs);
             releaseStoreAssociation(storeas);
             doneSignal.countDown();
@@ -205,19 +225,21 @@ final class RetrieveTaskImpl implements RetrieveTask {
     }
 
     private void store(InstanceLocations inst, Association storeas, Collection<InstanceLocations> outstandingRSP) {
+        store(inst, null, storeas, outstandingRSP);
+    }
+
+    private void store(InstanceLocations inst, Future<OpenInstance> readAhead, Association storeas,
+            Collection<InstanceLocations> outstandingRSP) {
         CStoreRSPHandler rspHandler = new CStoreRSPHandler(inst, storeas, outstandingRSP);
         String iuid = inst.getSopInstanceUID();
         String cuid = inst.getSopClassUID();
         int priority = ctx.getPriority();
-        Set<String> tsuids = storeas.getTransferSyntaxesFor(cuid);
         try {
             RetrieveService service = ctx.getRetrieveService();
-            try (Transcoder transcoder = service.openTranscoder(ctx, inst, tsuids, false)) {
+            try (OpenInstance open = readAhead != null ? get(readAhead) : openInstance(inst, storeas)) {
+                Transcoder transcoder = open.transcoder;
                 String tsuid = transcoder.getDestinationTransferSyntax();
-                ArchiveAttributeCoercion rule = service.getArchiveAttributeCoercion(ctx, inst);
-                if (rule != null)
-                    transcoder.setNullifyPixelData(rule.isNullifyPixelData());
-                AttributesCoercion coerce = service.getAttributesCoercion(ctx, inst, rule);
+                AttributesCoercion coerce = open.coerce;
                 if (coerce != null)
                     iuid = coerce.remapUID(iuid);
                 TranscoderDataWriter data = new TranscoderDataWriter(transcoder, coerce);
@@ -242,6 +264,65 @@ final class RetrieveTaskImpl implements RetrieveTask {
         }
     }
 
+    private OpenInstance openInstance(InstanceLocations inst, Association storeas) throws IOException {
+        RetrieveService service = ctx.getRetrieveService();
+        Set<String> tsuids = storeas.getTransferSyntaxesFor(inst.getSopClassUID());
+        Transcoder transcoder = service.openTranscoder(ctx, inst, tsuids, false);
+        try {
+            ArchiveAttributeCoercion rule = service.getArchiveAttributeCoercion(ctx, inst);
+            if (rule != null)
+                transcoder.setNullifyPixelData(rule.isNullifyPixelData());
+            return new OpenInstance(transcoder, service.getAttributesCoercion(ctx, inst, rule));
+        } catch (RuntimeException e) {
+            SafeClose.close(transcoder);
+            throw e;
+        }
+    }
+
+    private static OpenInstance get(Future<OpenInstance> readAhead) throws Exception {
+        try {
+            return readAhead.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+    private static final class OpenInstance implements Closeable {
+        final Transcoder transcoder;
+        final AttributesCoercion coerce;
+
+        OpenInstance(Transcoder transcoder, AttributesCoercion coerce) {
+            this.transcoder = transcoder;
+            this.coerce = coerce;
+        }
+
+        @Override
+        public void close() throws IOException {
+            transcoder.close();
+        }
+    }
+
+    /**
+     * Opens the match by a thread of the device executor, while previous matches are still sent on the
+     * store association.
+     */
+    private final class ReadAhead {
+        final InstanceLocations inst;
+        final CompletableFuture<OpenInstance> open = new CompletableFuture<>();
+
+        ReadAhead(InstanceLocations inst, Association storeas) {
+            this.inst = inst;
+            storeas.getApplicationEntity().getDevice().execute(() -> {
+                try {
+                    open.complete(openInstance(inst, storeas));
+                } catch (Throwable e) {
+                    open.completeExceptionally(e);
+                }
+            });
+        }
+    }
+
     private void writeFinalRSP() {
         int remaining = ctx.remaining();
         if (!canceled) {
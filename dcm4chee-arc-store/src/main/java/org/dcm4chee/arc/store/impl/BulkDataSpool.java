@@ -0,0 +1,229 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.store.impl;
+
+import org.dcm4che3.data.BulkData;
+import org.dcm4che3.io.BulkDataCreator;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4chee.arc.conf.ArchiveDeviceExtension;
+import org.dcm4chee.arc.metrics.MetricsService;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps bulk data of received objects in pooled memory, limited by
+ * {@link ArchiveDeviceExtension#getBulkDataSpoolMemoryPerObject()} per object and by
+ * {@link ArchiveDeviceExtension#getBulkDataSpoolMemoryTotal()} for all objects, instead of spooling it to
+ * the bulk data spool directory.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+@ApplicationScoped
+class BulkDataSpool {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final long KiB = 1024;
+    private static final long MiB = KiB * KiB;
+
+    private final ConcurrentLinkedQueue<byte[]> free = new ConcurrentLinkedQueue<>();
+    private final AtomicLong idle = new AtomicLong();
+    private final AtomicLong used = new AtomicLong();
+
+    @Inject
+    private MetricsService metricsService;
+
+    /**
+     * Returns a new spool for the bulk data of one received object.
+     *
+     * @return spool or {@code null}, if bulk data shall always be spooled to disk
+     */
+    Spool newSpool(ArchiveDeviceExtension arcDev) {
+        int maxPerObject = arcDev.getBulkDataSpoolMemoryPerObject();
+        return maxPerObject > 0
+                ? new Spool(maxPerObject * KiB, arcDev.getBulkDataSpoolMemoryTotal() * MiB)
+                : null;
+    }
+
+    private boolean reserve(long size, long maxTotal) {
+        if (used.addAndGet(size) <= maxTotal)
+            return true;
+
+        used.addAndGet(-size);
+        return false;
+    }
+
+    private byte[] acquire() {
+        byte[] b = free.poll();
+        if (b == null)
+            return new byte[CHUNK_SIZE];
+
+        idle.addAndGet(-CHUNK_SIZE);
+        return b;
+    }
+
+    private void release(byte[][] chunks, long maxTotal) {
+        used.addAndGet(-(long) chunks.length * CHUNK_SIZE);
+        for (byte[] b : chunks) {
+            if (used.get() + idle.addAndGet(CHUNK_SIZE) > maxTotal) {
+                idle.addAndGet(-CHUNK_SIZE);
+                return;
+            }
+            free.offer(b);
+        }
+    }
+
+    /**
+     * Creates bulk data of one received object in memory as long as the per object and the global limit
+     * permits it, otherwise delegates to the default {@link BulkDataCreator} of the {@link DicomInputStream},
+     * which spools the bulk data to disk.
+     * <p>
+     * For each bulk data element, {@code 1} (kept in memory) or {@code 0} (spooled to disk) is recorded as
+     * metric {@code bulkdata-spool-memory-hit}. On {@link #close()}, the memory is returned to the pool and
+     * the numbers of bytes kept in memory and spooled to disk are recorded as metrics
+     * {@code bulkdata-spool-memory-bytes} and {@code bulkdata-spool-disk-bytes}, and the number of bytes still
+     * in use for all received objects as metric {@code bulkdata-spool-memory-used}.
+     */
+    final class Spool implements BulkDataCreator, AutoCloseable {
+        private final long maxPerObject;
+        private final long maxTotal;
+        private final List<MemoryBulkData> inMemory = new ArrayList<>();
+        private long memoryBytes;
+        private long diskBytes;
+
+        private Spool(long maxPerObject, long maxTotal) {
+            this.maxPerObject = maxPerObject;
+            this.maxTotal = maxTotal;
+        }
+
+        @Override
+        public BulkData createBulkData(DicomInputStream dis) throws IOException {
+            int length = dis.length();
+            if (length > 0) {
+                int numChunks = (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+                if (memoryBytes + length <= maxPerObject && reserve((long) numChunks * CHUNK_SIZE, maxTotal)) {
+                    MemoryBulkData bulkData = new MemoryBulkData(length, read(dis, length, numChunks),
+                            dis.bigEndian());
+                    inMemory.add(bulkData);
+                    memoryBytes += length;
+                    metricsService.accept("bulkdata-spool-memory-hit", 1);
+                    return bulkData;
+                }
+                diskBytes += length;
+                metricsService.accept("bulkdata-spool-memory-hit", 0);
+            }
+            return dis.createBulkData(dis);
+        }
+
+        private byte[][] read(DicomInputStream dis, int length, int numChunks) throws IOException {
+            byte[][] chunks = new byte[numChunks][];
+            for (int i = 0; i < numChunks; i++)
+                chunks[i] = acquire();
+            try {
+                int remaining = length;
+                for (byte[] b : chunks) {
+                    int n = Math.min(remaining, CHUNK_SIZE);
+                    dis.readFully(b, 0, n);
+                    remaining -= n;
+                }
+            } catch (IOException e) {
+                release(chunks, maxTotal);
+                throw e;
+            }
+            return chunks;
+        }
+
+        @Override
+        public void close() {
+            for (MemoryBulkData bulkData : inMemory)
+                bulkData.release(maxTotal);
+            if (memoryBytes > 0)
+                metricsService.accept("bulkdata-spool-memory-bytes", memoryBytes);
+            if (diskBytes > 0)
+                metricsService.accept("bulkdata-spool-disk-bytes", diskBytes);
+            metricsService.accept("bulkdata-spool-memory-used", used::get);
+        }
+    }
+
+    private final class MemoryBulkData extends BulkData {
+        private final int length;
+        private byte[][] chunks;
+
+        MemoryBulkData(int length, byte[][] chunks, boolean bigEndian) {
+            super("memory:", 0, length, bigEndian);
+            this.length = length;
+            this.chunks = chunks;
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            byte[][] chunks = this.chunks;
+            if (chunks == null)
+                throw new IOException("Bulk data already released");
+
+            List<InputStream> streams = new ArrayList<>(chunks.length);
+            int remaining = length;
+            for (byte[] b : chunks) {
+                int n = Math.min(remaining, CHUNK_SIZE);
+                streams.add(new ByteArrayInputStream(b, 0, n));
+                remaining -= n;
+            }
+            return new SequenceInputStream(Collections.enumeration(streams));
+        }
+
+        void release(long maxTotal) {
+            byte[][] chunks = this.chunks;
+            this.chunks = null;
+            if (chunks != null)
+                BulkDataSpool.this.release(chunks, maxTotal);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.store.impl;
+
+import org.dcm4chee.arc.conf.Availability;
+import org.dcm4chee.arc.conf.QueryRetrieveView;
+import org.dcm4chee.arc.entity.Series;
+import org.dcm4chee.arc.entity.SeriesQueryAttributes;
+import org.dcm4chee.arc.entity.Study;
+import org.dcm4chee.arc.entity.StudyQueryAttributes;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Applies a received instance to the Study and Series Query Attributes of all configured Query/Retrieve Views.
+ * <p>
+ * Existing query attributes are read without lock and never modified as managed entities: if the instance does not
+ * change the sets of modalities, SOP classes, retrieve AETs and the availability, the number of instances - and for
+ * the first instance of a series in the view, the number of series - are incremented by bulk updates, so concurrent
+ * stores into the same series or study neither serialize nor conflict. Otherwise the query attributes of that view
+ * are deleted for recalculation.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+class QueryAttributesUpdate {
+
+    private final EntityManager em;
+    private final Series series;
+    private final Study study;
+    private final boolean createdSeries;
+    private final boolean createdStudy;
+
+    QueryAttributesUpdate(EntityManager em, Series series, Study study, boolean createdSeries, boolean createdStudy) {
+        this.em = em;
+        this.series = series;
+        this.study = study;
+        this.createdSeries = createdSeries;
+        this.createdStudy = createdStudy;
+    }
+
+    void addInstance(Collection<QueryRetrieveView> views, String modality, String sopClassUID,
+            String retrieveAETs, Availability availability) {
+        Map<String, StudyQueryAttributes> studyQueryAttrs = new HashMap<>();
+        if (!createdStudy) {
+            for (StudyQueryAttributes queryAttrs : em.createNamedQuery(
+                    StudyQueryAttributes.FIND_FOR_STUDY, StudyQueryAttributes.class)
+                    .setParameter(1, study)
+                    .getResultList()) {
+                studyQueryAttrs.put(queryAttrs.getViewID(), queryAttrs);
+            }
+        }
+        Map<String, SeriesQueryAttributes> seriesQueryAttrs = new HashMap<>();
+        if (!createdSeries) {
+            for (SeriesQueryAttributes queryAttrs : em.createNamedQuery(
+                    SeriesQueryAttributes.FIND_FOR_SERIES, SeriesQueryAttributes.class)
+                    .setParameter(1, series)
+                    .getResultList()) {
+                seriesQueryAttrs.put(queryAttrs.getViewID(), queryAttrs);
+            }
+        }
+        for (QueryRetrieveView qrView : views) {
+            String viewID = qrView.getViewID();
+            StudyQueryAttributes studyView = studyQueryAttrs.remove(viewID);
+            SeriesQueryAttributes seriesView = seriesQueryAttrs.remove(viewID);
+            boolean hideInstance = qrView.isHideNotRejectedInstances();
+            boolean newSeries = false;
+            if (seriesView == null) {
+                if (!createdSeries) {
+                    if (studyView != null)
+                        delete(studyView);
+                    continue;
+                }
+                seriesView = new SeriesQueryAttributes();
+                seriesView.setViewID(viewID);
+                seriesView.setSeries(series);
+                if (!hideInstance)
+                    seriesView.addInstance(sopClassUID, retrieveAETs, availability);
+                em.persist(seriesView);
+                newSeries = !hideInstance;
+            } else if (!hideInstance) {
+                if (seriesView.isUnchangedBy(sopClassUID, retrieveAETs, availability)) {
+                    em.createNamedQuery(SeriesQueryAttributes.INCREMENT_NUMBER_OF_INSTANCES)
+                            .setParameter(1, seriesView.getPk())
+                            .executeUpdate();
+                } else {
+                    delete(seriesView);
+                    if (studyView != null)
+                        delete(studyView);
+                    continue;
+                }
+            }
+            if (createdStudy) {
+                studyView = new StudyQueryAttributes();
+                studyView.setViewID(viewID);
+                studyView.setStudy(study);
+                if (!hideInstance)
+                    studyView.addInstance(true, modality, sopClassUID, retrieveAETs, availability);
+                em.persist(studyView);
+            } else if (studyView != null && !hideInstance) {
+                if (studyView.isUnchangedBy(modality, sopClassUID, retrieveAETs, availability)) {
+                    em.createNamedQuery(StudyQueryAttributes.INCREMENT_NUMBER_OF_INSTANCES)
+                            .setParameter(1, studyView.getPk())
+                            .setParameter(2, newSeries ? 1 : 0)
+                            .executeUpdate();
+                } else {
+                    delete(studyView);
+                }
+            }
+        }
+        seriesQueryAttrs.values().forEach(this::delete);
+        studyQueryAttrs.values().forEach(this::delete);
+    }
+
+    private void delete(SeriesQueryAttributes queryAttrs) {
+        em.createNamedQuery(SeriesQueryAttributes.DELETE_BY_PK).setParameter(1, queryAttrs.getPk()).executeUpdate();
+    }
+
+    private void delete(StudyQueryAttributes queryAttrs) {
+        em.createNamedQuery(StudyQueryAttributes.DELETE_BY_PK).setParameter(1, queryAttrs.getPk()).executeUpdate();
+    }
+}
@@ -70,6 +70,7 @@ import org.dcm4chee.arc.store.InstanceLocations;
 import org.dcm4chee.arc.store.StoreContext;
 import org.dcm4chee.arc.store.StoreService;
 import org.dcm4chee.arc.store.StoreSession;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -260,9 +261,13 @@ public class StoreServiceEJB {
             copyLocations(ctx, instance, result);
 
         result.setStoredInstance(instance);
-        deleteQueryAttributes(instance);
         Series series = instance.getSeries();
-        series.getStudy().resetSize();
+        if (createLocations && prevInstance == null && rejectedInstance == null && conceptNameCode == null)
+            updateQueryAttributes(instance, result, arcDev);
+        else if (createLocations && prevInstance == null && rejectedInstance == null && rjNote != null)
+            deleteQueryAttributes(instance, viewIDsShowingRejectionNote(arcDev, ctx.getAttributes()));
+        else
+            deleteQueryAttributes(instance);
         series.scheduleMetadataUpdate(arcAE.seriesMetadataDelay());
         series.scheduleStorageVerification(arcAE.storageVerificationInitialDelay());
         if (createLocations) {
@@ -283,6 +288,21 @@ public class StoreServiceEJB {
         return result;
     }
 
+    /**
+     * Updates the database for several received instances in one transaction. A {@link DicomServiceException}
+     * thrown for one instance does not affect the update for the other instances.
+     */
+    public void updateDB(List<UpdateDBGroupCommit.Entry> entries) {
+        em.unwrap(Session.class).setJdbcBatchSize(entries.size());
+        for (UpdateDBGroupCommit.Entry entry : entries) {
+            try {
+                updateDB(entry.ctx, entry.result);
+            } catch (DicomServiceException e) {
+                entry.exception = e;
+            }
+        }
+    }
+
     private static DicomServiceException subsequentOccurrenceOfRejectedObject(RejectedInstance rejectedInstance) {
         return new DicomServiceException(StoreService.SUBSEQUENT_OCCURRENCE_OF_REJECTED_OBJECT,
                 MessageFormat.format(StoreService.SUBSEQUENT_OCCURRENCE_OF_REJECTED_OBJECT_MSG,
@@ -401,10 +421,13 @@ public class StoreServiceEJB {
         Duration seriesMetadataDelay = arcAE.seriesMetadataDelay();
         Duration purgeInstanceRecordsDelay = arcAE.purgeInstanceRecordsDelay();
         boolean acceptRejectionBeforeStorage = rjNote.getAcceptRejectionBeforeStorage() != null;
+        ArchiveDeviceExtension arcDev = arcAE.getArchiveDeviceExtension();
         for (Attributes studyRef : ctx.getAttributes().getSequence(Tag.CurrentRequestedProcedureEvidenceSequence)) {
             String studyUID = studyRef.getString(Tag.StudyInstanceUID);
             Series series = null;
+            Set<String> studyViewIDs = new HashSet<>();
             for (Attributes seriesRef : studyRef.getSequence(Tag.ReferencedSeriesSequence)) {
+                Set<CodeEntity> prevRjNoteCodes = new HashSet<>();
                 String seriesUID = seriesRef.getString(Tag.SeriesInstanceUID);
                 series = findSeries(studyUID, seriesUID);
                 restoreInstances(session, series, studyUID, purgeInstanceRecordsDelay, null);
@@ -434,9 +457,11 @@ public class StoreServiceEJB {
                                 throw new DicomServiceException(StoreService.REJECTION_FAILED_ALREADY_REJECTED,
                                         MessageFormat.format(StoreService.REJECTION_FAILED_ALREADY_REJECTED_MSG, objectUID));
                             rejectedInstance.setRejectionNoteCode(rejectionCode);
+                            prevRjNoteCodes.add(prevRjNoteCode);
                             LOG.info("{}: {}", session, rejectedInstance);
                         }
                     } else {
+                        prevRjNoteCodes.add(null);
                         rejectedInstance = new RejectedInstance(studyUID, seriesUID, objectUID, classUID, rejectionCode);
                         em.persist(rejectedInstance);
                         LOG.info("{}: {}", session, rejectedInstance);
@@ -448,7 +473,9 @@ public class StoreServiceEJB {
                     series.setRejectionState(rejectionState);
                     if (rejectionState == RejectionState.COMPLETE)
                         series.setExpirationDate(null);
-                    deleteSeriesQueryAttributes(series);
+                    Set<String> viewIDs = viewIDsAffectedByRejection(arcDev, prevRjNoteCodes, rejectionCode);
+                    deleteSeriesQueryAttributes(series, viewIDs);
+                    studyViewIDs.addAll(viewIDs);
                     series.scheduleMetadataUpdate(seriesMetadataDelay);
                 }
             }
@@ -461,20 +488,22 @@ public class StoreServiceEJB {
                     study.setExpirationDate(null);
                     study.getPatient().decrementNumberOfStudies();
                 }
-                deleteStudyQueryAttributes(study);
+                deleteStudyQueryAttributes(study, studyViewIDs);
             }
         }
     }
 
     private void revokeRejection(StoreContext ctx, ArchiveAEExtension arcAE) throws DicomServiceException {
         StoreSession session = ctx.getStoreSession();
+        ArchiveDeviceExtension arcDev = arcAE.getArchiveDeviceExtension();
         Duration seriesMetadataDelay = arcAE.seriesMetadataDelay();
         Duration purgeInstanceRecordsDelay = arcAE.purgeInstanceRecordsDelay();
         for (Attributes studyRef : ctx.getAttributes().getSequence(Tag.CurrentRequestedProcedureEvidenceSequence)) {
             String studyUID = studyRef.getString(Tag.StudyInstanceUID);
             Series series = null;
+            Set<String> studyViewIDs = new HashSet<>();
             for (Attributes seriesRef : studyRef.getSequence(Tag.ReferencedSeriesSequence)) {
-                int revoked = 0;
+                Set<CodeEntity> prevRjNoteCodes = new HashSet<>();
                 String seriesUID = seriesRef.getString(Tag.SeriesInstanceUID);
                 for (Attributes sopRef : seriesRef.getSequence(Tag.ReferencedSOPSequence)) {
                     String objectUID = sopRef.getString(Tag.ReferencedSOPInstanceUID);
@@ -482,20 +511,22 @@ public class StoreServiceEJB {
                     RejectedInstance rejectedInstance = findRejectedInstance(studyUID, seriesUID, objectUID);
                     if (rejectedInstance != null) {
                         em.remove(rejectedInstance);
-                        revoked++;
+                        prevRjNoteCodes.add(rejectedInstance.getRejectionNoteCode());
                         LOG.info("{}: Revoke {}", session, rejectedInstance);
                     } else {
                         LOG.info("{}: Ignore Revoke Rejection of Instance[uid={},class={}] of Series[uid={}] " +
                                         "of Study[uid={}]", session, objectUID, classUID, seriesUID, studyUID);
                     }
                 }
-                if (revoked > 0) {
+                if (!prevRjNoteCodes.isEmpty()) {
                     series = findSeries(studyUID, seriesUID);
                     if (series != null) {
                         restoreInstances(session, series, studyUID, purgeInstanceRecordsDelay, null);
                         series.setRejectionState(
                                 hasRejectedInstances(series) ? RejectionState.PARTIAL : RejectionState.NONE);
-                        deleteSeriesQueryAttributes(series);
+                        Set<String> viewIDs = viewIDsAffectedByRejection(arcDev, prevRjNoteCodes, null);
+                        deleteSeriesQueryAttributes(series, viewIDs);
+                        studyViewIDs.addAll(viewIDs);
                         series.scheduleMetadataUpdate(seriesMetadataDelay);
                     }
                 }
@@ -508,7 +539,7 @@ public class StoreServiceEJB {
                         hasSeriesWithOtherRejectionState(study, RejectionState.NONE)
                                 ? RejectionState.PARTIAL
                                 : RejectionState.NONE);
-                deleteStudyQueryAttributes(study);
+                deleteStudyQueryAttributes(study, studyViewIDs);
             }
         }
     }
@@ -738,6 +769,88 @@ public class StoreServiceEJB {
 
     private void deleteStudyQueryAttributes(Study study) {
         em.createNamedQuery(StudyQueryAttributes.DELETE_FOR_STUDY).setParameter(1, study).executeUpdate();
+        study.resetSize();
+    }
+
+    private void deleteQueryAttributes(Instance instance, Set<String> viewIDs) {
+        Series series = instance.getSeries();
+        Study study = series.getStudy();
+        deleteSeriesQueryAttributes(series, viewIDs);
+        deleteStudyQueryAttributes(study, viewIDs);
+        series.resetSize();
+        study.resetSize();
+    }
+
+    private void deleteSeriesQueryAttributes(Series series, Set<String> viewIDs) {
+        if (!viewIDs.isEmpty())
+            em.createNamedQuery(SeriesQueryAttributes.DELETE_FOR_SERIES_AND_VIEW_IDS)
+                    .setParameter(1, series)
+                    .setParameter(2, viewIDs)
+                    .executeUpdate();
+    }
+
+    private void deleteStudyQueryAttributes(Study study, Set<String> viewIDs) {
+        if (viewIDs.isEmpty())
+            return;
+
+        em.createNamedQuery(StudyQueryAttributes.DELETE_FOR_STUDY_AND_VIEW_IDS)
+                .setParameter(1, study)
+                .setParameter(2, viewIDs)
+                .executeUpdate();
+        study.resetSize();
+    }
+
+    /**
+     * Returns the IDs of the Query/Retrieve Views, in which instances previously rejected by one of
+     * {@code prevRjNoteCodes} - or not rejected, if it contains {@code null} - change their visibility by being
+     * rejected by {@code rjNoteCode} - or by revoking their rejection, if {@code rjNoteCode} is {@code null}.
+     */
+    private static Set<String> viewIDsAffectedByRejection(ArchiveDeviceExtension arcDev,
+            Set<CodeEntity> prevRjNoteCodes, CodeEntity rjNoteCode) {
+        Set<String> viewIDs = new HashSet<>();
+        for (QueryRetrieveView qrView : arcDev.getQueryRetrieveViews()) {
+            boolean hide = qrView.hideRejectedInstance(toItem(rjNoteCode));
+            for (CodeEntity prevRjNoteCode : prevRjNoteCodes) {
+                if (qrView.hideRejectedInstance(toItem(prevRjNoteCode)) != hide) {
+                    viewIDs.add(qrView.getViewID());
+                    break;
+                }
+            }
+        }
+        return viewIDs;
+    }
+
+    private static Set<String> viewIDsShowingRejectionNote(ArchiveDeviceExtension arcDev, Attributes attrs) {
+        Set<String> viewIDs = new HashSet<>();
+        for (QueryRetrieveView qrView : arcDev.getQueryRetrieveViews()) {
+            if (!qrView.isHideNotRejectedInstances() && !qrView.hideRejectionNote(attrs))
+                viewIDs.add(qrView.getViewID());
+        }
+        return viewIDs;
+    }
+
+    private static Attributes toItem(CodeEntity codeEntity) {
+        return codeEntity != null ? codeEntity.getCode().toItem() : null;
+    }
+
+    /**
+     * Applies the received instance to the Study and Series Query Attributes of all configured Query/Retrieve Views,
+     * instead of deleting them for recalculation on the next query. The Study and Series size is only reset, which
+     * schedules its recalculation by {@code QueryAttributesScheduler} without updating the versioned Study and Series
+     * on each store.
+     */
+    private void updateQueryAttributes(Instance instance, UpdateDBResult result, ArchiveDeviceExtension arcDev) {
+        Series series = instance.getSeries();
+        Study study = series.getStudy();
+        new QueryAttributesUpdate(em, series, study,
+                result.getCreatedSeries() == series, result.getCreatedStudy() == study)
+                .addInstance(arcDev.getQueryRetrieveViews(),
+                        series.getModality(),
+                        instance.getSopClassUID(),
+                        StringUtils.concat(instance.getRetrieveAETs(), '\\'),
+                        instance.getAvailability());
+        series.resetSize();
+        study.resetSize();
     }
 
     private void deleteSeriesQueryAttributes(Series series) {
@@ -787,6 +900,7 @@ public class StoreServiceEJB {
                 updatePatient(ctx, study.getPatient(), now, reasonForTheAttributeModification);
             }
             series = createSeries(ctx, study, result);
+            result.setCreatedSeries(series);
         } else {
             checkConflictingPID(patMgtCtx, ctx, series.getStudy().getPatient());
             checkStorePermission(ctx, series.getStudy().getPatient());
@@ -57,7 +57,6 @@ import org.dcm4che3.net.service.DicomServiceException;
 import org.dcm4che3.util.CountingInputStream;
 import org.dcm4che3.util.StringUtils;
 import org.dcm4che3.util.UIDUtils;
-import org.dcm4chee.arc.Cache;
 import org.dcm4chee.arc.MergeMWLQueryParam;
 import org.dcm4chee.arc.MergeMWLCache;
 import org.dcm4chee.arc.conf.*;
@@ -111,6 +110,12 @@ class StoreServiceImpl implements StoreService {
     @Inject
     private StoreServiceEJB ejb;
 
+    @Inject
+    private UpdateDBGroupCommit groupCommit;
+
+    @Inject
+    private BulkDataSpool bulkDataSpool;
+
     @Inject
     private Event<StoreContext> storeEvent;
 
@@ -164,10 +169,13 @@ class StoreServiceImpl implements StoreService {
     @Override
     public void store(StoreContext ctx, InputStream data) throws IOException {
         UpdateDBResult result = null;
+        String seriesIUID = null;
         try {
             CountingInputStream countingInputStream = new CountingInputStream(data);
             long startTime = System.nanoTime();
             writeToStorage(ctx, countingInputStream);
+            if (ctx.getSeriesInstanceUID() != null)
+                groupCommit.storeStarted(seriesIUID = ctx.getSeriesInstanceUID());
             String callingAET = ctx.getStoreSession().getCallingAET();
             if (callingAET != null) {
                 metricsService.acceptDataRate("receive-from-" + callingAET,
@@ -194,6 +202,8 @@ class StoreServiceImpl implements StoreService {
             ctx.setException(dse);
             throw dse;
         } finally {
+            if (seriesIUID != null)
+                groupCommit.storeCompleted(seriesIUID);
             revokeStorage(ctx, result);
             fireStoreEvent(ctx);
         }
@@ -203,9 +213,11 @@ class StoreServiceImpl implements StoreService {
         List<File> bulkDataFiles = Collections.emptyList();
         String receiveTranferSyntax = ctx.getReceiveTranferSyntax();
         ArchiveAEExtension arcAE = ctx.getStoreSession().getArchiveAEExtension();
-        try (Transcoder transcoder = receiveTranferSyntax != null
-                ? new Transcoder(data, receiveTranferSyntax)
-                : new Transcoder(data)) {
+        BulkDataSpool.Spool spool = bulkDataSpool.newSpool(arcAE.getArchiveDeviceExtension());
+        try (DicomInputStream dis = receiveTranferSyntax != null
+                ? new DicomInputStream(data, receiveTranferSyntax)
+                : new DicomInputStream(data);
+             Transcoder transcoder = new Transcoder(dis)) {
             ctx.setReceiveTransferSyntax(transcoder.getSourceTransferSyntax());
             transcoder.setIncludeBulkData(DicomInputStream.IncludeBulkData.URI);
             transcoder.setBulkDataDescriptor(arcAE.getBulkDataDescriptor());
@@ -214,6 +226,8 @@ class StoreServiceImpl implements StoreService {
             transcoder.setBulkDataDirectory(arcAE.getBulkDataSpoolDirectoryFile());
             transcoder.setIncludeFileMetaInformation(true);
             transcoder.setDeleteBulkDataFiles(false);
+            if (spool != null)
+                dis.setBulkDataCreator(spool);
             transcoder.transcode(new TranscoderHandler(ctx));
             bulkDataFiles = transcoder.getBulkDataFiles();
         } catch (StorageException e) {
@@ -225,6 +239,8 @@ class StoreServiceImpl implements StoreService {
         } finally {
             for (File tmpFile : bulkDataFiles)
                 tmpFile.delete();
+            if (spool != null)
+                spool.close();
         }
     }
 
@@ -232,6 +248,13 @@ class StoreServiceImpl implements StoreService {
         StoreSession session = ctx.getStoreSession();
         ArchiveAEExtension arcAE = session.getArchiveAEExtension();
         ArchiveDeviceExtension arcDev = arcAE.getArchiveDeviceExtension();
+        int groupCommitSize = arcDev.getStoreUpdateDBGroupCommitSize();
+        if (groupCommitSize > 1) {
+            UpdateDBResult result = groupCommit.updateDB(ctx, groupCommitSize,
+                    arcDev.getStoreUpdateDBGroupCommitWindow());
+            if (result != null)
+                return result;
+        }
         int retries = arcDev.getStoreUpdateDBMaxRetries();
         for (;;) {
             try {
@@ -334,6 +357,8 @@ class StoreServiceImpl implements StoreService {
         ctx.setAttributes(attrs);
         List<Location> locations = ctx.getLocations();
         UpdateDBResult result = null;
+        String seriesIUID = ctx.getSeriesInstanceUID();
+        groupCommit.storeStarted(seriesIUID);
         try {
             if (locations.isEmpty()) {
                 try (DicomOutputStream dos = new DicomOutputStream(
@@ -356,6 +381,7 @@ class StoreServiceImpl implements StoreService {
             ctx.setException(dse);
             throw dse;
         } finally {
+            groupCommit.storeCompleted(seriesIUID);
             revokeStorage(ctx, result);
             fireStoreEvent(ctx);
         }
@@ -366,6 +392,8 @@ class StoreServiceImpl implements StoreService {
         ctx.setAttributes(Objects.requireNonNull(attrs));
         ctx.setReadContext(Objects.requireNonNull(readCtx));
         UpdateDBResult result = null;
+        String seriesIUID = ctx.getSeriesInstanceUID();
+        groupCommit.storeStarted(seriesIUID);
         try {
             adjustPixelDataBulkData(attrs);
             supplementDefaultCharacterSet(ctx);
@@ -382,6 +410,7 @@ class StoreServiceImpl implements StoreService {
             ctx.setException(dse);
             throw dse;
         } finally {
+            groupCommit.storeCompleted(seriesIUID);
             revokeStorage(ctx, result);
             fireStoreEvent(ctx);
         }
@@ -573,15 +602,15 @@ class StoreServiceImpl implements StoreService {
         MergeMWLQueryParam queryParam =
                 MergeMWLQueryParam.valueOf(mergeMWLMatchingKey, ctx.getAttributes());
 
-        Cache.Entry<Attributes> entry = mergeMWLCache.getEntry(queryParam);
-        if (entry != null)
-            return entry.value();
+        return mergeMWLCache.getEntry(queryParam, key -> loadMWL(ctx, rule, key)).value();
+    }
 
+    private Attributes loadMWL(StoreContext ctx, ArchiveAttributeCoercion rule, MergeMWLQueryParam queryParam) {
         List<Attributes> mwlItems = ejb.queryMWL(ctx, queryParam);
-        if (mwlItems == null) {
-            mergeMWLCache.put(queryParam, null);
+        if (mwlItems == null)
             return null;
-        }
+
+        String tplURI = rule.getMergeMWLTemplateURI();
         Attributes result = null;
         Sequence reqAttrsSeq = null;
         try {
@@ -600,7 +629,6 @@ class StoreServiceImpl implements StoreService {
         } catch (SAXException e) {
             LOG.error("{}: Failed to apply XSL: {}", ctx.getStoreSession(), tplURI, e);
         }
-        mergeMWLCache.put(queryParam, result);
         return result;
     }
 
@@ -0,0 +1,220 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2026
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.store.impl;
+
+import org.dcm4che3.net.service.DicomServiceException;
+import org.dcm4chee.arc.metrics.MetricsService;
+import org.dcm4chee.arc.store.StoreContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ejb.EJBException;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects received instances of the same series - from one or several associations - for updating the database
+ * for all of them in one transaction.
+ * <p>
+ * The first thread joining a group waits for further instances until the group reaches its maximal size or
+ * the group commit window elapsed, and then updates the database on behalf of all members of the group. It does
+ * not wait, if there is no other store operation of the same series in progress which may join the group - in
+ * particular not, if instances are only received sequentially on one association. Store operations are counted
+ * per series from the time the Series Instance UID of the received instance is known.
+ *
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+@ApplicationScoped
+class UpdateDBGroupCommit {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UpdateDBGroupCommit.class);
+
+    private final Map<String, Group> pending = new HashMap<>();
+
+    private final Map<String, Integer> storesInProgress = new HashMap<>();
+
+    @Inject
+    private StoreServiceEJB ejb;
+
+    @Inject
+    private MetricsService metricsService;
+
+    static final class Entry {
+        final StoreContext ctx;
+        final UpdateDBResult result;
+        DicomServiceException exception;
+
+        Entry(StoreContext ctx) {
+            this.ctx = ctx;
+            this.result = new UpdateDBResult(ctx);
+        }
+    }
+
+    private static final class Group {
+        final List<Entry> entries = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        boolean closed;
+        boolean failed = true;
+    }
+
+    /**
+     * Invoked on start of a store operation, which may join a group of the specified series later.
+     */
+    void storeStarted(String seriesIUID) {
+        synchronized (pending) {
+            storesInProgress.merge(seriesIUID, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Invoked on completion of a store operation, successful or not.
+     */
+    void storeCompleted(String seriesIUID) {
+        synchronized (pending) {
+            storesInProgress.computeIfPresent(seriesIUID, (key, count) -> count > 1 ? count - 1 : null);
+            pending.notifyAll();
+        }
+    }
+
+    /**
+     * Updates the database for the received instance together with other received instances of the same series.
+     *
+     * @param ctx     store context of the received instance
+     * @param maxSize maximal number of instances updated in one transaction
+     * @param window  maximal delay in ms for collecting further instances of the same series
+     * @return result of the update or {@code null}, if the transaction failed for the group, so the database
+     *         has to be updated for the received instance separately
+     * @throws DicomServiceException if the update of the database failed for the received instance
+     */
+    UpdateDBResult updateDB(StoreContext ctx, int maxSize, int window) throws DicomServiceException {
+        String key = ctx.getSeriesInstanceUID();
+        Entry entry = new Entry(ctx);
+        Group group;
+        boolean leader;
+        synchronized (pending) {
+            group = pending.get(key);
+            leader = group == null;
+            if (leader)
+                pending.put(key, group = new Group());
+            group.entries.add(entry);
+            if (group.entries.size() >= maxSize)
+                close(key, group);
+            else if (!leader)
+                pending.notifyAll();
+        }
+        if (leader) {
+            awaitClosed(key, group, window);
+            commit(key, group);
+        } else {
+            awaitDone(group);
+        }
+        if (group.failed)
+            return null;
+        if (entry.exception != null)
+            throw entry.exception;
+        return entry.result;
+    }
+
+    private void close(String key, Group group) {
+        pending.remove(key, group);
+        group.closed = true;
+        pending.notifyAll();
+    }
+
+    private void awaitClosed(String key, Group group, int window) {
+        long start = System.nanoTime();
+        synchronized (pending) {
+            try {
+                long end = start + TimeUnit.MILLISECONDS.toNanos(window);
+                long remaining;
+                while (!group.closed && storesInProgress.getOrDefault(key, 0) > group.entries.size()
+                        && (remaining = end - System.nanoTime()) > 0)
+                    TimeUnit.NANOSECONDS.timedWait(pending, remaining);
+            } catch (InterruptedException e) {
+                LOG.info("Waiting for further instances of Series[uid={}] got interrupted", key);
+                Thread.currentThread().interrupt();
+            }
+            if (!group.closed)
+                close(key, group);
+        }
+        metricsService.acceptNanoTime("db-update-on-store-group-wait", start);
+    }
+
+    private void commit(String key, Group group) {
+        int size = group.entries.size();
+        long start = System.currentTimeMillis();
+        try {
+            ejb.updateDB(group.entries);
+            group.failed = false;
+            long time = System.currentTimeMillis() - start;
+            LOG.info("Updated DB for {} instances of Series[uid={}] in {} ms", size, key, time);
+            for (int i = 0; i < size; i++)
+                metricsService.accept("db-update-on-store", time);
+            metricsService.accept("db-update-on-store-group-size", size);
+        } catch (EJBException e) {
+            LOG.info("Failed to update DB for {} instances of Series[uid={}] - update separately:\n",
+                    size, key, e);
+        } finally {
+            group.done.countDown();
+        }
+    }
+
+    private static void awaitDone(Group group) {
+        boolean interrupted = false;
+        for (;;) {
+            try {
+                group.done.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+}
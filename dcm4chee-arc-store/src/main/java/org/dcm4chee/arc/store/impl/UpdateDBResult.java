@@ -63,6 +63,7 @@ class UpdateDBResult {
     private Instance createdInstance;
     private Patient createdPatient;
     private Study createdStudy;
+    private Series createdSeries;
     private Instance storedInstance;
     private Attributes storedAttributes;
     private final Attributes coercedAttributes;
@@ -121,6 +122,14 @@ class UpdateDBResult {
         this.createdStudy = createdStudy;
     }
 
+    public Series getCreatedSeries() {
+        return createdSeries;
+    }
+
+    public void setCreatedSeries(Series createdSeries) {
+        this.createdSeries = createdSeries;
+    }
+
     public Instance getCreatedInstance() {
         return createdInstance;
     }
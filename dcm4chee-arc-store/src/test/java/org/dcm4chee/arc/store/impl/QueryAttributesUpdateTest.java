@@ -0,0 +1,339 @@
+/*
+ * *** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0/LGPL 2.1
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is part of dcm4che, an implementation of DICOM(TM) in
+ * Java(TM), hosted at https://github.com/dcm4che.
+ *
+ * The Initial Developer of the Original Code is
+ * J4Care.
+ * Portions created by the Initial Developer are Copyright (C) 2017-2019
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ * See @authors listed below
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU General Public License Version 2 or later (the "GPL"), or
+ * the GNU Lesser General Public License Version 2.1 or later (the "LGPL"),
+ * in which case the provisions of the GPL or the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of either the GPL or the LGPL, and not to allow others to
+ * use your version of this file under the terms of the MPL, indicate your
+ * decision by deleting the provisions above and replace them with the notice
+ * and other provisions required by the GPL or the LGPL. If you do not delete
+ * the provisions above, a recipient may use your version of this file under
+ * the terms of any one of the MPL, the GPL or the LGPL.
+ *
+ * *** END LICENSE BLOCK *****
+ */
+
+package org.dcm4chee.arc.store.impl;
+
+import org.dcm4chee.arc.conf.Availability;
+import org.dcm4chee.arc.conf.QueryRetrieveView;
+import org.dcm4chee.arc.entity.Series;
+import org.dcm4chee.arc.entity.SeriesQueryAttributes;
+import org.dcm4chee.arc.entity.Study;
+import org.dcm4chee.arc.entity.StudyQueryAttributes;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent <agent@local>
+ * @since Oct 2026
+ */
+public class QueryAttributesUpdateTest {
+
+    private static final String CT_IMAGE = "1.2.840.10008.5.1.4.1.1.2";
+    private static final String MR_IMAGE = "1.2.840.10008.5.1.4.1.1.4";
+    private static final int THREADS = 8;
+    private static final int STORES_PER_THREAD = 250;
+
+    private final Series series = new Series();
+    private final Study study = new Study();
+    private final List<QueryRetrieveView> views = Arrays.asList(view("regularUse", false), view("trash", true));
+    private Database db;
+
+    @Before
+    public void setUp() {
+        db = new Database();
+        db.insert(seriesView("regularUse", 10, CT_IMAGE, "DCM4CHEE", Availability.ONLINE));
+        db.insert(seriesView("trash", 0, null, null, null));
+        db.insert(studyView("regularUse", 2, 20, "CT", CT_IMAGE, "DCM4CHEE", Availability.ONLINE));
+        db.insert(studyView("trash", 0, 0, null, null, null, null));
+    }
+
+    @Test
+    public void testConcurrentStoresIntoSameSeries() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++)
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < STORES_PER_THREAD; j++)
+                        new QueryAttributesUpdate(db.entityManager(), series, study, false, false)
+                                .addInstance(views, "CT", CT_IMAGE, "DCM4CHEE", Availability.ONLINE);
+                }));
+            for (Future<?> future : futures)
+                future.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+        int stored = THREADS * STORES_PER_THREAD;
+        assertEquals(10 + stored, db.seriesView("regularUse").getNumberOfInstances());
+        assertEquals(20 + stored, db.studyView("regularUse").getNumberOfInstances());
+        assertEquals(2, db.studyView("regularUse").getNumberOfSeries());
+        assertEquals(0, db.seriesView("trash").getNumberOfInstances());
+        assertEquals(0, db.studyView("trash").getNumberOfInstances());
+    }
+
+    @Test
+    public void testNewSeriesOfExistingStudy() {
+        Series newSeries = new Series();
+        new QueryAttributesUpdate(db.entityManager(), newSeries, study, true, false)
+                .addInstance(views, "CT", CT_IMAGE, "DCM4CHEE", Availability.ONLINE);
+        assertEquals(3, db.studyView("regularUse").getNumberOfSeries());
+        assertEquals(21, db.studyView("regularUse").getNumberOfInstances());
+        SeriesQueryAttributes created = db.seriesView(newSeries, "regularUse");
+        assertEquals(1, created.getNumberOfInstances());
+        assertEquals(CT_IMAGE, created.getSOPClassesInSeries());
+        assertEquals(0, db.seriesView(newSeries, "trash").getNumberOfInstances());
+    }
+
+    @Test
+    public void testNewSOPClassDeletesQueryAttributes() {
+        new QueryAttributesUpdate(db.entityManager(), series, study, false, false)
+                .addInstance(views, "MR", MR_IMAGE, "DCM4CHEE", Availability.ONLINE);
+        assertNull(db.seriesView("regularUse"));
+        assertNull(db.studyView("regularUse"));
+        assertNotNull(db.seriesView("trash"));
+        assertNotNull(db.studyView("trash"));
+    }
+
+    @Test
+    public void testNewModalityDeletesStudyQueryAttributesOnly() {
+        Series newSeries = new Series();
+        new QueryAttributesUpdate(db.entityManager(), newSeries, study, true, false)
+                .addInstance(views, "MR", CT_IMAGE, "DCM4CHEE", Availability.ONLINE);
+        assertNull(db.studyView("regularUse"));
+        assertEquals(1, db.seriesView(newSeries, "regularUse").getNumberOfInstances());
+        assertEquals(10, db.seriesView("regularUse").getNumberOfInstances());
+    }
+
+    @Test
+    public void testWorseAvailabilityDeletesQueryAttributes() {
+        new QueryAttributesUpdate(db.entityManager(), series, study, false, false)
+                .addInstance(views, "CT", CT_IMAGE, "DCM4CHEE", Availability.NEARLINE);
+        assertNull(db.seriesView("regularUse"));
+        assertNull(db.studyView("regularUse"));
+    }
+
+    private static QueryRetrieveView view(String viewID, boolean hideNotRejectedInstances) {
+        QueryRetrieveView view = new QueryRetrieveView();
+        view.setViewID(viewID);
+        view.setHideNotRejectedInstances(hideNotRejectedInstances);
+        return view;
+    }
+
+    private SeriesQueryAttributes seriesView(String viewID, int numberOfInstances, String sopClassUIDs,
+            String retrieveAETs, Availability availability) {
+        SeriesQueryAttributes queryAttrs = new SeriesQueryAttributes();
+        queryAttrs.setViewID(viewID);
+        queryAttrs.setSeries(series);
+        queryAttrs.setNumberOfInstances(numberOfInstances);
+        queryAttrs.setSOPClassesInSeries(sopClassUIDs);
+        queryAttrs.setRetrieveAETs(retrieveAETs);
+        queryAttrs.setAvailability(availability);
+        return queryAttrs;
+    }
+
+    private StudyQueryAttributes studyView(String viewID, int numberOfSeries, int numberOfInstances,
+            String modalities, String sopClassUIDs, String retrieveAETs, Availability availability) {
+        StudyQueryAttributes queryAttrs = new StudyQueryAttributes();
+        queryAttrs.setViewID(viewID);
+        queryAttrs.setStudy(study);
+        queryAttrs.setNumberOfSeries(numberOfSeries);
+        queryAttrs.setNumberOfInstances(numberOfInstances);
+        queryAttrs.setModalitiesInStudy(modalities);
+        queryAttrs.setSOPClassesInStudy(sopClassUIDs);
+        queryAttrs.setRetrieveAETs(retrieveAETs);
+        queryAttrs.setAvailability(availability);
+        return queryAttrs;
+    }
+
+    /**
+     * Committed rows of the query attribute tables. Queries return detached copies, bulk updates and deletes are
+     * applied atomically - like by the database - and any attempt to lock rows fails the test.
+     */
+    private class Database {
+        final AtomicLong nextPk = new AtomicLong();
+        final Map<Long, SeriesQueryAttributes> seriesRows = new HashMap<>();
+        final Map<Long, StudyQueryAttributes> studyRows = new HashMap<>();
+
+        synchronized void insert(Object entity) {
+            setPk(entity, nextPk.incrementAndGet());
+            if (entity instanceof SeriesQueryAttributes)
+                seriesRows.put(((SeriesQueryAttributes) entity).getPk(), copy((SeriesQueryAttributes) entity));
+            else
+                studyRows.put(((StudyQueryAttributes) entity).getPk(), copy((StudyQueryAttributes) entity));
+        }
+
+        SeriesQueryAttributes seriesView(String viewID) {
+            return seriesView(series, viewID);
+        }
+
+        synchronized SeriesQueryAttributes seriesView(Series series, String viewID) {
+            return seriesRows.values().stream()
+                    .filter(a -> a.getSeries() == series && a.getViewID().equals(viewID))
+                    .findFirst().orElse(null);
+        }
+
+        synchronized StudyQueryAttributes studyView(String viewID) {
+            return studyRows.values().stream()
+                    .filter(a -> a.getStudy() == study && a.getViewID().equals(viewID))
+                    .findFirst().orElse(null);
+        }
+
+        synchronized List<Object> select(String name, Map<Integer, Object> params) {
+            List<Object> result = new ArrayList<>();
+            switch (name) {
+                case SeriesQueryAttributes.FIND_FOR_SERIES:
+                    for (SeriesQueryAttributes a : seriesRows.values())
+                        if (a.getSeries() == params.get(1))
+                            result.add(copy(a));
+                    break;
+                case StudyQueryAttributes.FIND_FOR_STUDY:
+                    for (StudyQueryAttributes a : studyRows.values())
+                        if (a.getStudy() == params.get(1))
+                            result.add(copy(a));
+                    break;
+                default:
+                    fail("Unexpected query: " + name);
+            }
+            return result;
+        }
+
+        synchronized int update(String name, Map<Integer, Object> params) {
+            Long pk = (Long) params.get(1);
+            switch (name) {
+                case SeriesQueryAttributes.INCREMENT_NUMBER_OF_INSTANCES: {
+                    SeriesQueryAttributes a = seriesRows.get(pk);
+                    if (a == null)
+                        return 0;
+                    a.setNumberOfInstances(a.getNumberOfInstances() + 1);
+                    return 1;
+                }
+                case StudyQueryAttributes.INCREMENT_NUMBER_OF_INSTANCES: {
+                    StudyQueryAttributes a = studyRows.get(pk);
+                    if (a == null)
+                        return 0;
+                    a.setNumberOfInstances(a.getNumberOfInstances() + 1);
+                    a.setNumberOfSeries(a.getNumberOfSeries() + (Integer) params.get(2));
+                    return 1;
+                }
+                case SeriesQueryAttributes.DELETE_BY_PK:
+                    return seriesRows.remove(pk) != null ? 1 : 0;
+                case StudyQueryAttributes.DELETE_BY_PK:
+                    return studyRows.remove(pk) != null ? 1 : 0;
+                default:
+                    fail("Unexpected update: " + name);
+                    return 0;
+            }
+        }
+
+        EntityManager entityManager() {
+            return (EntityManager) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{ EntityManager.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "persist":
+                                insert(args[0]);
+                                return null;
+                            case "createNamedQuery":
+                                return query((String) args[0]);
+                            default:
+                                throw new AssertionError("Unexpected EntityManager." + method.getName());
+                        }
+                    });
+        }
+
+        private TypedQuery<?> query(String name) {
+            Map<Integer, Object> params = new HashMap<>();
+            return (TypedQuery<?>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{ TypedQuery.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "setParameter":
+                                params.put((Integer) args[0], args[1]);
+                                return proxy;
+                            case "getResultList":
+                                return select(name, params);
+                            case "executeUpdate":
+                                return update(name, params);
+                            default:
+                                throw new AssertionError("Unexpected Query." + method.getName() + " on " + name);
+                        }
+                    });
+        }
+    }
+
+    private static SeriesQueryAttributes copy(SeriesQueryAttributes a) {
+        SeriesQueryAttributes copy = new SeriesQueryAttributes();
+        setPk(copy, a.getPk());
+        copy.setViewID(a.getViewID());
+        copy.setSeries(a.getSeries());
+        copy.setNumberOfInstances(a.getNumberOfInstances());
+        copy.setSOPClassesInSeries(a.getSOPClassesInSeries());
+        copy.setRetrieveAETs(a.getRetrieveAETs());
+        copy.setAvailability(a.getAvailability());
+        return copy;
+    }
+
+    private static StudyQueryAttributes copy(StudyQueryAttributes a) {
+        StudyQueryAttributes copy = new StudyQueryAttributes();
+        setPk(copy, a.getPk());
+        copy.setViewID(a.getViewID());
+        copy.setStudy(a.getStudy());
+        copy.setNumberOfSeries(a.getNumberOfSeries());
+        copy.setNumberOfInstances(a.getNumberOfInstances());
+        copy.setModalitiesInStudy(a.getModalitiesInStudy());
+        copy.setSOPClassesInStudy(a.getSOPClassesInStudy());
+        copy.setRetrieveAETs(a.getRetrieveAETs());
+        copy.setAvailability(a.getAvailability());
+        return copy;
+    }
+
+    private static void setPk(Object entity, long pk) {
+        try {
+            Field field = entity.getClass().getDeclaredField("pk");
+            field.setAccessible(true);
+            field.setLong(entity, pk);
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -93,6 +93,10 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 
 /**
  * @author Gunter Zeilinger <gunterze@gmail.com>
@@ -147,6 +151,10 @@ public class StowRS {
     private Sequence failedSOPSequence;
     private java.nio.file.Path spoolDirectory;
     private Map<String, BulkDataWithMediaType> bulkdataMap = new HashMap<>();
+    private int storeThreads;
+    private Semaphore storeSemaphore;
+    private final Queue<StoreSession> storeSessions = new ConcurrentLinkedQueue<>();
+    private final List<CompletableFuture<Runnable>> storeResults = new ArrayList<>();
 
     @Override
     public String toString() {
@@ -281,8 +289,30 @@ public class StowRS {
         logRequest();
         validateWebApp();
         ar.register((CompletionCallback) throwable -> purgeSpoolDirectory());
-        final StoreSession session = service.newStoreSession(
-                HttpServletRequestInfo.valueOf(request), getApplicationEntity(), null);
+        ApplicationEntity ae = getApplicationEntity();
+        final StoreSession session = service.newStoreSession(HttpServletRequestInfo.valueOf(request), ae, null);
+        storeThreads = ae.getAEExtensionNotNull(ArchiveAEExtension.class).stowThreads();
+        if (storeThreads > 1) {
+            storeSemaphore = new Semaphore(storeThreads);
+            storeSessions.add(session);
+        }
+        try {
+            parse(in, input, session);
+        } finally {
+            awaitStoreTasks();
+            closeStoreSessions(session);
+        }
+        applyStoreResults();
+
+        response.setString(Tag.RetrieveURL, VR.UR, retrieveURL());
+        Response.ResponseBuilder responseBuilder = Response.status(status());
+        ar.resume(responseBuilder
+                    .entity(output.entity(response))
+                    .header("Warning", response.getString(Tag.ErrorComment))
+                    .build());
+    }
+
+    private void parse(InputStream in, Input input, StoreSession session) throws IOException {
         new MultipartParser(boundary())
                 .parse(new BufferedInputStream(in), (partNumber, multipartInputStream) -> {
                     Map<String, List<String>> headerParams = multipartInputStream.readHeaderParams();
@@ -311,15 +341,83 @@ public class StowRS {
                     }
                 });
         int instanceNumber = 0;
-        for (Attributes instance : instances) 
-            storeDicomObject(session, instance, ++instanceNumber);
+        for (Attributes instance : instances) {
+            int number = ++instanceNumber;
+            if (storeSemaphore == null)
+                storeDicomObject(session, instance, number).run();
+            else
+                submitStoreTask(session, s -> storeDicomObject(s, instance, number));
+        }
+    }
 
-        response.setString(Tag.RetrieveURL, VR.UR, retrieveURL());
-        Response.ResponseBuilder responseBuilder = Response.status(status());
-        ar.resume(responseBuilder
-                    .entity(output.entity(response))
-                    .header("Warning", response.getString(Tag.ErrorComment))
-                    .build());
+    @FunctionalInterface
+    private interface StoreTask {
+        /**
+         * Stores one object using the passed store session.
+         *
+         * @return action to apply the outcome to the response on the request thread
+         */
+        Runnable store(StoreSession session) throws IOException;
+    }
+
+    /**
+     * Stores one object by a thread of the device executor. Because {@link StoreSession} is not thread-safe,
+     * each concurrent task uses its own store session from a pool of at most {@link #storeThreads} sessions.
+     */
+    private void submitStoreTask(StoreSession template, StoreTask task) {
+        CompletableFuture<Runnable> result = new CompletableFuture<>();
+        storeResults.add(result);
+        storeSemaphore.acquireUninterruptibly();
+        StoreSession polled = storeSessions.poll();
+        StoreSession session = polled != null ? polled : service.newStoreSession(
+                template.getHttpRequest(), template.getLocalApplicationEntity(), null);
+        try {
+            device.execute(() -> {
+                try {
+                    result.complete(task.store(session));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    storeSessions.offer(session);
+                    storeSemaphore.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            storeSessions.offer(session);
+            storeSemaphore.release();
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void awaitStoreTasks() {
+        if (storeSemaphore != null) {
+            storeSemaphore.acquireUninterruptibly(storeThreads);
+            storeSemaphore.release(storeThreads);
+        }
+    }
+
+    /**
+     * Closes the store sessions created for concurrent store tasks, except the store session of the request.
+     */
+    private void closeStoreSessions(StoreSession requestSession) {
+        StoreSession session;
+        while ((session = storeSessions.poll()) != null)
+            if (session != requestSession)
+                SafeClose.close(session);
+    }
+
+    private void applyStoreResults() {
+        for (CompletableFuture<Runnable> result : storeResults) {
+            try {
+                result.get().run();
+            } catch (InterruptedException | ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof WebApplicationException)
+                    throw (WebApplicationException) cause;
+                throw new WebApplicationException(
+                        errResponseAsTextPlain(exceptionAsString(cause), Response.Status.INTERNAL_SERVER_ERROR));
+            }
+        }
     }
 
     private static MediaType normalize(MediaType mediaType) {
@@ -401,7 +499,7 @@ public class StowRS {
                 if (!MediaTypes.equalsIgnoreParameters(mediaType, MediaTypes.APPLICATION_DICOM_TYPE))
                     return false;
 
-                stowRS.storeDicomObject(session, in);
+                stowRS.storeDicomPart(session, in);
                 return true;
             }
         },
@@ -433,21 +531,41 @@ public class StowRS {
                                       MediaType mediaType, String contentLocation) throws Exception;
     }
 
-    private void storeDicomObject(StoreSession session, MultipartInputStream in) throws IOException {
+    private void storeDicomPart(StoreSession session, MultipartInputStream in) throws IOException {
+        if (storeSemaphore == null) {
+            storeDicomObject(session, in).run();
+            return;
+        }
+        java.nio.file.Path spoolFile = spool(in);
+        submitStoreTask(session, s -> {
+            try (InputStream fin = new BufferedInputStream(Files.newInputStream(spoolFile))) {
+                return storeDicomObject(s, fin);
+            } finally {
+                Files.deleteIfExists(spoolFile);
+            }
+        });
+    }
+
+    private Runnable storeDicomObject(StoreSession session, InputStream in) throws IOException {
         StoreContext ctx = service.newStoreContext(session);
         ctx.setAcceptedStudyInstanceUID(acceptedStudyInstanceUID);
         try {
             service.store(ctx, in);
-            studyInstanceUIDs.add(ctx.getStudyInstanceUID());
-            sopSequence().add(mkSOPRefWithRetrieveURL(ctx));
+            return () -> {
+                studyInstanceUIDs.add(ctx.getStudyInstanceUID());
+                sopSequence().add(mkSOPRefWithRetrieveURL(ctx));
+            };
         } catch (DicomServiceException e) {
             LOG.info("{}: Failed to store {}", session, UID.nameOf(ctx.getSopClassUID()), e);
-            response.setString(Tag.ErrorComment, VR.LO, e.getMessage());
-            failedSOPSequence().add(mkSOPRefWithFailureReason(ctx, e));
+            return () -> {
+                response.setString(Tag.ErrorComment, VR.LO, e.getMessage());
+                failedSOPSequence().add(mkSOPRefWithFailureReason(ctx, e));
+            };
         }
     }
 
-    private void storeDicomObject(StoreSession session, Attributes attrs, int instanceNumber) throws IOException {
+    private Runnable storeDicomObject(StoreSession session, Attributes attrs, int instanceNumber)
+            throws IOException {
         StoreContext ctx = service.newStoreContext(session);
         ctx.setAcceptedStudyInstanceUID(acceptedStudyInstanceUID);
         try {
@@ -459,13 +577,17 @@ public class StowRS {
                 supplementAttrs(ctx, session, attrs, instanceNumber, bulkdataWithMediaType);
             }
             service.store(ctx, attrs);
-            studyInstanceUIDs.add(ctx.getStudyInstanceUID());
-            sopSequence().add(mkSOPRefWithRetrieveURL(ctx));
+            return () -> {
+                studyInstanceUIDs.add(ctx.getStudyInstanceUID());
+                sopSequence().add(mkSOPRefWithRetrieveURL(ctx));
+            };
         } catch (DicomServiceException e) {
             ctx.setAttributes(attrs);
             LOG.info("{}: Failed to store {}", session, UID.nameOf(ctx.getSopClassUID()), e);
-            response.setString(Tag.ErrorComment, VR.LO, e.getMessage());
-            failedSOPSequence().add(mkSOPRefWithFailureReason(ctx, e));
+            return () -> {
+                response.setString(Tag.ErrorComment, VR.LO, e.getMessage());
+                failedSOPSequence().add(mkSOPRefWithFailureReason(ctx, e));
+            };
         }
     }
 
@@ -789,13 +911,7 @@ public class StowRS {
     private boolean spoolBulkdata(MultipartInputStream in, MediaType mediaType,
                                   String contentLocation) {
         try {
-            if (spoolDirectory == null)
-                spoolDirectory = Files.createTempDirectory(spoolDirectoryRoot(), null);
-            java.nio.file.Path spoolFile = Files.createTempFile(spoolDirectory, null, null);
-            try (OutputStream out = Files.newOutputStream(spoolFile)) {
-                StreamUtils.copy(in, out);
-            }
-            bulkdataMap.put(contentLocation, new BulkDataWithMediaType(spoolFile, mediaType));
+            bulkdataMap.put(contentLocation, new BulkDataWithMediaType(spool(in), mediaType));
             return true;
         } catch (IOException e) {
             StringWriter sw = new StringWriter();
@@ -807,6 +923,16 @@ public class StowRS {
         }
     }
 
+    private java.nio.file.Path spool(InputStream in) throws IOException {
+        if (spoolDirectory == null)
+            spoolDirectory = Files.createTempDirectory(spoolDirectoryRoot(), null);
+        java.nio.file.Path spoolFile = Files.createTempFile(spoolDirectory, null, null);
+        try (OutputStream out = Files.newOutputStream(spoolFile)) {
+            StreamUtils.copy(in, out);
+        }
+        return spoolFile;
+    }
+
     private java.nio.file.Path spoolDirectoryRoot() throws IOException {
         return  Files.createDirectories(Paths.get(StringUtils.replaceSystemProperties(
                 device.getDeviceExtensionNotNull(ArchiveDeviceExtension.class).getStowSpoolDirectory())));
@@ -889,7 +1015,7 @@ public class StowRS {
                 .build();
     }
 
-    private static String exceptionAsString(Exception e) {
+    private static String exceptionAsString(Throwable e) {
         StringWriter sw = new StringWriter();
         e.printStackTrace(new PrintWriter(sw));
         return sw.toString();
@@ -41,18 +41,23 @@
 package org.dcm4chee.arc.wado;
 
 import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
 import org.dcm4che3.imageio.codec.ImageDescriptor;
 import org.dcm4che3.io.DicomInputStream;
 import org.dcm4che3.util.SafeClose;
 import org.dcm4che3.util.StreamUtils;
+import org.dcm4chee.arc.retrieve.LocationInputStream;
 import org.dcm4chee.arc.retrieve.RetrieveContext;
 import org.dcm4chee.arc.retrieve.RetrieveService;
 import org.dcm4chee.arc.store.InstanceLocations;
 
 import javax.ws.rs.core.StreamingOutput;
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -62,9 +67,14 @@ import java.nio.file.Path;
  */
 public class UncompressedFramesOutput implements StreamingOutput, Closeable {
 
+    private static final int MAX_BUFFER_SIZE = 65536;
+
     private final RetrieveContext ctx;
     private final InstanceLocations inst;
     private DicomInputStream dis;
+    private SeekableByteChannel channel;
+    private long pixelDataOffset;
+    private ByteBuffer buffer;
     private final int[] frameList;
     private final Path[] spoolFiles;
     private final Path spoolDirectory;
@@ -86,6 +96,12 @@ public class UncompressedFramesOutput implements StreamingOutput, Closeable {
             if (frameListIndex == 0)
                 initDicomInputStream();
 
+            if (channel != null) {
+                readFrame(frameList[frameListIndex++], out);
+                if (frameListIndex == frameList.length)
+                    close();
+                return;
+            }
             if (dis == null) {
                 Files.copy(spoolFiles[frameListIndex++], out);
                 return;
@@ -105,6 +121,19 @@ public class UncompressedFramesOutput implements StreamingOutput, Closeable {
         }
     }
 
+    private void readFrame(int frame, OutputStream out) throws IOException {
+        channel.position(pixelDataOffset + (long) (frame - 1) * frameLength);
+        int remaining = frameLength;
+        while (remaining > 0) {
+            buffer.clear().limit(Math.min(remaining, buffer.capacity()));
+            int read = channel.read(buffer);
+            if (read < 0)
+                throw new EOFException("Pixel data of frame #" + frame + " truncated");
+            out.write(buffer.array(), 0, read);
+            remaining -= read;
+        }
+    }
+
     private void skipFrame() throws IOException {
         for (int i = frameListIndex; i < frameList.length; i++) {
             if (frame == frameList[i]) {
@@ -128,16 +157,35 @@ public class UncompressedFramesOutput implements StreamingOutput, Closeable {
 
     private void initDicomInputStream() throws IOException {
         RetrieveService service = ctx.getRetrieveService();
-        dis = service.openDicomInputStream(ctx, inst);
-        frameLength = new ImageDescriptor(dis.readDataset(-1, Tag.PixelData)).getFrameLength();
+        LocationInputStream lis = service.openLocationInputStream(ctx, inst);
+        try {
+            dis = new DicomInputStream(lis.stream);
+        } catch (IOException e) {
+            SafeClose.close(lis);
+            throw e;
+        }
+        ImageDescriptor desc = new ImageDescriptor(dis.readDataset(-1, Tag.PixelData));
+        frameLength = desc.getFrameLength();
         if (dis.tag() != Tag.PixelData) {
             throw new IOException("Missing pixel data in requested object");
         }
+        if (desc.getBitsAllocated() > 1 && dis.length() != -1
+                && !UID.DeflatedExplicitVRLittleEndian.equals(dis.getTransferSyntax())) {
+            channel = lis.ctx.getStorage().openSeekableByteChannel(lis.ctx);
+            if (channel != null) {
+                pixelDataOffset = dis.getPosition();
+                buffer = ByteBuffer.allocate(Math.min(frameLength, MAX_BUFFER_SIZE));
+                SafeClose.close(dis);
+                dis = null;
+            }
+        }
     }
 
     @Override
     public void close() {
         SafeClose.close(dis);
         dis = null;
+        SafeClose.close(channel);
+        channel = null;
     }
 }